@@ -1,16 +1,25 @@
 package article2tweet.com.article2tweet.agent;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import article2tweet.com.article2tweet.domain.Article;
 import article2tweet.com.article2tweet.domain.Tweet;
 import article2tweet.com.article2tweet.domain.TweetThread;
 import article2tweet.com.article2tweet.service.OpenAIService;
+import article2tweet.com.article2tweet.service.PromptContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * AI Agent that converts Medium articles into Twitter threads
@@ -28,18 +37,39 @@ public class Article2TweetAgent {
     private static final int MAX_TWEET_LENGTH = 280;
     private static final int RECOMMENDED_TWEET_LENGTH = 240; // Leave room for thread numbering
     
+    // Run independent OpenAI calls in parallel instead of one after another
+    @Value("${article2tweet.generation.concurrent:false}")
+    private boolean concurrentGeneration;
+    
+    // Upper bound on tweet-generation calls in flight for a single thread
+    @Value("${article2tweet.generation.parallelism:4}")
+    private int generationParallelism;
+    
+    // Ask for insights and all tweets in one JSON-mode request
+    @Value("${article2tweet.generation.structured:false}")
+    private boolean structuredGeneration;
+    
+    // Longer articles are condensed in the article prefix every prompt of a thread shares
+    @Value("${openai.insights.chunking.threshold-tokens:3000}")
+    private int maxArticleTokens = PromptContext.DEFAULT_MAX_ARTICLE_TOKENS;
+    
+    // Run blocking per-tweet calls on virtual threads instead of the bounded elastic pool
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
     /**
      * Extract key insights using OpenAI for intelligent content analysis
      */
     //@Action
     public List<String> extractKeyInsights(Article article) {
-        log.info("Extracting key insights from article using AI: {}", article.getTitle());
+        return extractKeyInsights(PromptContext.forArticle(article, maxArticleTokens));
+    }
+    
+    private List<String> extractKeyInsights(PromptContext context) {
+        log.info("Extracting key insights from article using AI: {}", context.getArticleTitle());
         
         // Use OpenAI to intelligently extract exactly 3 key insights
-        List<String> insights = openAIService.extractKeyInsights(
-            article.getContent(), 
-            article.getTitle()
-        );
+        List<String> insights = openAIService.extractKeyInsights(context);
         
         log.info("Extracted {} AI-powered insights", insights.size());
         return insights;
@@ -50,23 +80,18 @@ public class Article2TweetAgent {
      */
     //@Action
     public List<Tweet> createCasualTweetsFromInsights(List<String> insights, Article article) {
+        return createCasualTweetsFromInsights(insights, article, PromptContext.forArticle(article, maxArticleTokens));
+    }
+    
+    private List<Tweet> createCasualTweetsFromInsights(List<String> insights, Article article, PromptContext context) {
         log.info("Creating 5-tweet thread in casual style for: {}", article.getTitle());
         
-        List<Tweet> tweets = new ArrayList<>();
-        
-        // Tweet 1: AI-generated engaging hook
-        String hookTweet = openAIService.generateHookTweet(article.getTitle(), insights.get(0));
-        tweets.add(new Tweet(1, hookTweet));
-        
-        // Tweets 2-4: Convert insights to casual tweets
-        for (int i = 0; i < Math.min(insights.size(), 3); i++) {
-            String casualTweet = openAIService.generateCasualTweet(insights.get(i), i + 2);
-            tweets.add(new Tweet(i + 2, casualTweet));
-        }
+        List<Callable<Tweet>> tasks = new ArrayList<>(createInsightTweetTasks(insights, context));
+        tasks.add(createWrapUpTask(article, context));
         
-        // Tweet 5: AI-generated wrap-up with article link
-        String wrapUpTweet = openAIService.generateWrapUpTweet(article.getTitle(), article.getUrl());
-        tweets.add(new Tweet(5, wrapUpTweet));
+        List<Tweet> tweets = concurrentGeneration
+                ? runConcurrently(tasks).collectList().block()
+                : runSequentially(tasks);
         
         log.info("Created 5-tweet casual thread");
         return tweets;
@@ -80,17 +105,177 @@ public class Article2TweetAgent {
     public TweetThread createTwitterThread(Article article) {
         log.info("Creating AI-powered Twitter thread for article: {}", article.getTitle());
         
-        // Extract key insights using OpenAI
-        List<String> insights = extractKeyInsights(article);
-        
-        // Create casual, engaging tweets from insights
-        List<Tweet> tweets = createCasualTweetsFromInsights(insights, article);
+        // Every call for this thread starts with the same article prefix, so the provider can cache it
+        PromptContext context = PromptContext.forArticle(article, maxArticleTokens);
+        List<Tweet> tweets;
+        if (structuredGeneration) {
+            tweets = openAIService.generateStructuredThread(context, article.getUrl());
+        } else if (concurrentGeneration) {
+            tweets = createTweetsConcurrently(article, context);
+        } else {
+            tweets = createCasualTweetsFromInsights(extractKeyInsights(context), article, context);
+        }
         
         TweetThread thread = new TweetThread(tweets, article.getUrl(), article.getTitle());
         
         log.info("Created AI-powered Twitter thread with {} tweets", thread.getTotalTweets());
+        logTokenUsage(context);
         return thread;
     }
     
-
+    /**
+     * Non-blocking variant of {@link #createTwitterThread(Article)}; no thread is held while
+     * waiting on OpenAI, so concurrent generations are bounded by the event loop, not a pool
+     */
+    public Mono<TweetThread> createTwitterThreadReactive(Article article) {
+        log.info("Creating AI-powered Twitter thread (reactive) for article: {}", article.getTitle());
+        
+        return Mono.defer(() -> {
+            PromptContext context = PromptContext.forArticle(article, maxArticleTokens);
+            Mono<List<Tweet>> tweets = structuredGeneration
+                    ? openAIService.generateStructuredThreadReactive(context, article.getUrl())
+                    : createTweetsReactive(article, context);
+            
+            return tweets
+                    .map(threadTweets -> new TweetThread(threadTweets, article.getUrl(), article.getTitle()))
+                    .doOnNext(thread -> {
+                        log.info("Created AI-powered Twitter thread with {} tweets", thread.getTotalTweets());
+                        logTokenUsage(context);
+                    });
+        });
+    }
+    
+    /**
+     * Stream the thread tweet-by-tweet as the model writes it
+     */
+    public Flux<Tweet> streamTwitterThread(Article article) {
+        log.info("Streaming AI-powered Twitter thread for article: {}", article.getTitle());
+        return openAIService.streamThreadTweets(article.getContent(), article.getTitle(), article.getUrl());
+    }
+    
+    /**
+     * Concurrent pipeline: the wrap-up only needs title and URL, so it runs alongside
+     * insight extraction; hook and insight tweets then fan out once insights arrive
+     */
+    private List<Tweet> createTweetsConcurrently(Article article, PromptContext context) {
+        Mono<Tweet> wrapUp = Mono.fromCallable(createWrapUpTask(article, context))
+                .subscribeOn(generationScheduler());
+        
+        Mono<List<Tweet>> insightTweets = Mono.fromCallable(() -> extractKeyInsights(context))
+                .subscribeOn(generationScheduler())
+                .flatMap(insights -> runConcurrently(createInsightTweetTasks(insights, context)).collectList());
+        
+        return Mono.zip(insightTweets, wrapUp, (body, last) -> {
+                    List<Tweet> tweets = new ArrayList<>(body);
+                    tweets.add(last);
+                    tweets.sort(Comparator.comparingInt(Tweet::getOrder));
+                    return tweets;
+                })
+                .block();
+    }
+    
+    /**
+     * Reactive counterpart of the sequential and concurrent pipelines: with concurrent
+     * generation the wrap-up runs alongside extraction and insight tweets fan out
+     */
+    private Mono<List<Tweet>> createTweetsReactive(Article article, PromptContext context) {
+        int concurrency = concurrentGeneration ? Math.max(1, generationParallelism) : 1;
+        
+        Mono<Tweet> wrapUp = Mono.defer(() -> openAIService.generateWrapUpTweetReactive(context, article.getUrl()))
+                .map(content -> new Tweet(5, content));
+        
+        Mono<List<Tweet>> insightTweets = openAIService.extractKeyInsightsReactive(context)
+                .flatMap(insights -> Flux.fromIterable(createInsightTweetCalls(insights, context))
+                        .flatMapSequential(call -> call, concurrency)
+                        .collectList());
+        
+        Mono<List<Tweet>> tweets = concurrentGeneration
+                ? Mono.zip(insightTweets, wrapUp, this::appendTweet)
+                : insightTweets.flatMap(body -> wrapUp.map(last -> appendTweet(body, last)));
+        return tweets.doOnNext(thread -> thread.sort(Comparator.comparingInt(Tweet::getOrder)));
+    }
+    
+    private List<Mono<Tweet>> createInsightTweetCalls(List<String> insights, PromptContext context) {
+        List<Mono<Tweet>> calls = new ArrayList<>();
+        calls.add(Mono.defer(() -> openAIService.generateHookTweetReactive(context, insights.get(0)))
+                .map(content -> new Tweet(1, content)));
+        for (int i = 0; i < Math.min(insights.size(), 3); i++) {
+            String insight = insights.get(i);
+            int order = i + 2;
+            calls.add(Mono.defer(() -> openAIService.generateCasualTweetReactive(context, insight, order))
+                    .map(content -> new Tweet(order, content)));
+        }
+        return calls;
+    }
+    
+    private List<Tweet> appendTweet(List<Tweet> body, Tweet last) {
+        List<Tweet> tweets = new ArrayList<>(body);
+        tweets.add(last);
+        return tweets;
+    }
+    
+    /**
+     * Tweet 1 (hook) and tweets 2-4 (insights) - everything that depends on the insights
+     */
+    private List<Callable<Tweet>> createInsightTweetTasks(List<String> insights, PromptContext context) {
+        List<Callable<Tweet>> tasks = new ArrayList<>();
+        
+        // Tweet 1: AI-generated engaging hook
+        tasks.add(() -> new Tweet(1, openAIService.generateHookTweet(context, insights.get(0))));
+        
+        // Tweets 2-4: Convert insights to casual tweets
+        for (int i = 0; i < Math.min(insights.size(), 3); i++) {
+            String insight = insights.get(i);
+            int order = i + 2;
+            tasks.add(() -> new Tweet(order, openAIService.generateCasualTweet(context, insight, order)));
+        }
+        
+        return tasks;
+    }
+    
+    /**
+     * Tweet 5: AI-generated wrap-up with article link
+     */
+    private Callable<Tweet> createWrapUpTask(Article article, PromptContext context) {
+        return () -> new Tweet(5, openAIService.generateWrapUpTweet(context, article.getUrl()));
+    }
+    
+    private void logTokenUsage(PromptContext context) {
+        if (context.getCalls() > 0) {
+            log.info("🧊 Thread token usage: {}", context.usageSummary());
+        }
+    }
+    
+    private List<Tweet> runSequentially(List<Callable<Tweet>> tasks) {
+        List<Tweet> tweets = new ArrayList<>();
+        for (Callable<Tweet> task : tasks) {
+            try {
+                tweets.add(task.call());
+            } catch (Exception e) {
+                throw new RuntimeException("Tweet generation failed: " + e.getMessage(), e);
+            }
+        }
+        return tweets;
+    }
+    
+    /**
+     * Run tweet tasks in parallel (bounded by generationParallelism) while keeping thread order
+     */
+    private Flux<Tweet> runConcurrently(List<Callable<Tweet>> tasks) {
+        return Flux.fromIterable(tasks)
+                .flatMapSequential(task -> Mono.fromCallable(task).subscribeOn(generationScheduler()),
+                        Math.max(1, generationParallelism));
+    }
+    
+    private Scheduler generationScheduler() {
+        return virtualThreads ? VirtualThreads.SCHEDULER : Schedulers.boundedElastic();
+    }
+    
+    /**
+     * Created on first use; a virtual thread per task, so no platform threads sit blocked on OpenAI
+     */
+    private static final class VirtualThreads {
+        static final Scheduler SCHEDULER = Schedulers.fromExecutorService(
+                Executors.newVirtualThreadPerTaskExecutor(), "virtual-generation");
+    }
 }
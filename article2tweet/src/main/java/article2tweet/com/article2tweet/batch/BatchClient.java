@@ -0,0 +1,22 @@
+package article2tweet.com.article2tweet.batch;
+
+import java.nio.file.Path;
+
+/**
+ * Submits a JSONL file of chat completion requests for offline processing
+ * and retrieves the JSONL results once the batch has finished
+ */
+public interface BatchClient {
+
+    /**
+     * Upload the input file and create a batch, returning its ID
+     */
+    String submit(Path inputFile);
+
+    BatchJob status(String batchId);
+
+    /**
+     * Write the output file of a completed batch to the target path
+     */
+    Path downloadResults(BatchJob job, Path target);
+}
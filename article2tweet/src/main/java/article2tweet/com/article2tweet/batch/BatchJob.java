@@ -0,0 +1,23 @@
+package article2tweet.com.article2tweet.batch;
+
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Snapshot of a batch as reported by the batch endpoint
+ */
+public record BatchJob(String id, String status, String outputFileId, int completed, int failed) {
+
+    private static final Set<String> TERMINAL = Set.of("completed", "failed", "expired", "cancelled");
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return TERMINAL.contains(status);
+    }
+
+    @JsonIgnore
+    public boolean isSucceeded() {
+        return "completed".equals(status);
+    }
+}
@@ -0,0 +1,163 @@
+package article2tweet.com.article2tweet.batch;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import article2tweet.com.article2tweet.domain.Article;
+import article2tweet.com.article2tweet.domain.Tweet;
+import article2tweet.com.article2tweet.domain.TweetThread;
+import article2tweet.com.article2tweet.service.OpenAIService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Offline bulk thread generation: one structured-thread request per article is written
+ * to a JSONL batch file, submitted, polled until done and mapped back into TweetThreads
+ */
+@Service
+@Slf4j
+public class BatchThreadPipeline {
+
+    private static final String CUSTOM_ID_PREFIX = "article-";
+
+    private final BatchClient batchClient;
+    private final OpenAIService openAIService;
+    private final ObjectMapper objectMapper;
+    private final Duration pollInterval;
+    private final Duration timeout;
+
+    public BatchThreadPipeline(BatchClient batchClient,
+                               OpenAIService openAIService,
+                               ObjectMapper objectMapper,
+                               @Value("${openai.batch.poll-interval:PT30S}") Duration pollInterval,
+                               @Value("${openai.batch.timeout:PT24H}") Duration timeout) {
+        this.batchClient = batchClient;
+        this.openAIService = openAIService;
+        this.objectMapper = objectMapper;
+        this.pollInterval = pollInterval;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Run the whole batch flow; articles whose request failed in the batch are
+     * generated through the regular per-tweet path so every article gets a thread
+     */
+    public List<TweetThread> generateThreads(List<Article> articles, Path workDirectory) {
+        log.info("🏭 Starting batch generation for {} articles", articles.size());
+        try {
+            Files.createDirectories(workDirectory);
+            Path inputFile = writeBatchFile(articles, workDirectory.resolve("batch-input.jsonl"));
+
+            String batchId = batchClient.submit(inputFile);
+            BatchJob job = awaitCompletion(batchId);
+            if (!job.isSucceeded()) {
+                throw new RuntimeException("Batch " + batchId + " ended with status " + job.status());
+            }
+
+            // A batch whose requests all failed completes without an output file
+            if (job.outputFileId() == null) {
+                log.warn("⚠️ Batch {} has no output file ({} failed), generating every thread live", batchId, job.failed());
+                return mapResults(articles, Map.of());
+            }
+            Path outputFile = batchClient.downloadResults(job, workDirectory.resolve("batch-output.jsonl"));
+            return mapResults(articles, readResults(outputFile));
+
+        } catch (IOException e) {
+            throw new RuntimeException("Batch generation failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Write one /v1/chat/completions request per article, keyed by its index
+     */
+    public Path writeBatchFile(List<Article> articles, Path inputFile) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(inputFile, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < articles.size(); i++) {
+                Article article = articles.get(i);
+                Map<String, Object> request = Map.of(
+                    "custom_id", CUSTOM_ID_PREFIX + i,
+                    "method", "POST",
+                    "url", "/v1/chat/completions",
+                    "body", openAIService.structuredThreadRequestBody(article.getContent(), article.getTitle())
+                );
+                writer.write(objectMapper.writeValueAsString(request));
+                writer.newLine();
+            }
+        }
+        log.info("📝 Wrote {} batch requests to {}", articles.size(), inputFile);
+        return inputFile;
+    }
+
+    private BatchJob awaitCompletion(String batchId) {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while (true) {
+            BatchJob job = batchClient.status(batchId);
+            log.info("⏳ Batch {} status: {} ({} completed, {} failed)", batchId, job.status(), job.completed(), job.failed());
+            if (job.isFinished()) {
+                return job;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new RuntimeException("Timed out waiting for batch " + batchId);
+            }
+            try {
+                Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for batch " + batchId, e);
+            }
+        }
+    }
+
+    /**
+     * Completion text per custom_id; failed requests are left out
+     */
+    private Map<String, String> readResults(Path outputFile) throws IOException {
+        Map<String, String> results = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(outputFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode result = objectMapper.readTree(line);
+                String customId = result.path("custom_id").asText();
+                JsonNode response = result.path("response");
+                if (response.path("status_code").asInt() != 200) {
+                    log.warn("⚠️ Batch request {} failed: {}", customId, result.path("error"));
+                    continue;
+                }
+                results.put(customId, response.path("body").path("choices").path(0).path("message").path("content").asText());
+            }
+        }
+        return results;
+    }
+
+    private List<TweetThread> mapResults(List<Article> articles, Map<String, String> results) {
+        List<TweetThread> threads = new ArrayList<>();
+        for (int i = 0; i < articles.size(); i++) {
+            Article article = articles.get(i);
+            String content = results.get(CUSTOM_ID_PREFIX + i);
+
+            List<Tweet> tweets = content != null
+                    ? openAIService.structuredThreadFromResponse(content, article.getContent(), article.getTitle(), article.getUrl())
+                    : openAIService.generateStructuredThread(article.getContent(), article.getTitle(), article.getUrl());
+            threads.add(new TweetThread(tweets, article.getUrl(), article.getTitle()));
+        }
+        log.info("🎉 Batch produced {} threads ({} from batch results)", threads.size(), results.size());
+        return threads;
+    }
+}
@@ -0,0 +1,178 @@
+package article2tweet.com.article2tweet.batch;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * File-based stand-in for the OpenAI Batch API: each batch is a directory holding the
+ * input file, a status file and (once processed) an output file in the Batch API format.
+ * Lets the whole batch flow run without network access.
+ */
+@Component
+@ConditionalOnProperty(name = "openai.batch.client", havingValue = "local")
+@Slf4j
+public class LocalBatchClient implements BatchClient {
+
+    private static final Pattern ARTICLE_TITLE = Pattern.compile("Article: \"(.*)\"");
+
+    private final ObjectMapper objectMapper;
+    private final Path workDirectory;
+    private final Function<String, String> responder;
+
+    public LocalBatchClient(ObjectMapper objectMapper,
+                            @Value("${openai.batch.local-directory:${java.io.tmpdir}/article2tweet-batches}") String workDirectory) {
+        this(objectMapper, Path.of(workDirectory), null);
+    }
+
+    /**
+     * @param responder maps a prompt to the completion text; null uses a canned structured thread
+     */
+    public LocalBatchClient(ObjectMapper objectMapper, Path workDirectory, Function<String, String> responder) {
+        this.objectMapper = objectMapper;
+        this.workDirectory = workDirectory;
+        this.responder = responder != null ? responder : this::cannedStructuredThread;
+    }
+
+    @Override
+    public String submit(Path inputFile) {
+        String batchId = "batch_local_" + UUID.randomUUID().toString().replace("-", "");
+        try {
+            Path batchDirectory = Files.createDirectories(workDirectory.resolve(batchId));
+            Files.copy(inputFile, batchDirectory.resolve("input.jsonl"), StandardCopyOption.REPLACE_EXISTING);
+            writeStatus(batchId, new BatchJob(batchId, "validating", null, 0, 0));
+            log.info("📦 Local batch {} submitted from {}", batchId, inputFile);
+            return batchId;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to submit local batch: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public BatchJob status(String batchId) {
+        BatchJob job = readStatus(batchId);
+        // Advance one step per poll, like a real batch moving through its lifecycle
+        return switch (job.status()) {
+            case "validating" -> writeStatus(batchId, new BatchJob(batchId, "in_progress", null, 0, 0));
+            case "in_progress" -> writeStatus(batchId, process(batchId));
+            default -> job;
+        };
+    }
+
+    @Override
+    public Path downloadResults(BatchJob job, Path target) {
+        try {
+            return Files.copy(workDirectory.resolve(job.id()).resolve(job.outputFileId()), target,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read local batch output: " + e.getMessage(), e);
+        }
+    }
+
+    private BatchJob process(String batchId) {
+        Path batchDirectory = workDirectory.resolve(batchId);
+        int completed = 0;
+        int failed = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(batchDirectory.resolve("input.jsonl"), StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(batchDirectory.resolve("output.jsonl"), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode request = objectMapper.readTree(line);
+                String customId = request.path("custom_id").asText();
+                Map<String, Object> result;
+                try {
+                    StringBuilder prompt = new StringBuilder();
+                    request.path("body").path("messages").forEach(message ->
+                            prompt.append(message.path("content").asText()).append('\n'));
+                    String content = responder.apply(prompt.toString());
+                    result = Map.of(
+                        "id", "batch_req_" + UUID.randomUUID().toString().replace("-", ""),
+                        "custom_id", customId,
+                        "response", Map.of(
+                            "status_code", 200,
+                            "body", Map.of("choices", List.of(Map.of(
+                                "index", 0,
+                                "message", Map.of("role", "assistant", "content", content)))))
+                    );
+                    completed++;
+                } catch (Exception e) {
+                    result = Map.of(
+                        "custom_id", customId,
+                        "error", Map.of("code", "local_error", "message", String.valueOf(e.getMessage()))
+                    );
+                    failed++;
+                }
+                writer.write(objectMapper.writeValueAsString(result));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            log.error("❌ Local batch {} failed: {}", batchId, e.getMessage());
+            return new BatchJob(batchId, "failed", null, completed, failed);
+        }
+
+        log.info("✅ Local batch {} completed ({} ok, {} failed)", batchId, completed, failed);
+        // Like the Batch API, a batch with no successful request has no output file
+        return new BatchJob(batchId, "completed", completed > 0 ? "output.jsonl" : null, completed, failed);
+    }
+
+    private String cannedStructuredThread(String prompt) {
+        Matcher matcher = ARTICLE_TITLE.matcher(prompt);
+        String title = matcher.find() ? matcher.group(1) : "this article";
+        try {
+            return objectMapper.writeValueAsString(Map.of(
+                "insights", List.of(
+                    "Small, steady improvements beat big rewrites.",
+                    "Feedback loops matter more than tools.",
+                    "Clear writing is a force multiplier for teams."),
+                "hook", "🧵 Just read " + title + " - here's what stuck with me:",
+                "tweets", List.of(
+                    "Small, steady improvements beat big rewrites. Ship the boring fix today.",
+                    "Fast feedback loops matter way more than which tool you pick.",
+                    "Clear writing scales a team better than another meeting ever will."),
+                "wrap_up", "That's the gist of " + title + ". What would you add?"
+            ));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private BatchJob readStatus(String batchId) {
+        try {
+            return objectMapper.readValue(workDirectory.resolve(batchId).resolve("status.json").toFile(), BatchJob.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Unknown local batch " + batchId + ": " + e.getMessage(), e);
+        }
+    }
+
+    private BatchJob writeStatus(String batchId, BatchJob job) {
+        try {
+            objectMapper.writeValue(workDirectory.resolve(batchId).resolve("status.json").toFile(), job);
+            return job;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write local batch status: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package article2tweet.com.article2tweet.batch;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * OpenAI Batch API client: upload file, create batch, poll it, download the output file
+ */
+@Component
+@ConditionalOnProperty(name = "openai.batch.client", havingValue = "openai", matchIfMissing = true)
+@Slf4j
+public class OpenAIBatchClient implements BatchClient {
+
+    private final WebClient openAIWebClient;
+
+    public OpenAIBatchClient(@Qualifier("openAIWebClient") WebClient openAIWebClient) {
+        this.openAIWebClient = openAIWebClient;
+    }
+
+    @Override
+    public String submit(Path inputFile) {
+        MultipartBodyBuilder multipart = new MultipartBodyBuilder();
+        multipart.part("purpose", "batch");
+        multipart.part("file", new FileSystemResource(inputFile));
+
+        log.info("📤 Uploading batch input file {}", inputFile);
+        JsonNode file = openAIWebClient.post()
+                .uri("/files")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(multipart.build()))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .blockOptional()
+                .filter(uploaded -> uploaded.hasNonNull("id"))
+                .orElseThrow(() -> new RuntimeException("Upload of " + inputFile + " returned no file ID"));
+
+        JsonNode batch = openAIWebClient.post()
+                .uri("/batches")
+                .bodyValue(Map.of(
+                    "input_file_id", file.path("id").asText(),
+                    "endpoint", "/v1/chat/completions",
+                    "completion_window", "24h"))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .blockOptional()
+                .filter(created -> created.hasNonNull("id"))
+                .orElseThrow(() -> new RuntimeException("Creating a batch for " + inputFile + " returned no batch ID"));
+
+        String batchId = batch.path("id").asText();
+        log.info("📦 Created OpenAI batch {}", batchId);
+        return batchId;
+    }
+
+    @Override
+    public BatchJob status(String batchId) {
+        JsonNode batch = openAIWebClient.get()
+                .uri("/batches/{batch_id}", batchId)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .blockOptional()
+                .orElseThrow(() -> new RuntimeException("Empty status response for batch " + batchId));
+
+        return new BatchJob(
+            batchId,
+            batch.path("status").asText(),
+            batch.path("output_file_id").isNull() ? null : batch.path("output_file_id").asText(null),
+            batch.path("request_counts").path("completed").asInt(),
+            batch.path("request_counts").path("failed").asInt()
+        );
+    }
+
+    @Override
+    public Path downloadResults(BatchJob job, Path target) {
+        log.info("📥 Downloading results of batch {} to {}", job.id(), target);
+        DataBufferUtils.write(
+                openAIWebClient.get()
+                    .uri("/files/{file_id}/content", job.outputFileId())
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class),
+                target)
+            .block();
+        return target;
+    }
+}
@@ -0,0 +1,84 @@
+package article2tweet.com.article2tweet.cache;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Extracted insights indexed by article fingerprint and prompt version, so repeat runs
+ * on the same article (preview, then final) skip the expensive extraction call
+ */
+@Component
+@Slf4j
+public class InsightStore {
+
+    private final boolean enabled;
+    private final TieredCache<List<String>> store;
+
+    public InsightStore(ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${openai.insights.store.enabled:true}") boolean enabled,
+                        @Value("${openai.insights.store.max-entries:500}") int maxEntries,
+                        @Value("${openai.insights.store.ttl:PT168H}") Duration ttl,
+                        @Value("${openai.insights.store.disk-enabled:false}") boolean diskEnabled,
+                        @Value("${openai.insights.store.disk-directory:${user.home}/.article2tweet/insights}") String diskDirectory) {
+        this.enabled = enabled;
+        this.store = new TieredCache<>("insights", maxEntries, ttl,
+                diskEnabled ? Path.of(diskDirectory) : null, objectMapper,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, String.class),
+                Clock.systemUTC());
+        this.store.bindTo(meterRegistry);
+    }
+
+    /**
+     * Fingerprint of the article content and title under a given prompt version
+     */
+    public String fingerprint(String promptVersion, String articleTitle, String articleContent) {
+        return CacheKeys.sha256(promptVersion, articleTitle, articleContent);
+    }
+
+    public Optional<List<String>> get(String fingerprint) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Optional<List<String>> insights = store.get(fingerprint);
+        if (insights.isPresent()) {
+            log.info("⚡ Reusing stored insights ({}...), hits={} misses={}",
+                    fingerprint.substring(0, 12), store.getHits(), store.getMisses());
+        }
+        return insights;
+    }
+
+    public void put(String fingerprint, List<String> insights) {
+        if (enabled) {
+            store.put(fingerprint, List.copyOf(insights));
+        }
+    }
+
+    /**
+     * Let queued disk writes finish before shutdown
+     */
+    @PreDestroy
+    public void close() {
+        store.close();
+    }
+
+    public long getHits() {
+        return store.getHits();
+    }
+
+    public long getMisses() {
+        return store.getMisses();
+    }
+}
@@ -0,0 +1,91 @@
+package article2tweet.com.article2tweet.cache;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content-addressed cache for chat completions, keyed by a hash of
+ * (model, temperature, max_tokens, prompt, extra request options)
+ */
+@Component
+@Slf4j
+public class LlmResponseCache {
+
+    private final boolean enabled;
+    private final double bypassTemperature;
+    private final TieredCache<String> cache;
+
+    public LlmResponseCache(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${openai.cache.enabled:true}") boolean enabled,
+                            @Value("${openai.cache.max-entries:1000}") int maxEntries,
+                            @Value("${openai.cache.ttl:PT24H}") Duration ttl,
+                            @Value("${openai.cache.disk-enabled:false}") boolean diskEnabled,
+                            @Value("${openai.cache.disk-directory:${user.home}/.article2tweet/llm-cache}") String diskDirectory,
+                            @Value("${openai.cache.bypass-temperature:1.0}") double bypassTemperature) {
+        this.enabled = enabled;
+        this.bypassTemperature = bypassTemperature;
+        this.cache = new TieredCache<>("llm-responses", maxEntries, ttl,
+                diskEnabled ? Path.of(diskDirectory) : null, objectMapper, String.class);
+        this.cache.bindTo(meterRegistry);
+    }
+
+    /**
+     * Build the cache key for a completion request
+     */
+    public String key(String model, double temperature, int maxTokens, String prompt, Map<String, Object> extraOptions) {
+        // TreeMap gives a stable ordering regardless of how the options map was built
+        return CacheKeys.sha256(model, temperature, maxTokens, prompt, new TreeMap<>(extraOptions));
+    }
+
+    /**
+     * High-temperature ("regenerate") requests always go to the model for fresh output
+     */
+    public boolean shouldBypass(double temperature) {
+        return !enabled || temperature >= bypassTemperature;
+    }
+
+    public Optional<String> get(String key) {
+        Optional<String> cached = cache.get(key);
+        if (cached.isPresent()) {
+            log.info("⚡ LLM cache hit ({}...)", key.substring(0, 12));
+        }
+        return cached;
+    }
+
+    public void put(String key, String response) {
+        cache.put(key, response);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Let queued disk writes finish before shutdown
+     */
+    @PreDestroy
+    public void close() {
+        cache.close();
+    }
+
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    public long getMisses() {
+        return cache.getMisses();
+    }
+}
@@ -0,0 +1,235 @@
+package article2tweet.com.article2tweet.cache;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Medium API responses keyed by endpoint and ID, in memory and optionally on disk. Only the
+ * decoded fields we read are stored, which keeps disk entries small. An entry past its
+ * fresh-for window is still served immediately while one background refresh replaces it.
+ * Article bodies are versioned by last_modified_at instead, so they are reused for as long as
+ * the article is unchanged.
+ */
+@Component
+@Slf4j
+public class MediumResponseCache {
+
+    public enum Endpoint {
+        ARTICLE("article"),
+        CONTENT("content"),
+        USER_ARTICLES("user-articles");
+
+        private final String key;
+
+        Endpoint(String key) {
+            this.key = key;
+        }
+
+        public String key() {
+            return key;
+        }
+    }
+
+    private final boolean enabled;
+    private final Map<Endpoint, Duration> freshFor = new EnumMap<>(Endpoint.class);
+    private final TieredCache<JsonNode> store;
+    // Latest stored version per versioned resource, so storing a new one can drop the old
+    private final TieredCache<String> versions;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public MediumResponseCache(ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${medium.cache.enabled:true}") boolean enabled,
+                               @Value("${medium.cache.max-entries:2000}") int maxEntries,
+                               @Value("${medium.cache.max-disk-entries:20000}") int maxDiskEntries,
+                               @Value("${medium.cache.max-stale:PT168H}") Duration maxStale,
+                               @Value("${medium.cache.article-fresh-for:PT1H}") Duration articleFreshFor,
+                               @Value("${medium.cache.user-articles-fresh-for:PT15M}") Duration userArticlesFreshFor,
+                               @Value("${medium.cache.disk-enabled:false}") boolean diskEnabled,
+                               @Value("${medium.cache.disk-directory:${user.home}/.article2tweet/medium-cache}") String diskDirectory) {
+        this(objectMapper, meterRegistry, enabled, maxEntries, maxDiskEntries, maxStale, articleFreshFor,
+                userArticlesFreshFor, diskEnabled ? Path.of(diskDirectory) : null, Clock.systemUTC());
+    }
+
+    public MediumResponseCache(ObjectMapper objectMapper, MeterRegistry meterRegistry, boolean enabled, int maxEntries,
+                               int maxDiskEntries, Duration maxStale, Duration articleFreshFor,
+                               Duration userArticlesFreshFor, Path diskDirectory, Clock clock) {
+        this.enabled = enabled;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.freshFor.put(Endpoint.ARTICLE, articleFreshFor);
+        // Only used for articles without last_modified_at; versioned bodies never go stale
+        this.freshFor.put(Endpoint.CONTENT, articleFreshFor);
+        this.freshFor.put(Endpoint.USER_ARTICLES, userArticlesFreshFor);
+        // Past max-stale an entry is dropped rather than served while refreshing
+        this.store = new TieredCache<>("medium-responses", maxEntries, maxDiskEntries, maxStale, diskDirectory,
+                objectMapper, objectMapper.getTypeFactory().constructType(JsonNode.class), clock);
+        this.store.bindTo(meterRegistry);
+        this.versions = new TieredCache<>("medium-response-versions", maxEntries, maxDiskEntries, maxStale,
+                diskDirectory == null ? null : diskDirectory.resolve("versions"), objectMapper,
+                objectMapper.getTypeFactory().constructType(String.class), clock);
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            Gauge.builder("medium.cache.hit.ratio", this, cache -> cache.hitRatio(endpoint))
+                    .tag("endpoint", endpoint.key())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Cached response for the endpoint and ID, or empty on a miss. A stale value is returned
+     * as is and refreshed in the background through the given call.
+     */
+    public <T> Optional<T> get(Endpoint endpoint, String id, Class<T> type, Supplier<Mono<T>> refresh) {
+        return get(endpoint, id, type, true, refresh);
+    }
+
+    private <T> Optional<T> get(Endpoint endpoint, String id, Class<T> type, boolean canGoStale,
+                                Supplier<Mono<T>> refresh) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String key = key(endpoint, id);
+        Optional<TieredCache.Entry<JsonNode>> entry = store.getEntry(key);
+        if (entry.isEmpty()) {
+            gets(endpoint, "miss").increment();
+            return Optional.empty();
+        }
+
+        long staleSince = entry.get().storedAt() + freshFor.get(endpoint).toMillis();
+        if (!canGoStale || clock.millis() < staleSince) {
+            gets(endpoint, "fresh").increment();
+        } else {
+            gets(endpoint, "stale").increment();
+            refreshInBackground(endpoint, id, key, staleSince, refresh);
+        }
+        return Optional.of(objectMapper.convertValue(entry.get().value(), type));
+    }
+
+    /**
+     * Serve from cache, or make the call and cache its result
+     */
+    public <T> Mono<T> getOrFetch(Endpoint endpoint, String id, Class<T> type, Supplier<Mono<T>> fetch) {
+        return Mono.defer(() -> get(endpoint, id, type, fetch)
+                .map(Mono::just)
+                .orElseGet(() -> fetch.get().doOnNext(value -> put(endpoint, id, value))));
+    }
+
+    public void put(Endpoint endpoint, String id, Object value) {
+        if (enabled) {
+            store.put(key(endpoint, id), objectMapper.valueToTree(value));
+        }
+    }
+
+    /**
+     * Cached response for one version of a resource; any other version is a miss. A null
+     * version falls back to plain fresh-for expiry.
+     */
+    public <T> Optional<T> getVersioned(Endpoint endpoint, String id, String version, Class<T> type,
+                                        Supplier<Mono<T>> refresh) {
+        return get(endpoint, versionedId(id, version), type, version == null, refresh);
+    }
+
+    /**
+     * Store one version of a resource, dropping the previously stored version from both tiers.
+     * Called from event loops: looking up and deleting the old version never blocks on disk.
+     */
+    public void putVersioned(Endpoint endpoint, String id, String version, Object value) {
+        if (enabled && version != null) {
+            versions.put(key(endpoint, id), version, previous -> {
+                if (!previous.equals(version)) {
+                    store.invalidate(key(endpoint, versionedId(id, previous)));
+                }
+            });
+        }
+        put(endpoint, versionedId(id, version), value);
+    }
+
+    public double hitRatio(Endpoint endpoint) {
+        double fresh = gets(endpoint, "fresh").count();
+        double stale = gets(endpoint, "stale").count();
+        double total = fresh + stale + gets(endpoint, "miss").count();
+        return total == 0 ? 0 : (fresh + stale) / total;
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * Let queued disk writes finish before shutdown
+     */
+    @PreDestroy
+    public void close() {
+        // versions first: its writer may still queue deletions of old versions on store
+        versions.close();
+        store.close();
+    }
+
+    private <T> void refreshInBackground(Endpoint endpoint, String id, String key, long staleSince,
+                                         Supplier<Mono<T>> refresh) {
+        // One refresh per entry at a time; other readers keep getting the stale value meanwhile
+        if (!refreshing.add(key)) {
+            return;
+        }
+        log.debug("♻️ Serving stale {} {} while refreshing", endpoint.key(), id);
+        Mono.defer(refresh)
+                .doFinally(signal -> refreshing.remove(key))
+                .subscribe(value -> {
+                    store.put(key, objectMapper.valueToTree(value));
+                    Timer.builder("medium.cache.refresh.lag")
+                            .description("Time from an entry going stale until its refresh landed")
+                            .tag("endpoint", endpoint.key())
+                            .register(meterRegistry)
+                            .record(Math.max(0, clock.millis() - staleSince), TimeUnit.MILLISECONDS);
+                    refreshes(endpoint, "success").increment();
+                }, e -> {
+                    log.warn("⚠️ Background refresh of {} {} failed: {}", endpoint.key(), id, e.getMessage());
+                    refreshes(endpoint, "error").increment();
+                });
+    }
+
+    private Counter gets(Endpoint endpoint, String result) {
+        return meterRegistry.counter("medium.cache.gets", "endpoint", endpoint.key(), "result", result);
+    }
+
+    private Counter refreshes(Endpoint endpoint, String outcome) {
+        return meterRegistry.counter("medium.cache.refreshes", "endpoint", endpoint.key(), "outcome", outcome);
+    }
+
+    private static String key(Endpoint endpoint, String id) {
+        return endpoint.key() + ":" + id;
+    }
+
+    private static String versionedId(String id, String version) {
+        return version == null ? id : id + "@" + version;
+    }
+}
@@ -0,0 +1,91 @@
+package article2tweet.com.article2tweet.cache;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import article2tweet.com.article2tweet.domain.MediumUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Medium username to user ID mappings, kept with no expiry since Medium user IDs never change,
+ * plus a TTL cache of user profiles. A known user resolves without any API call; with the
+ * disk tier enabled that holds across restarts too.
+ */
+@Component
+@Slf4j
+public class MediumUserDirectory {
+
+    private final boolean enabled;
+    private final TieredCache<String> userIds;
+    private final TieredCache<MediumUser> users;
+
+    public MediumUserDirectory(ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${medium.users.cache.enabled:true}") boolean enabled,
+                               @Value("${medium.users.cache.max-entries:1000}") int maxEntries,
+                               @Value("${medium.users.cache.profile-ttl:PT24H}") Duration profileTtl,
+                               @Value("${medium.users.cache.disk-enabled:false}") boolean diskEnabled,
+                               @Value("${medium.users.cache.disk-directory:${user.home}/.article2tweet/medium-users}") String diskDirectory) {
+        this.enabled = enabled;
+        this.userIds = new TieredCache<>("medium-user-ids", maxEntries, Duration.ZERO,
+                diskEnabled ? Path.of(diskDirectory, "ids") : null, objectMapper,
+                objectMapper.getTypeFactory().constructType(String.class), Clock.systemUTC());
+        this.users = new TieredCache<>("medium-users", maxEntries, profileTtl,
+                diskEnabled ? Path.of(diskDirectory, "profiles") : null, objectMapper,
+                objectMapper.getTypeFactory().constructType(MediumUser.class), Clock.systemUTC());
+        this.userIds.bindTo(meterRegistry);
+        this.users.bindTo(meterRegistry);
+    }
+
+    public Optional<String> getUserId(String username) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Optional<String> userId = userIds.get(usernameKey(username));
+        userId.ifPresent(id -> log.debug("⚡ Resolved Medium user {} to {} from cache", username, id));
+        return userId;
+    }
+
+    public void putUserId(String username, String userId) {
+        if (enabled && userId != null && !userId.isBlank()) {
+            userIds.put(usernameKey(username), userId);
+        }
+    }
+
+    public Optional<MediumUser> getUser(String userId) {
+        return enabled ? users.get(userId) : Optional.empty();
+    }
+
+    public void putUser(MediumUser user) {
+        if (enabled && user.getId() != null) {
+            users.put(user.getId(), user);
+        }
+    }
+
+    /**
+     * Let queued disk writes finish before shutdown
+     */
+    @PreDestroy
+    public void close() {
+        userIds.close();
+        users.close();
+    }
+
+    /**
+     * Medium usernames are case-insensitive and often written with a leading @
+     */
+    static String usernameKey(String username) {
+        String key = username.trim().toLowerCase(Locale.ROOT);
+        return key.startsWith("@") ? key.substring(1) : key;
+    }
+}
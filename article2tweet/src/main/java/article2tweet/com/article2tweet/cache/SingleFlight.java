@@ -0,0 +1,59 @@
+package article2tweet.com.article2tweet.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces concurrent identical calls: while a call for a key is in flight, every other
+ * caller for that key shares its Mono (and its result or error) instead of starting another
+ */
+@Slf4j
+public class SingleFlight<V> {
+
+    private final String name;
+    private final ConcurrentHashMap<String, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter savedCalls;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.savedCalls = Counter.builder("article2tweet.singleflight.saved")
+                .description("Upstream calls avoided by joining an identical in-flight call")
+                .tag("flight", name)
+                .register(meterRegistry);
+    }
+
+    public Mono<V> execute(String key, Supplier<Mono<V>> call) {
+        AtomicReference<Mono<V>> created = new AtomicReference<>();
+
+        Mono<V> shared = inFlight.computeIfAbsent(key, k -> {
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            Mono<V> mono = Mono.defer(call)
+                    // Remove before subscribers see the result, so late callers start a fresh call
+                    .doOnTerminate(() -> inFlight.remove(k, self.get()))
+                    .cache();
+            self.set(mono);
+            created.set(mono);
+            return mono;
+        });
+
+        if (created.get() == null) {
+            savedCalls.increment();
+            log.debug("🔗 Joined in-flight {} call for {}", name, key);
+        }
+        return shared;
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public double getSavedCalls() {
+        return savedCalls.count();
+    }
+}
@@ -0,0 +1,439 @@
+package article2tweet.com.article2tweet.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Two-tier cache: a bounded in-memory LRU tier in front of an optional on-disk tier.
+ * Every entry carries its own expiry; expired entries are dropped on read, and the disk tier
+ * is swept of expired and, beyond maxDiskEntries, oldest-stored files as it grows.
+ * Only the memory tier is updated on the caller's thread, which may be an event loop: disk
+ * writes, deletions and sweeps run in order on one writer thread per cache.
+ */
+@Slf4j
+public class TieredCache<V> {
+
+    /**
+     * Stored form of a value, shared by both tiers (expiresAt of Long.MAX_VALUE means no TTL)
+     */
+    public record Entry<V>(V value, long storedAt, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    /**
+     * A disk write (or, with a null entry, deletion) queued but not yet applied
+     */
+    private record PendingDisk<V>(Entry<V> entry) {
+    }
+
+    // Disk tier holds this many times the memory tier unless configured otherwise
+    private static final int DEFAULT_DISK_ENTRIES_PER_MEMORY_ENTRY = 10;
+
+    private final String name;
+    private final int maxEntries;
+    private final int maxDiskEntries;
+    private final Duration defaultTtl;
+    private final Path diskDirectory;
+    private final ObjectMapper objectMapper;
+    private final JavaType entryType;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry<V>> memory;
+    private final Scheduler diskWriter;
+    // Reads consult queued operations before the disk, so a queued write or delete is already visible
+    private final Map<String, PendingDisk<V>> pendingDisk = new ConcurrentHashMap<>();
+    // Disk entries stored at or before the last clear() count as gone until its deletion has run
+    private volatile long clearedAt = Long.MIN_VALUE;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong writesSinceSweep = new AtomicLong();
+
+    public TieredCache(String name, int maxEntries, Duration defaultTtl, Path diskDirectory,
+                       ObjectMapper objectMapper, Class<V> valueType) {
+        this(name, maxEntries, defaultTtl, diskDirectory, objectMapper,
+                objectMapper.getTypeFactory().constructType(valueType), Clock.systemUTC());
+    }
+
+    public TieredCache(String name, int maxEntries, Duration defaultTtl, Path diskDirectory,
+                       ObjectMapper objectMapper, JavaType valueType, Clock clock) {
+        this(name, maxEntries, maxEntries * DEFAULT_DISK_ENTRIES_PER_MEMORY_ENTRY, defaultTtl, diskDirectory,
+                objectMapper, valueType, clock);
+    }
+
+    public TieredCache(String name, int maxEntries, int maxDiskEntries, Duration defaultTtl, Path diskDirectory,
+                       ObjectMapper objectMapper, JavaType valueType, Clock clock) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.maxDiskEntries = Math.max(1, maxDiskEntries);
+        this.defaultTtl = defaultTtl;
+        this.diskDirectory = diskDirectory;
+        this.objectMapper = objectMapper;
+        this.entryType = objectMapper.getTypeFactory().constructParametricType(Entry.class, valueType);
+        this.clock = clock;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > TieredCache.this.maxEntries;
+            }
+        };
+
+        this.diskWriter = diskDirectory == null ? null : Schedulers.newSingle("cache-" + name + "-disk", true);
+
+        if (diskDirectory != null) {
+            try {
+                Files.createDirectories(diskDirectory);
+                log.info("💾 Cache '{}' persisting to {}", name, diskDirectory);
+            } catch (IOException e) {
+                log.warn("⚠️ Could not create cache directory {}: {}", diskDirectory, e.getMessage());
+            }
+            // Entries left over from earlier runs are only otherwise removed when read again
+            diskWriter.schedule(this::sweepDisk);
+        }
+    }
+
+    public Optional<V> get(String key) {
+        return getEntry(key).map(Entry::value);
+    }
+
+    /**
+     * Look up an entry with its timestamps, checking memory first and then disk
+     */
+    public Optional<Entry<V>> getEntry(String key) {
+        long now = clock.millis();
+
+        synchronized (memory) {
+            Entry<V> entry = memory.get(key);
+            if (entry != null) {
+                if (!entry.isExpired(now)) {
+                    hits.incrementAndGet();
+                    return Optional.of(entry);
+                }
+                memory.remove(key);
+            }
+        }
+
+        PendingDisk<V> pending = diskDirectory == null ? null : pendingDisk.get(key);
+        Entry<V> diskEntry = pending != null ? pending.entry() : readFromDisk(key);
+        if (diskEntry != null && diskEntry.storedAt() <= clearedAt) {
+            diskEntry = null;
+        }
+        if (diskEntry != null && !diskEntry.isExpired(now)) {
+            diskHits.incrementAndGet();
+            synchronized (memory) {
+                memory.put(key, diskEntry);
+            }
+            return Optional.of(diskEntry);
+        }
+        if (diskEntry != null) {
+            scheduleDisk(key, null);
+        }
+
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    public void put(String key, V value) {
+        put(key, value, defaultTtl);
+    }
+
+    /**
+     * Store a value with its own TTL (null or zero means the entry never expires)
+     */
+    public void put(String key, V value, Duration ttl) {
+        long now = clock.millis();
+        long expiresAt = (ttl == null || ttl.isZero()) ? Long.MAX_VALUE : now + ttl.toMillis();
+        Entry<V> entry = new Entry<>(value, now, expiresAt);
+
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        scheduleDisk(key, entry);
+    }
+
+    /**
+     * Store a value and pass the live value it replaces, if any, to onReplaced. When that value
+     * is only on disk it is read by the disk writer, so the caller never waits on disk I/O.
+     */
+    public void put(String key, V value, Consumer<V> onReplaced) {
+        long now = clock.millis();
+        Entry<V> previous;
+        synchronized (memory) {
+            previous = memory.get(key);
+        }
+        PendingDisk<V> pending = diskDirectory == null ? null : pendingDisk.get(key);
+        if (previous == null && pending != null) {
+            previous = pending.entry();
+        }
+        if (previous != null) {
+            if (!previous.isExpired(now)) {
+                onReplaced.accept(previous.value());
+            }
+        } else if (pending == null && diskDirectory != null) {
+            // Queued ahead of the write below, so it still finds the old file
+            diskWriter.schedule(() -> {
+                Entry<V> stored = readFromDisk(key);
+                if (stored != null && stored.storedAt() > clearedAt && !stored.isExpired(now)) {
+                    onReplaced.accept(stored.value());
+                }
+            });
+        }
+        put(key, value);
+    }
+
+    public void invalidate(String key) {
+        synchronized (memory) {
+            memory.remove(key);
+        }
+        scheduleDisk(key, null);
+    }
+
+    public void clear() {
+        synchronized (memory) {
+            memory.clear();
+        }
+        if (diskDirectory == null) {
+            return;
+        }
+        clearedAt = clock.millis();
+        diskWriter.schedule(() -> {
+            try (Stream<Path> files = Files.list(diskDirectory)) {
+                files.filter(file -> file.toString().endsWith(".json")).forEach(file -> file.toFile().delete());
+            } catch (IOException e) {
+                log.warn("⚠️ Could not clear cache directory {}: {}", diskDirectory, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Wait until disk operations queued so far have been applied
+     */
+    public void flush() {
+        if (diskWriter == null) {
+            return;
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        diskWriter.schedule(done::countDown);
+        try {
+            if (!done.await(30, TimeUnit.SECONDS)) {
+                log.warn("⚠️ Cache '{}' disk writes still pending after 30 s", name);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Flush queued disk writes and stop the writer thread; call on shutdown
+     */
+    public void close() {
+        if (diskWriter != null) {
+            flush();
+            diskWriter.dispose();
+        }
+    }
+
+    public int size() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    public long diskSize() {
+        if (diskDirectory == null) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(diskDirectory)) {
+            return files.filter(file -> file.toString().endsWith(".json")).count();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Delete expired disk entries, then the oldest-stored ones until at most maxDiskEntries
+     * remain. Runs on the disk writer at startup and after every tenth of maxDiskEntries writes.
+     *
+     * @return number of files deleted
+     */
+    public synchronized int sweepDisk() {
+        writesSinceSweep.set(0);
+        if (diskDirectory == null) {
+            return 0;
+        }
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(diskDirectory)) {
+            files = listing.filter(file -> file.toString().endsWith(".json")).toList();
+        } catch (IOException e) {
+            log.warn("⚠️ Could not sweep cache directory {}: {}", diskDirectory, e.getMessage());
+            return 0;
+        }
+
+        long now = clock.millis();
+        int deleted = 0;
+        List<Map.Entry<Path, Long>> live = new ArrayList<>();
+        for (Path file : files) {
+            // Parsed as a tree: only the timestamps are needed, not the value type
+            JsonNode entry = readTree(file);
+            if (entry == null || now >= entry.path("expiresAt").asLong(Long.MAX_VALUE)) {
+                deleted += deleteFile(file);
+            } else {
+                live.add(Map.entry(file, entry.path("storedAt").asLong()));
+            }
+        }
+        if (live.size() > maxDiskEntries) {
+            live.sort(Map.Entry.comparingByValue());
+            for (Map.Entry<Path, Long> oldest : live.subList(0, live.size() - maxDiskEntries)) {
+                deleted += deleteFile(oldest.getKey());
+            }
+        }
+        if (deleted > 0) {
+            log.info("🧹 Cache '{}' swept {} disk entries", name, deleted);
+        }
+        return deleted;
+    }
+
+    public long getHits() {
+        return hits.get() + diskHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Publish size and hit/miss counters tagged with this cache's name
+     */
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("article2tweet.cache.size", this, TieredCache::size)
+                .tag("cache", name).tag("tier", "memory")
+                .register(registry);
+        Gauge.builder("article2tweet.cache.size", this, TieredCache::diskSize)
+                .tag("cache", name).tag("tier", "disk")
+                .register(registry);
+        FunctionCounter.builder("article2tweet.cache.gets", hits, AtomicLong::get)
+                .tag("cache", name).tag("result", "hit").tag("tier", "memory")
+                .register(registry);
+        FunctionCounter.builder("article2tweet.cache.gets", diskHits, AtomicLong::get)
+                .tag("cache", name).tag("result", "hit").tag("tier", "disk")
+                .register(registry);
+        FunctionCounter.builder("article2tweet.cache.gets", misses, AtomicLong::get)
+                .tag("cache", name).tag("result", "miss").tag("tier", "none")
+                .register(registry);
+    }
+
+    private Path diskPath(String key) {
+        return diskDirectory.resolve(CacheKeys.sha256(key) + ".json");
+    }
+
+    private Entry<V> readFromDisk(String key) {
+        if (diskDirectory == null) {
+            return null;
+        }
+        Path file = diskPath(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), entryType);
+        } catch (IOException e) {
+            log.warn("⚠️ Dropping unreadable cache file {}: {}", file, e.getMessage());
+            scheduleDisk(key, null);
+            return null;
+        }
+    }
+
+    /**
+     * Queue a write (or, for a null entry, a deletion) for the disk writer
+     */
+    private void scheduleDisk(String key, Entry<V> entry) {
+        if (diskDirectory == null) {
+            return;
+        }
+        PendingDisk<V> pending = new PendingDisk<>(entry);
+        pendingDisk.put(key, pending);
+        diskWriter.schedule(() -> {
+            if (entry == null) {
+                deleteFromDisk(key);
+            } else {
+                writeToDisk(key, entry);
+            }
+            // A later operation on the same key stays pending until its own turn
+            pendingDisk.remove(key, pending);
+        });
+    }
+
+    private void writeToDisk(String key, Entry<V> entry) {
+        Path file = diskPath(key);
+        try {
+            // Write then rename so a crash never leaves a half-written entry behind
+            Path temp = Files.createTempFile(diskDirectory, "entry", ".tmp");
+            objectMapper.writeValue(temp.toFile(), entry);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not persist cache entry to {}: {}", file, e.getMessage());
+        }
+        if (writesSinceSweep.incrementAndGet() >= Math.max(1, maxDiskEntries / 10)) {
+            sweepDisk();
+        }
+    }
+
+    private JsonNode readTree(Path file) {
+        try {
+            return objectMapper.readTree(file.toFile());
+        } catch (IOException e) {
+            // Unreadable entries would be dropped on read anyway
+            return null;
+        }
+    }
+
+    private int deleteFile(Path file) {
+        try {
+            return Files.deleteIfExists(file) ? 1 : 0;
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete cache file {}: {}", file, e.getMessage());
+            return 0;
+        }
+    }
+
+    private void deleteFromDisk(String key) {
+        try {
+            Files.deleteIfExists(diskPath(key));
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete cache entry for {}: {}", key, e.getMessage());
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package article2tweet.com.article2tweet.command;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.jline.terminal.Terminal;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellOption;
 
 import article2tweet.com.article2tweet.agent.Article2TweetAgent;
+import article2tweet.com.article2tweet.batch.BatchThreadPipeline;
 import article2tweet.com.article2tweet.domain.Article;
 import article2tweet.com.article2tweet.domain.ArticleSummary;
 import article2tweet.com.article2tweet.domain.MediumUser;
+import article2tweet.com.article2tweet.domain.Tweet;
 import article2tweet.com.article2tweet.domain.TweetThread;
 import article2tweet.com.article2tweet.service.MediumApiService;
 import article2tweet.com.article2tweet.service.OpenAIService;
@@ -25,12 +35,17 @@ public class ConfigurationCommand {
     private final Article2TweetAgent article2TweetAgent;
     private final MediumApiService mediumApiService;
     private final OpenAIService openAIService;
+    private final Terminal terminal;
+    private final BatchThreadPipeline batchThreadPipeline;
     
     @Value("${medium.api.key:}")
     private String mediumApiKey;
     
     @Value("${openai.api.key:}")
     private String openaiApiKey;
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
 
     @ShellMethod(key = "create-tweet", value = "Convert a Medium article into a Twitter thread")
     public String createTweetFromArticle(
@@ -199,37 +214,39 @@ public class ConfigurationCommand {
     
     @ShellMethod(key = "list-articles", value = "List articles from Medium user (default: dillondoa)")
     public String listUserArticles(@ShellOption(value = "--username", defaultValue = "dillondoa") String username) {
+        // Print each article as soon as its details arrive instead of after the whole listing
+        AtomicInteger count = new AtomicInteger();
         try {
             log.info("Listing articles for user: {}", username);
             
-            List<ArticleSummary> articles = mediumApiService.getUserArticlesByUsername(username);
-            
-            if (articles.isEmpty()) {
+            mediumApiService.streamUserArticlesByUsername(username)
+                    .doOnNext(article -> {
+                        // Header with the first article, so an empty listing prints only the notice
+                        if (count.get() == 0) {
+                            terminal.writer().println(String.format("📚 Articles by @%s", username));
+                            terminal.writer().println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+                        } else {
+                            terminal.writer().println();
+                        }
+                        terminal.writer().println(String.format("%d. %s", count.incrementAndGet(), article.getTitle()));
+                        terminal.writer().println(String.format("   📅 Published: %s", article.getPublishedAt()));
+                        terminal.writer().println(String.format("   📖 Reading time: %d min", article.getReadingTime()));
+                        terminal.writer().println(String.format("   👏 Claps: %d", article.getClaps()));
+                        terminal.writer().println(String.format("   🆔 ID: %s", article.getId()));
+                        terminal.flush();
+                    })
+                    .blockLast();
+            
+            if (count.get() == 0) {
                 return "❌ No articles found for user: " + username;
             }
             
-            StringBuilder output = new StringBuilder();
-            output.append(String.format("📚 Articles by @%s\n", username));
-            output.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
-            
-            for (int i = 0; i < articles.size(); i++) {
-                ArticleSummary article = articles.get(i);
-                output.append(String.format("%d. %s\n", i + 1, article.getTitle()));
-                output.append(String.format("   📅 Published: %s\n", article.getPublishedAt()));
-                output.append(String.format("   📖 Reading time: %d min\n", article.getReadingTime()));
-                output.append(String.format("   👏 Claps: %d\n", article.getClaps()));
-                output.append(String.format("   🆔 ID: %s\n", article.getId()));
-                if (i < articles.size() - 1) {
-                    output.append("\n");
-                }
-            }
-            
-            output.append("\n💡 Use 'create-thread-from-id --article-id [ID]' to create a tweet thread");
-            return output.toString();
+            return "\n💡 Use 'create-thread-from-id --article-id [ID]' to create a tweet thread";
             
         } catch (Exception e) {
             log.error("Error listing articles for user {}: {}", username, e.getMessage(), e);
-            return "❌ Error listing articles: " + e.getMessage();
+            // Set apart from any articles already printed, like the tip
+            return (count.get() > 0 ? "\n" : "") + "❌ Error listing articles: " + e.getMessage();
         }
     }
     
@@ -276,7 +293,8 @@ public class ConfigurationCommand {
     public String createSmartThread(
             @ShellOption(value = "--article-id", help = "Medium article ID", defaultValue = "") String articleId,
             @ShellOption(value = "--url", help = "Medium article URL", defaultValue = "") String url,
-            @ShellOption(value = "--preview", help = "Preview before finalizing", defaultValue = "false") boolean preview) {
+            @ShellOption(value = "--preview", help = "Preview before finalizing", defaultValue = "false") boolean preview,
+            @ShellOption(value = "--stream", help = "Print tweets as they are generated", defaultValue = "false") boolean stream) {
         
         try {
             Article article;
@@ -296,6 +314,10 @@ public class ConfigurationCommand {
                        """;
             }
             
+            if (stream) {
+                return streamThread(article);
+            }
+            
             // Generate AI-powered tweet thread
             TweetThread tweetThread = article2TweetAgent.createTwitterThread(article);
             
@@ -311,6 +333,61 @@ public class ConfigurationCommand {
         }
     }
     
+    @ShellMethod(key = "batch-threads", value = "Generate threads for many articles offline via the OpenAI Batch API")
+    public String batchThreads(
+            @ShellOption(value = "--article-ids", help = "Comma-separated Medium article IDs") String articleIds,
+            @ShellOption(value = "--work-dir", help = "Directory for batch input/output files", defaultValue = "batch-output") String workDir) {
+        try {
+            List<String> ids = Arrays.stream(articleIds.split(","))
+                    .map(String::trim)
+                    .filter(id -> !id.isEmpty())
+                    .toList();
+            List<Article> articles = fetchArticles(ids);
+            if (articles.isEmpty()) {
+                return "❌ Please provide at least one article ID, e.g. batch-threads --article-ids id1,id2";
+            }
+
+            List<TweetThread> threads = batchThreadPipeline.generateThreads(articles, Path.of(workDir));
+
+            StringBuilder output = new StringBuilder();
+            output.append(String.format("🏭 Batch generated %d threads\n", threads.size()));
+            output.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
+            for (int i = 0; i < threads.size(); i++) {
+                output.append(formatFinalThread(threads.get(i), articles.get(i))).append("\n");
+            }
+            return output.toString();
+
+        } catch (Exception e) {
+            log.error("Error running batch thread generation: {}", e.getMessage(), e);
+            return "❌ Error running batch: " + e.getMessage();
+        }
+    }
+    
+    /**
+     * One virtual thread per article when virtual threads are enabled, otherwise one at a time
+     */
+    private List<Article> fetchArticles(List<String> articleIds) throws Exception {
+        if (!virtualThreads) {
+            List<Article> articles = new ArrayList<>();
+            for (String articleId : articleIds) {
+                articles.add(mediumApiService.getFullArticleContent(articleId));
+            }
+            return articles;
+        }
+        
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Article>> fetches = new ArrayList<>();
+            for (String articleId : articleIds) {
+                fetches.add(executor.submit(() -> mediumApiService.getFullArticleContent(articleId)));
+            }
+            List<Article> articles = new ArrayList<>();
+            for (Future<Article> fetch : fetches) {
+                articles.add(fetch.get());
+            }
+            return articles;
+        }
+    }
+    
     @ShellMethod(key = "preview-thread", value = "Preview AI-generated thread before finalizing")
     public String previewThread(@ShellOption(value = "--article-id", help = "Medium article ID") String articleId) {
         try {
@@ -503,6 +580,30 @@ public class ConfigurationCommand {
         }
     }
 
+    private String streamThread(Article article) {
+        terminal.writer().println("📡 STREAMING AI-POWERED THREAD");
+        terminal.writer().println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        terminal.writer().println(String.format("📄 Article: %s", article.getTitle()));
+        terminal.writer().println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        terminal.flush();
+        
+        // Print each tweet the moment it is complete instead of waiting for the whole thread
+        List<Tweet> tweets = article2TweetAgent.streamTwitterThread(article)
+                .doOnNext(tweet -> {
+                    terminal.writer().println();
+                    terminal.writer().println(String.format("📋 TWEET %d:", tweet.getOrder()));
+                    terminal.writer().println("───────────────────────────────────────");
+                    terminal.writer().println(tweet.getContent());
+                    terminal.writer().println("───────────────────────────────────────");
+                    terminal.writer().println(String.format("✅ %d characters • Ready to post", tweet.getCharacterCount()));
+                    terminal.flush();
+                })
+                .collectList()
+                .block();
+        
+        return String.format("\n🚀 Streamed %d tweets! Copy each tweet and post as a thread on Twitter/X", tweets.size());
+    }
+    
     private String formatThreadPreview(TweetThread tweetThread, Article article) {
         StringBuilder output = new StringBuilder();
         output.append("🔍 THREAD PREVIEW - AI-Generated\n");
@@ -0,0 +1,70 @@
+package article2tweet.com.article2tweet.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Opens connections to the Medium API host in the background once the app is up, so the
+ * first list-articles doesn't pay DNS, TCP and TLS setup. Warmup requests are HEAD / on the
+ * host, not API endpoints, and failures are only logged.
+ */
+@Component
+@Slf4j
+public class MediumClientWarmup {
+
+    private final WebClient mediumWebClient;
+    private final String apiKey;
+    private final boolean enabled;
+    private final int connections;
+    private final Duration timeout;
+
+    public MediumClientWarmup(@Qualifier("mediumWebClient") WebClient mediumWebClient,
+                              @Value("${medium.api.key:}") String apiKey,
+                              @Value("${medium.http.warmup.enabled:false}") boolean enabled,
+                              @Value("${medium.http.warmup.connections:2}") int connections,
+                              @Value("${medium.http.warmup.timeout:PT10S}") Duration timeout) {
+        this.mediumWebClient = mediumWebClient;
+        this.apiKey = apiKey;
+        this.enabled = enabled;
+        this.connections = connections;
+        this.timeout = timeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        // Without a key every Medium call is served from mock data, so there is nothing to warm
+        if (!enabled || apiKey == null || apiKey.isEmpty() || connections <= 0) {
+            return;
+        }
+        warmup().subscribe();
+    }
+
+    /**
+     * Concurrent requests so the pool ends up holding that many live connections
+     */
+    Mono<Long> warmup() {
+        long started = System.nanoTime();
+        return Flux.range(0, connections)
+                .flatMap(i -> mediumWebClient.head()
+                        .uri("/")
+                        .exchangeToMono(response -> response.releaseBody().thenReturn(1L))
+                        .timeout(timeout)
+                        .onErrorResume(e -> {
+                            log.debug("Medium warmup request failed: {}", e.getMessage());
+                            return Mono.just(0L);
+                        }))
+                .reduce(0L, Long::sum)
+                .doOnNext(opened -> log.info("🔥 Warmed {}/{} Medium API connections in {} ms", opened, connections,
+                        Duration.ofNanos(System.nanoTime() - started).toMillis()));
+    }
+}
@@ -0,0 +1,35 @@
+package article2tweet.com.article2tweet.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import article2tweet.com.article2tweet.service.OpenAIStubServer;
+import article2tweet.com.article2tweet.service.OpenAIStubServer.LatencyDistribution;
+
+/**
+ * Starts the OpenAI stub server inside the app for offline end-to-end runs; set
+ * openai.base-url=http://localhost:${openai.stub.port}/v1 to send completions to it
+ */
+@Configuration
+@ConditionalOnProperty(name = "openai.stub.enabled", havingValue = "true")
+public class OpenAIStubServerConfig {
+
+    @Bean(destroyMethod = "stop")
+    public OpenAIStubServer openAIStubServer(@Value("${openai.stub.port:8089}") int port,
+                                             @Value("${openai.stub.latency:lognormal:PT0.4S,PT2S}") String latency,
+                                             @Value("${openai.stub.per-output-token:PT0.01S}") Duration perOutputToken,
+                                             @Value("${openai.stub.rate-limit-rate:0}") double rateLimitRate,
+                                             @Value("${openai.stub.retry-after:PT1S}") Duration retryAfter,
+                                             @Value("${openai.stub.server-error-rate:0}") double serverErrorRate) {
+        OpenAIStubServer.Options options = OpenAIStubServer.Options.defaults()
+                .withPort(port)
+                .withLatency(LatencyDistribution.parse(latency), perOutputToken)
+                .withRateLimitRate(rateLimitRate, retryAfter)
+                .withServerErrorRate(serverErrorRate);
+        return new OpenAIStubServer(options).start();
+    }
+}
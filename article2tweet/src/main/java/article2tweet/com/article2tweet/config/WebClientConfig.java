@@ -1,22 +1,183 @@
 package article2tweet.com.article2tweet.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
 @Configuration
 public class WebClientConfig {
-    
+
     @Value("${medium.api.key:}")
     private String mediumApiKey;
-    
+
+    @Value("${medium.base-url:https://medium2.p.rapidapi.com}")
+    private String mediumBaseUrl;
+
+    @Value("${medium.api.host:medium2.p.rapidapi.com}")
+    private String mediumApiHost;
+
+    @Value("${medium.http.max-connections:20}")
+    private int mediumMaxConnections;
+
+    @Value("${medium.http.pending-acquire-timeout:PT10S}")
+    private Duration mediumPendingAcquireTimeout;
+
+    @Value("${medium.http.max-idle-time:PT60S}")
+    private Duration mediumMaxIdleTime;
+
+    @Value("${medium.http.max-life-time:PT10M}")
+    private Duration mediumMaxLifeTime;
+
+    @Value("${openai.api.key:}")
+    private String openaiApiKey;
+
+    @Value("${openai.base-url:https://api.openai.com/v1}")
+    private String openaiBaseUrl;
+
+    @Value("${openai.http.max-connections:50}")
+    private int openaiMaxConnections;
+
+    @Value("${openai.http.pending-acquire-max-count:500}")
+    private int openaiPendingAcquireMaxCount;
+
+    @Value("${openai.http.pending-acquire-timeout:PT30S}")
+    private Duration openaiPendingAcquireTimeout;
+
+    @Value("${openai.http.max-idle-time:PT30S}")
+    private Duration openaiMaxIdleTime;
+
+    @Value("${openai.http.max-life-time:PT5M}")
+    private Duration openaiMaxLifeTime;
+
+    @Value("${openai.http.evict-in-background:PT30S}")
+    private Duration openaiEvictInBackground;
+
+    @Value("${openai.http.http2-enabled:true}")
+    private boolean openaiHttp2Enabled;
+
+    @Value("${openai.http.connect-timeout:PT5S}")
+    private Duration openaiConnectTimeout;
+
+    @Value("${openai.http.response-timeout:PT45S}")
+    private Duration openaiResponseTimeout;
+
+    @Value("${anthropic.api.key:}")
+    private String anthropicApiKey;
+
+    @Value("${anthropic.base-url:https://api.anthropic.com/v1}")
+    private String anthropicBaseUrl;
+
+    @Value("${anthropic.version:2023-06-01}")
+    private String anthropicVersion;
+
+    @Value("${medium.http.connect-timeout:PT5S}")
+    private Duration mediumConnectTimeout;
+
+    @Value("${medium.http.response-timeout:PT15S}")
+    private Duration mediumResponseTimeout;
+
+    /**
+     * Pooled connections to the RapidAPI Medium2 host, shared by every MediumApiService call.
+     * Pool gauges are published under reactor.netty.connection.provider.* with name=medium
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider mediumConnectionProvider() {
+        return ConnectionProvider.builder("medium")
+                .maxConnections(mediumMaxConnections)
+                .pendingAcquireTimeout(mediumPendingAcquireTimeout)
+                .maxIdleTime(mediumMaxIdleTime)
+                .maxLifeTime(mediumMaxLifeTime)
+                .evictInBackground(mediumMaxIdleTime)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient mediumWebClient(@Qualifier("mediumConnectionProvider") ConnectionProvider connectionProvider) {
+        HttpClient httpClient = withTimeouts(HttpClient.create(connectionProvider), mediumConnectTimeout,
+                mediumResponseTimeout)
+                .keepAlive(true);
+
+        return WebClient.builder()
+                .baseUrl(mediumBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader("Content-Type", "application/json")
+                .defaultHeader("Accept", "application/json")
+                .defaultHeader("x-rapidapi-key", mediumApiKey)
+                .defaultHeader("x-rapidapi-host", mediumApiHost)
+                .build();
+    }
+
+    /**
+     * Long-lived connection pool for OpenAI calls so TLS sessions are reused across tweets.
+     * Pool gauges (active, idle, pending) are published under reactor.netty.connection.provider.*
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider openAIConnectionProvider() {
+        return ConnectionProvider.builder("openai")
+                .maxConnections(openaiMaxConnections)
+                .pendingAcquireMaxCount(openaiPendingAcquireMaxCount)
+                .pendingAcquireTimeout(openaiPendingAcquireTimeout)
+                .maxIdleTime(openaiMaxIdleTime)
+                .maxLifeTime(openaiMaxLifeTime)
+                .evictInBackground(openaiEvictInBackground)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient openAIWebClient(@Qualifier("openAIConnectionProvider") ConnectionProvider connectionProvider) {
+        HttpClient httpClient = withTimeouts(HttpClient.create(connectionProvider), openaiConnectTimeout,
+                openaiResponseTimeout)
+                .keepAlive(true);
+
+        // HTTP/2 is negotiated via ALPN, so plain HTTP/1.1 endpoints keep working
+        if (openaiHttp2Enabled && openaiBaseUrl.startsWith("https")) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        return WebClient.builder()
+                .baseUrl(openaiBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader("Authorization", "Bearer " + openaiApiKey)
+                .defaultHeader("Content-Type", "application/json")
+                .build();
+    }
+
+    /**
+     * Anthropic Messages API; same timeouts as OpenAI so failover decisions compare like with like
+     */
     @Bean
-    public WebClient mediumWebClient() {
+    public WebClient anthropicWebClient() {
+        HttpClient httpClient = withTimeouts(HttpClient.create(), openaiConnectTimeout, openaiResponseTimeout)
+                .keepAlive(true);
+
         return WebClient.builder()
-                .baseUrl("https://api.mediumapi.com/v1")
-                .defaultHeader("X-RapidAPI-Key", mediumApiKey)
-                .defaultHeader("X-RapidAPI-Host", "medium2.p.rapidapi.com")
+                .baseUrl(anthropicBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader("x-api-key", anthropicApiKey)
+                .defaultHeader("anthropic-version", anthropicVersion)
+                .defaultHeader("Content-Type", "application/json")
                 .build();
     }
+
+    /**
+     * Connect timeout plus response timeout; the latter is the longest allowed gap between
+     * reads of a response, so slow-but-alive streams are not cut off
+     */
+    public static HttpClient withTimeouts(HttpClient httpClient, Duration connectTimeout, Duration responseTimeout) {
+        return httpClient
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+    }
 }
@@ -2,6 +2,8 @@ package article2tweet.com.article2tweet.controller;
 
 import java.util.List;
 
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -11,10 +13,13 @@ import article2tweet.com.article2tweet.agent.Article2TweetAgent;
 import article2tweet.com.article2tweet.domain.Article;
 import article2tweet.com.article2tweet.domain.ArticleSummary;
 import article2tweet.com.article2tweet.domain.MediumUser;
+import article2tweet.com.article2tweet.domain.Tweet;
 import article2tweet.com.article2tweet.domain.TweetThread;
 import article2tweet.com.article2tweet.service.MediumApiService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * REST controller for testing Medium API integration and AI-powered tweet generation
@@ -29,15 +34,24 @@ public class TestController {
     private final Article2TweetAgent article2TweetAgent;
     
     @GetMapping("/user/{username}")
-    public MediumUser getUser(@PathVariable String username) {
+    public Mono<MediumUser> getUser(@PathVariable String username) {
         log.info("Testing user lookup for: {}", username);
-        return mediumApiService.getUserByUsername(username);
+        return mediumApiService.getUserByUsernameReactive(username);
     }
     
     @GetMapping("/user/{username}/articles")
-    public List<ArticleSummary> getUserArticles(@PathVariable String username) {
+    public Mono<List<ArticleSummary>> getUserArticles(@PathVariable String username) {
         log.info("Testing article fetch for user: {}", username);
-        return mediumApiService.getUserArticlesByUsername(username);
+        return mediumApiService.getUserArticlesByUsernameReactive(username);
+    }
+    
+    /**
+     * Article summaries as server-sent events, each one as soon as its details are fetched
+     */
+    @GetMapping(value = "/user/{username}/articles/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ArticleSummary> streamUserArticles(@PathVariable String username) {
+        log.info("Streaming article fetch for user: {}", username);
+        return mediumApiService.streamUserArticlesByUsername(username);
     }
     
     @GetMapping("/status")
@@ -46,18 +60,28 @@ public class TestController {
     }
     
     @GetMapping("/ai-thread/{articleId}")
-    public TweetThread createAIThread(@PathVariable String articleId) {
+    public Mono<TweetThread> createAIThread(@PathVariable String articleId) {
         log.info("Testing AI-powered thread creation for article: {}", articleId);
         
-        // Get full article content
-        Article article = mediumApiService.getFullArticleContent(articleId);
+        // Fetch the article, then generate the thread without holding a request thread
+        return mediumApiService.getFullArticleContentReactive(articleId)
+                .flatMap(article2TweetAgent::createTwitterThreadReactive);
+    }
+    
+    @GetMapping(value = "/ai-thread/{articleId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Tweet>> streamAIThread(@PathVariable String articleId) {
+        log.info("Streaming AI-powered thread creation for article: {}", articleId);
         
-        // Generate AI-powered tweet thread
-        return article2TweetAgent.createTwitterThread(article);
+        return mediumApiService.getFullArticleContentReactive(articleId)
+                .flatMapMany(article2TweetAgent::streamTwitterThread)
+                .map(tweet -> ServerSentEvent.builder(tweet)
+                        .id(String.valueOf(tweet.getOrder()))
+                        .event("tweet")
+                        .build());
     }
     
     @GetMapping("/quick-test")
-    public TweetThread quickAITest() {
+    public Mono<TweetThread> quickAITest() {
         log.info("Quick AI test with sample article");
         
         // Create a test article with dillondoa's style content
@@ -78,6 +102,6 @@ public class TestController {
         );
         testArticle.setAuthor("Dillon Ansah");
         
-        return article2TweetAgent.createTwitterThread(testArticle);
+        return article2TweetAgent.createTwitterThreadReactive(testArticle);
     }
 }
@@ -18,7 +18,7 @@ public class Tweet {
     public Tweet(int order, String content) {
         this.order = order;
         this.content = content;
-        this.characterCount = content.length();
+        this.characterCount = TweetLength.weightedLength(content);
         this.hasHashtags = content.contains("#");
     }
 }
\ No newline at end of file
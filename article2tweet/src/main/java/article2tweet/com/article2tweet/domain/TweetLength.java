@@ -0,0 +1,239 @@
+package article2tweet.com.article2tweet.domain;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+/**
+ * Tweet length as X counts it (twitter-text v3 weighting): most Latin, Greek, Cyrillic,
+ * Hebrew, Arabic etc. code points weigh 1, everything else (CJK, emoji, ...) weighs 2,
+ * an emoji sequence (ZWJ, skin tone, variation selector, flag pair, keycap) counts once, and
+ * every http(s):// or www. link counts as 23 regardless of its length. Text is counted in
+ * NFC, as X does, so a decomposed "e" + combining accent weighs the same as "é".
+ * Scanning works on the CharSequence in place and only allocates to normalize text not
+ * already in NFC.
+ */
+public final class TweetLength {
+
+    public static final int MAX_WEIGHTED_LENGTH = 280;
+    public static final int URL_WEIGHT = 23;
+
+    private static final String ELLIPSIS = "...";
+    private static final int ELLIPSIS_WEIGHT = 3;
+
+    // Weight per BMP code point; supplementary code points are looked up in supplementaryWeight
+    private static final byte[] BMP_WEIGHTS = new byte[0x10000];
+
+    static {
+        Arrays.fill(BMP_WEIGHTS, (byte) 2);
+        fill(0x0000, 0x10FF, 1);  // Latin through Georgian
+        fill(0x2000, 0x200D, 1);  // spaces, zero-width characters
+        fill(0x2010, 0x201F, 1);  // dashes and quotation marks
+        fill(0x2032, 0x2037, 1);  // primes
+        // Parts of emoji sequences that never count on their own
+        BMP_WEIGHTS[0x200D] = 0;  // zero width joiner
+        BMP_WEIGHTS[0x20E3] = 0;  // combining enclosing keycap
+        BMP_WEIGHTS[0xFE0E] = 0;  // text variation selector
+        BMP_WEIGHTS[0xFE0F] = 0;  // emoji variation selector
+    }
+
+    private TweetLength() {
+    }
+
+    public static int weightedLength(CharSequence text) {
+        return text == null ? 0 : (int) scan(nfc(text), Integer.MAX_VALUE);
+    }
+
+    public static boolean isValid(CharSequence text) {
+        return text != null && weightedLength(text) <= MAX_WEIGHTED_LENGTH;
+    }
+
+    /**
+     * Largest char index such that text[0, index) weighs at most maxWeightedLength; never
+     * splits a surrogate pair, an emoji sequence or a link. Indexes text as given, so text
+     * not in NFC may be cut shorter than needed, never longer.
+     */
+    public static int truncationIndex(CharSequence text, int maxWeightedLength) {
+        return (int) (scan(text, maxWeightedLength) >>> 32);
+    }
+
+    /**
+     * Shorten text to fit maxWeightedLength, preferring the last sentence end, then the
+     * last word boundary (with an ellipsis), and never cutting inside a link. Text that
+     * needs shortening comes back in NFC.
+     */
+    public static String truncate(String text, int maxWeightedLength) {
+        if (weightedLength(text) <= maxWeightedLength) {
+            return text;
+        }
+        text = nfc(text).toString();
+
+        int fit = truncationIndex(text, Math.max(0, maxWeightedLength - ELLIPSIS_WEIGHT));
+
+        for (int i = fit - 1; i > fit / 2; i--) {
+            if (text.charAt(i) == '.' && !isInsideUrl(text, i)) {
+                return text.substring(0, i + 1);
+            }
+        }
+
+        for (int i = fit - 1; i > 0; i--) {
+            if (text.charAt(i) == ' ') {
+                return text.substring(0, i) + ELLIPSIS;
+            }
+        }
+
+        return text.substring(0, fit) + ELLIPSIS;
+    }
+
+    /**
+     * Walk text until the weight would exceed limit; returns (stop index << 32) | weight
+     */
+    private static long scan(CharSequence text, int limit) {
+        int length = text.length();
+        int weight = 0;
+        int i = 0;
+        boolean joinNext = false;
+        boolean pendingFlag = false;
+
+        while (i < length) {
+            int end = urlEnd(text, i);
+            int unitWeight;
+            if (end > i) {
+                unitWeight = URL_WEIGHT;
+                joinNext = false;
+                pendingFlag = false;
+            } else {
+                int codePoint = Character.codePointAt(text, i);
+                end = i + Character.charCount(codePoint);
+                if (joinNext) {
+                    // Code point glued to the previous emoji by a ZWJ
+                    unitWeight = 0;
+                    joinNext = false;
+                } else if (keycapEnd(text, i) > i) {
+                    // Digit, # or * with the enclosing keycap is one emoji
+                    end = keycapEnd(text, i);
+                    unitWeight = 2;
+                    pendingFlag = false;
+                } else if (isRegionalIndicator(codePoint)) {
+                    // Two regional indicators form one flag
+                    unitWeight = pendingFlag ? 0 : 2;
+                    pendingFlag = !pendingFlag;
+                } else {
+                    unitWeight = codePoint < 0x10000 ? BMP_WEIGHTS[codePoint] : supplementaryWeight(codePoint);
+                    pendingFlag = false;
+                }
+                if (codePoint == 0x200D) {
+                    joinNext = true;
+                }
+            }
+
+            if (weight + unitWeight > limit) {
+                break;
+            }
+            weight += unitWeight;
+            i = end;
+        }
+
+        return ((long) i << 32) | weight;
+    }
+
+    private static int supplementaryWeight(int codePoint) {
+        if (codePoint >= 0x1F3FB && codePoint <= 0x1F3FF) {
+            return 0; // skin tone modifiers
+        }
+        if (codePoint >= 0xE0020 && codePoint <= 0xE007F) {
+            return 0; // tag sequences (subdivision flags)
+        }
+        return 2;
+    }
+
+    /**
+     * End of the keycap sequence ([0-9#*], optional U+FE0F, U+20E3) starting at index, or
+     * index itself if none starts there
+     */
+    private static int keycapEnd(CharSequence text, int index) {
+        char base = text.charAt(index);
+        if (!(base >= '0' && base <= '9') && base != '#' && base != '*') {
+            return index;
+        }
+        int next = index + 1;
+        if (next < text.length() && text.charAt(next) == '\uFE0F') {
+            next++;
+        }
+        return next < text.length() && text.charAt(next) == '\u20E3' ? next + 1 : index;
+    }
+
+    private static CharSequence nfc(CharSequence text) {
+        return Normalizer.isNormalized(text, Normalizer.Form.NFC) ? text : Normalizer.normalize(text, Normalizer.Form.NFC);
+    }
+
+    private static boolean isRegionalIndicator(int codePoint) {
+        return codePoint >= 0x1F1E6 && codePoint <= 0x1F1FF;
+    }
+
+    /**
+     * End of the link starting at index, or index itself if no link starts there
+     */
+    private static int urlEnd(CharSequence text, int index) {
+        // Cheap rejection first: this runs at every position of the scan
+        char first = text.charAt(index);
+        if (first != 'h' && first != 'H' && first != 'w' && first != 'W') {
+            return index;
+        }
+        if (index > 0 && Character.isLetterOrDigit(text.charAt(index - 1))) {
+            return index;
+        }
+        int prefix = startsWithIgnoreCase(text, index, "https://") ? 8
+                : startsWithIgnoreCase(text, index, "http://") ? 7
+                : startsWithIgnoreCase(text, index, "www.") ? 4
+                : 0;
+        if (prefix == 0 || index + prefix >= text.length() || isUrlTerminator(text.charAt(index + prefix))) {
+            return index;
+        }
+
+        int end = index + prefix;
+        while (end < text.length() && !Character.isWhitespace(text.charAt(end))) {
+            end++;
+        }
+        // Punctuation right after a link is part of the sentence, not the link
+        while (end > index + prefix && isTrailingPunctuation(text.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isInsideUrl(CharSequence text, int index) {
+        for (int start = index; start >= 0 && !Character.isWhitespace(text.charAt(start)); start--) {
+            if (urlEnd(text, start) > index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWithIgnoreCase(CharSequence text, int index, String prefix) {
+        if (index + prefix.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (Character.toLowerCase(text.charAt(index + i)) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUrlTerminator(char c) {
+        return Character.isWhitespace(c) || isTrailingPunctuation(c);
+    }
+
+    private static boolean isTrailingPunctuation(char c) {
+        return c == '.' || c == ',' || c == ';' || c == ':' || c == '!' || c == '?'
+                || c == ')' || c == ']' || c == '"' || c == '\'';
+    }
+
+    private static void fill(int from, int to, int weight) {
+        for (int codePoint = from; codePoint <= to; codePoint++) {
+            BMP_WEIGHTS[codePoint] = (byte) weight;
+        }
+    }
+}
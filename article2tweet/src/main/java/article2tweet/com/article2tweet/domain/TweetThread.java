@@ -37,6 +37,6 @@ public class TweetThread {
     
     public boolean isValidThread() {
         return tweets != null && !tweets.isEmpty() && 
-               tweets.stream().allMatch(tweet -> tweet.getContent().length() <= 280);
+               tweets.stream().allMatch(tweet -> TweetLength.isValid(tweet.getContent()));
     }
 }
@@ -0,0 +1,181 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import article2tweet.com.article2tweet.service.ChatCompletionResponse.Message;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Anthropic Messages API (or a compatible server at anthropic.base-url). OpenAI model names
+ * are mapped through anthropic.models, and the responses are converted to the chat
+ * completion shape the rest of the pipeline reads.
+ */
+@Component
+@Slf4j
+public class AnthropicProvider implements LlmProvider {
+
+    private static final Map<String, Object> EPHEMERAL_CACHE = Map.of("type", "ephemeral");
+
+    private final WebClient anthropicWebClient;
+    private final String apiKey;
+    private final String defaultModel;
+    private final Map<String, String> modelMapping;
+
+    public AnthropicProvider(@Qualifier("anthropicWebClient") WebClient anthropicWebClient,
+                             @Value("${anthropic.api.key:}") String apiKey,
+                             @Value("${anthropic.default-model:claude-haiku-4-5}") String defaultModel,
+                             @Value("${anthropic.models:}") String modelMapping) {
+        this.anthropicWebClient = anthropicWebClient;
+        this.apiKey = apiKey;
+        this.defaultModel = defaultModel;
+        this.modelMapping = parseModelMapping(modelMapping);
+    }
+
+    @Override
+    public String name() {
+        return "anthropic";
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return apiKey != null && !apiKey.isEmpty();
+    }
+
+    @Override
+    public Mono<ChatCompletionResponse> complete(ChatRequest request) {
+        String model = modelMapping.getOrDefault(request.model(), defaultModel);
+        log.info("📡 Sending request to Anthropic API endpoint: /messages (model: {})", model);
+
+        return anthropicWebClient
+                .post()
+                .uri("/messages")
+                .bodyValue(toMessagesBody(request, model))
+                .retrieve()
+                .onStatus(status -> status.value() == 429,
+                    clientResponse -> clientResponse.bodyToMono(String.class)
+                        .defaultIfEmpty("")
+                        .map(body -> new RateLimitedException("Anthropic API rate limit exceeded - " + body,
+                                retryAfter(clientResponse.headers().asHttpHeaders()))))
+                .onStatus(status -> status.isError(),
+                    clientResponse -> clientResponse.bodyToMono(String.class)
+                        .defaultIfEmpty("")
+                        .map(body -> {
+                            log.error("❌ Anthropic API error: {} - {}", clientResponse.statusCode(), body);
+                            return new RuntimeException("Anthropic API error: " + clientResponse.statusCode() + " - " + body);
+                        }))
+                .bodyToMono(MessagesResponse.class)
+                .map(this::toChatCompletion);
+    }
+
+    /**
+     * System messages become the system prompt; the stable blocks (system and every message but
+     * the last) are marked as cache breakpoints so the shared article prefix is reused
+     */
+    Map<String, Object> toMessagesBody(ChatRequest request, String model) {
+        List<Map<String, Object>> system = new ArrayList<>();
+        List<Map<String, Object>> userBlocks = new ArrayList<>();
+        List<Message> messages = request.messages();
+
+        for (int i = 0; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            Map<String, Object> block = new HashMap<>();
+            block.put("type", "text");
+            block.put("text", message.content());
+            if (i < messages.size() - 1) {
+                block.put("cache_control", EPHEMERAL_CACHE);
+            }
+            ("system".equals(message.role()) ? system : userBlocks).add(block);
+        }
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", model);
+        body.put("max_tokens", request.maxTokens());
+        // Anthropic accepts 0-1 where OpenAI accepts 0-2
+        body.put("temperature", Math.min(1.0, request.temperature()));
+        if (!system.isEmpty()) {
+            body.put("system", system);
+        }
+        body.put("messages", List.of(Map.of("role", "user", "content", userBlocks)));
+        return body;
+    }
+
+    private ChatCompletionResponse toChatCompletion(MessagesResponse response) {
+        StringBuilder text = new StringBuilder();
+        if (response.content() != null) {
+            response.content().stream()
+                    .filter(block -> "text".equals(block.type()) && block.text() != null)
+                    .forEach(block -> text.append(block.text()));
+        }
+
+        ChatCompletionResponse.Usage usage = null;
+        if (response.usage() != null) {
+            AnthropicUsage anthropicUsage = response.usage();
+            // input_tokens excludes cached reads and writes; OpenAI's prompt_tokens includes them
+            int promptTokens = anthropicUsage.inputTokens() + anthropicUsage.cacheReadInputTokens()
+                    + anthropicUsage.cacheCreationInputTokens();
+            usage = new ChatCompletionResponse.Usage(promptTokens, anthropicUsage.outputTokens(),
+                    promptTokens + anthropicUsage.outputTokens(),
+                    new ChatCompletionResponse.PromptTokensDetails(anthropicUsage.cacheReadInputTokens()));
+        }
+
+        return new ChatCompletionResponse(response.model(),
+                List.of(new ChatCompletionResponse.Choice(0, new Message("assistant", text.toString()), response.stopReason())),
+                usage, null);
+    }
+
+    private static Duration retryAfter(HttpHeaders headers) {
+        try {
+            String seconds = headers.getFirst(HttpHeaders.RETRY_AFTER);
+            return seconds == null ? Duration.ofSeconds(1) : Duration.ofSeconds(Long.parseLong(seconds.trim()));
+        } catch (NumberFormatException e) {
+            return Duration.ofSeconds(1);
+        }
+    }
+
+    /**
+     * "gpt-4o=claude-sonnet-4-5,gpt-4o-mini=claude-haiku-4-5"
+     */
+    static Map<String, String> parseModelMapping(String mapping) {
+        Map<String, String> models = new HashMap<>();
+        if (mapping == null || mapping.isBlank()) {
+            return models;
+        }
+        for (String pair : mapping.split(",")) {
+            String[] parts = pair.split("=", 2);
+            if (parts.length == 2 && !parts[0].isBlank() && !parts[1].isBlank()) {
+                models.put(parts[0].trim(), parts[1].trim());
+            }
+        }
+        return models;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record MessagesResponse(String model, List<ContentBlock> content,
+                            @JsonProperty("stop_reason") String stopReason, AnthropicUsage usage) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ContentBlock(String type, String text) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record AnthropicUsage(@JsonProperty("input_tokens") int inputTokens,
+                          @JsonProperty("output_tokens") int outputTokens,
+                          @JsonProperty("cache_read_input_tokens") int cacheReadInputTokens,
+                          @JsonProperty("cache_creation_input_tokens") int cacheCreationInputTokens) {
+    }
+}
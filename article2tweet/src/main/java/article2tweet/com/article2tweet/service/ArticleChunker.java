@@ -0,0 +1,125 @@
+package article2tweet.com.article2tweet.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits long article content into token-budgeted chunks at paragraph boundaries
+ */
+public final class ArticleChunker {
+
+    // Rough English average for OpenAI tokenizers; good enough for budgeting
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private ArticleChunker() {
+    }
+
+    public static int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    /**
+     * Pack whole paragraphs into chunks of at most maxTokensPerChunk; a paragraph that is
+     * too big on its own is split at sentence boundaries (or hard-split as a last resort)
+     */
+    public static List<String> chunk(String content, int maxTokensPerChunk) {
+        List<String> chunks = new ArrayList<>();
+        if (content == null || content.isBlank()) {
+            return chunks;
+        }
+
+        int maxChars = Math.max(1, maxTokensPerChunk) * CHARS_PER_TOKEN;
+        StringBuilder current = new StringBuilder();
+
+        for (String paragraph : content.split("\\n\\s*\\n")) {
+            paragraph = paragraph.trim();
+            if (paragraph.isEmpty()) {
+                continue;
+            }
+
+            for (String piece : splitOversized(paragraph, maxChars)) {
+                if (current.length() > 0 && current.length() + 2 + piece.length() > maxChars) {
+                    chunks.add(current.toString());
+                    current.setLength(0);
+                }
+                if (current.length() > 0) {
+                    current.append("\n\n");
+                }
+                current.append(piece);
+            }
+        }
+
+        if (current.length() > 0) {
+            chunks.add(current.toString());
+        }
+        return chunks;
+    }
+
+    /**
+     * Content cut down to about maxTokens while still covering the whole article: the opening
+     * of each chunk, in order, each ending at a sentence boundary where possible. Deterministic,
+     * so prompts built from it keep a cacheable prefix. Content within budget is returned as is.
+     */
+    public static String condense(String content, int maxTokens) {
+        if (content == null || estimateTokens(content) <= maxTokens) {
+            return content;
+        }
+
+        List<String> chunks = chunk(content, maxTokens);
+        // Leave room for the " …" marker and the blank line between excerpts
+        int allowanceChars = Math.max(1, maxTokens * CHARS_PER_TOKEN / chunks.size() - 4);
+        List<String> excerpts = new ArrayList<>();
+        for (String chunk : chunks) {
+            excerpts.add(excerpt(chunk, allowanceChars));
+        }
+        return String.join("\n\n", excerpts);
+    }
+
+    private static String excerpt(String chunk, int maxChars) {
+        if (chunk.length() <= maxChars) {
+            return chunk;
+        }
+        maxChars = Math.max(1, maxChars - 2);
+        String window = chunk.substring(0, maxChars);
+        // Prefer ending on a full sentence, unless that would throw away most of the allowance
+        int sentenceEnd = Math.max(window.lastIndexOf(". "), Math.max(window.lastIndexOf("! "), window.lastIndexOf("? ")));
+        if (sentenceEnd >= maxChars / 2) {
+            return window.substring(0, sentenceEnd + 1) + " …";
+        }
+        int wordEnd = window.lastIndexOf(' ');
+        return (wordEnd > 0 ? window.substring(0, wordEnd) : window) + " …";
+    }
+
+    private static List<String> splitOversized(String paragraph, int maxChars) {
+        List<String> pieces = new ArrayList<>();
+        if (paragraph.length() <= maxChars) {
+            pieces.add(paragraph);
+            return pieces;
+        }
+
+        StringBuilder current = new StringBuilder();
+        for (String sentence : paragraph.split("(?<=[.!?])\\s+")) {
+            // A single run-on "sentence" longer than the budget gets hard-split
+            while (sentence.length() > maxChars) {
+                if (current.length() > 0) {
+                    pieces.add(current.toString());
+                    current.setLength(0);
+                }
+                pieces.add(sentence.substring(0, maxChars));
+                sentence = sentence.substring(maxChars);
+            }
+            if (current.length() > 0 && current.length() + 1 + sentence.length() > maxChars) {
+                pieces.add(current.toString());
+                current.setLength(0);
+            }
+            if (current.length() > 0) {
+                current.append(' ');
+            }
+            current.append(sentence);
+        }
+        if (current.length() > 0) {
+            pieces.add(current.toString());
+        }
+        return pieces;
+    }
+}
@@ -0,0 +1,68 @@
+package article2tweet.com.article2tweet.service;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The parts of a /chat/completions response we read. Decoded by Jackson straight from the
+ * response buffers; every other field is skipped by the parser instead of being materialized.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ChatCompletionResponse(String model, List<Choice> choices, Usage usage, Error error) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Choice(int index, Message message, @JsonProperty("finish_reason") String finishReason) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Message(String role, String content) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Usage(@JsonProperty("prompt_tokens") int promptTokens,
+                        @JsonProperty("completion_tokens") int completionTokens,
+                        @JsonProperty("total_tokens") int totalTokens,
+                        @JsonProperty("prompt_tokens_details") PromptTokensDetails promptTokensDetails) {
+
+        /**
+         * Prompt tokens the provider served from its prompt cache (0 when not reported)
+         */
+        public int cachedTokens() {
+            return promptTokensDetails == null ? 0 : promptTokensDetails.cachedTokens();
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record PromptTokensDetails(@JsonProperty("cached_tokens") int cachedTokens) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Error(String message, String type) {
+    }
+
+    /**
+     * Content of the first choice, or null if there is none
+     */
+    public String firstContent() {
+        if (choices == null || choices.isEmpty() || choices.get(0).message() == null) {
+            return null;
+        }
+        return choices.get(0).message().content();
+    }
+
+    /**
+     * Content of every choice, in order; more than one when the request asked for n candidates
+     */
+    public List<String> contents() {
+        if (choices == null) {
+            return List.of();
+        }
+        return choices.stream()
+                .map(choice -> choice.message() == null ? null : choice.message().content())
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
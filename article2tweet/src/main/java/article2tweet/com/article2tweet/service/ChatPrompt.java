@@ -0,0 +1,36 @@
+package article2tweet.com.article2tweet.service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import article2tweet.com.article2tweet.service.ChatCompletionResponse.Message;
+
+/**
+ * Chat messages for one completion, in the order they are sent
+ */
+public record ChatPrompt(List<Message> messages) {
+
+    public ChatPrompt {
+        messages = List.copyOf(messages);
+    }
+
+    /**
+     * Role-tagged text of every message; identifies the prompt for caching and single-flight
+     */
+    public String cacheText() {
+        return messages.stream()
+                .map(message -> message.role() + ":" + message.content())
+                .collect(Collectors.joining("\n\u0000\n"));
+    }
+
+    public int estimateTokens() {
+        return messages.stream().mapToInt(message -> ArticleChunker.estimateTokens(message.content())).sum();
+    }
+
+    /**
+     * The last message, which carries the per-call variables
+     */
+    public String task() {
+        return messages.get(messages.size() - 1).content();
+    }
+}
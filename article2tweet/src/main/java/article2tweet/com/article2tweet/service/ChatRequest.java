@@ -0,0 +1,47 @@
+package article2tweet.com.article2tweet.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import article2tweet.com.article2tweet.service.ChatCompletionResponse.Message;
+
+/**
+ * Provider-neutral chat completion request; each {@link LlmProvider} maps it to its own wire format
+ *
+ * @param extraOptions OpenAI request fields such as response_format; providers drop what they don't support
+ */
+public record ChatRequest(String model, List<Message> messages, double temperature, int maxTokens,
+                          Map<String, Object> extraOptions) {
+
+    public ChatRequest {
+        messages = List.copyOf(messages);
+        extraOptions = Map.copyOf(extraOptions);
+    }
+
+    public static ChatRequest of(String model, ChatPrompt prompt, double temperature, int maxTokens,
+                                 Map<String, Object> extraOptions) {
+        return new ChatRequest(model, prompt.messages(), temperature, maxTokens, extraOptions);
+    }
+
+    /**
+     * Prompt plus completion tokens this request may use, every candidate (n) counted
+     */
+    public int estimatedTokens() {
+        int prompt = messages.stream().mapToInt(message -> ArticleChunker.estimateTokens(message.content())).sum();
+        Object n = extraOptions.get("n");
+        return prompt + maxTokens * (n instanceof Number candidates ? Math.max(1, candidates.intValue()) : 1);
+    }
+
+    /**
+     * Body for an OpenAI-compatible /chat/completions endpoint
+     */
+    public Map<String, Object> toOpenAIBody() {
+        Map<String, Object> body = new HashMap<>(extraOptions);
+        body.put("model", model);
+        body.put("messages", messages);
+        body.put("temperature", temperature);
+        body.put("max_tokens", maxTokens);
+        return body;
+    }
+}
@@ -0,0 +1,48 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Duration;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A chat completion backend. {@link LlmRouter} picks one per request based on configured
+ * order and observed health, so implementations only translate and send.
+ */
+public interface LlmProvider {
+
+    /**
+     * Short name used in llm.providers and as the metrics tag
+     */
+    String name();
+
+    /**
+     * False when the provider lacks credentials; unconfigured providers are never routed to
+     */
+    boolean isConfigured();
+
+    Mono<ChatCompletionResponse> complete(ChatRequest request);
+
+    /**
+     * Claim this provider's rate budget for the request and return how long to wait before
+     * sending it; called only for the provider the request goes to. May throw
+     * {@link RateLimitedException} when the wait would be too long.
+     */
+    default Duration reserve(ChatRequest request) {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Claim rate budget only if the request can go out right now; used for optional extra calls
+     */
+    default boolean tryReserve(ChatRequest request) {
+        return true;
+    }
+
+    /**
+     * Completion text as it is generated; providers without streaming emit it in one piece
+     */
+    default Flux<String> stream(ChatRequest request) {
+        return complete(request).mapNotNull(ChatCompletionResponse::firstContent).flux();
+    }
+}
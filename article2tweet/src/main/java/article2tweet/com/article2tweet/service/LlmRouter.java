@@ -0,0 +1,313 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends each chat completion to the first healthy provider in llm.providers order and fails
+ * over to the next one within the same call. A provider is taken out of rotation for
+ * open-duration after failure-threshold consecutive failures, or when its smoothed latency
+ * exceeds degraded-latency; afterwards it gets traffic again and is re-judged from scratch.
+ * Rate limiting (429) is neither failed over nor held against a provider: callers wait it out
+ * with the Retry-After-aware retry instead. Rate budget is charged only to the provider a
+ * request actually goes to.
+ */
+@Component
+@Slf4j
+public class LlmRouter {
+
+    private final List<ProviderState> providers;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Duration degradedLatency;
+    private final Duration attemptTimeout;
+    private final double latencySmoothing;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public LlmRouter(List<LlmProvider> availableProviders,
+                     MeterRegistry meterRegistry,
+                     @Value("${llm.providers:openai}") List<String> order,
+                     @Value("${llm.router.failure-threshold:3}") int failureThreshold,
+                     @Value("${llm.router.open-duration:PT30S}") Duration openDuration,
+                     @Value("${llm.router.degraded-latency:PT20S}") Duration degradedLatency,
+                     @Value("${llm.router.attempt-timeout:PT60S}") Duration attemptTimeout,
+                     @Value("${llm.router.latency-smoothing:0.2}") double latencySmoothing) {
+        this(availableProviders, meterRegistry, order, failureThreshold, openDuration, degradedLatency,
+                attemptTimeout, latencySmoothing, Clock.systemUTC());
+    }
+
+    /**
+     * Routes over the given providers in list order with default health settings
+     */
+    public LlmRouter(List<LlmProvider> providers, MeterRegistry meterRegistry) {
+        this(providers, meterRegistry, providers.stream().map(LlmProvider::name).toList(), 3,
+                Duration.ofSeconds(30), Duration.ofSeconds(20), Duration.ofSeconds(60), 0.2, Clock.systemUTC());
+    }
+
+    public LlmRouter(List<LlmProvider> availableProviders, MeterRegistry meterRegistry, List<String> order,
+                     int failureThreshold, Duration openDuration, Duration degradedLatency,
+                     Duration attemptTimeout, double latencySmoothing, Clock clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+        this.degradedLatency = degradedLatency;
+        this.attemptTimeout = attemptTimeout;
+        this.latencySmoothing = latencySmoothing;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+
+        Map<String, LlmProvider> byName = availableProviders.stream()
+                .collect(Collectors.toMap(LlmProvider::name, Function.identity(), (first, second) -> first));
+        this.providers = new ArrayList<>();
+        for (String name : order) {
+            LlmProvider provider = byName.get(name.trim());
+            if (provider == null) {
+                log.warn("⚠️ Unknown LLM provider '{}' in llm.providers, ignoring", name.trim());
+            } else if (!provider.isConfigured()) {
+                log.warn("⚠️ LLM provider '{}' has no credentials configured, leaving it out of rotation", provider.name());
+            } else {
+                providers.add(new ProviderState(provider));
+            }
+        }
+        log.info("🧭 LLM providers in rotation: {}",
+                providers.stream().map(state -> state.provider.name()).toList());
+    }
+
+    /**
+     * False when no provider can take traffic; callers fall back to offline output
+     */
+    public boolean isConfigured() {
+        return !providers.isEmpty();
+    }
+
+    /**
+     * Complete on the best provider, failing over on errors other than rate limiting. Waits for
+     * each provider's rate budget before its attempt.
+     */
+    public Mono<ChatCompletionResponse> complete(ChatRequest request) {
+        return Mono.defer(() -> {
+            Route route = route(request);
+            return Mono.delay(route.reserve()).then(route.complete());
+        });
+    }
+
+    /**
+     * Fix the provider order for one request now, so budget reserved through the route is charged
+     * to the provider its first attempt goes to even if provider health changes in between
+     */
+    public Route route(ChatRequest request) {
+        return new Route(request, providers.isEmpty() ? List.of() : candidates());
+    }
+
+    /**
+     * Stream from the best provider; a failed stream is not resumed elsewhere, since tokens may
+     * already have been delivered
+     */
+    public Flux<String> stream(ChatRequest request) {
+        return Flux.defer(() -> {
+            if (providers.isEmpty()) {
+                return Flux.error(new IllegalStateException("No LLM provider is configured"));
+            }
+            ProviderState state = candidates().get(0);
+            return Mono.delay(state.provider.reserve(request))
+                    .thenMany(Flux.defer(() -> {
+                        long started = System.nanoTime();
+                        return state.provider.stream(request)
+                                .doOnComplete(state::onStreamCompleted)
+                                .doOnError(e -> state.onFailure(e, System.nanoTime() - started));
+                    }));
+        });
+    }
+
+    /**
+     * Names of the providers currently taking traffic, best first
+     */
+    public List<String> availableProviders() {
+        long now = clock.millis();
+        return candidates().stream()
+                .filter(state -> state.isAvailable(now))
+                .map(state -> state.provider.name())
+                .toList();
+    }
+
+    private Mono<ChatCompletionResponse> attempt(List<ProviderState> candidates, int index, ChatRequest request) {
+        ProviderState state = candidates.get(index);
+        // The first attempt's budget was reserved through the route; a failover target reserves its own
+        Mono<Long> budget = index == 0
+                ? Mono.just(0L)
+                : Mono.defer(() -> Mono.delay(state.provider.reserve(request)));
+        return budget
+                .then(Mono.defer(() -> {
+                    long started = System.nanoTime();
+                    // Per attempt rather than per call: a hung provider must not eat the next one's time
+                    return state.provider.complete(request)
+                            .timeout(attemptTimeout)
+                            .doOnSuccess(response -> state.onSuccess(System.nanoTime() - started))
+                            .doOnError(e -> state.onFailure(e, System.nanoTime() - started));
+                }))
+                .onErrorResume(e -> !(e instanceof RateLimitedException) && index + 1 < candidates.size(), e -> {
+            String next = candidates.get(index + 1).provider.name();
+            log.warn("🔀 {} failed ({}), failing over to {}", state.provider.name(), e.getMessage(), next);
+            state.failovers.increment();
+            return attempt(candidates, index + 1, request);
+        });
+    }
+
+    /**
+     * Available providers in configured order; those out of rotation go last, soonest-to-recover
+     * first, so a request is still attempted when everything is down
+     */
+    private List<ProviderState> candidates() {
+        long now = clock.millis();
+        List<ProviderState> available = new ArrayList<>();
+        List<ProviderState> unavailable = new ArrayList<>();
+        for (ProviderState state : providers) {
+            (state.isAvailable(now) ? available : unavailable).add(state);
+        }
+        unavailable.sort(Comparator.comparingLong(ProviderState::openUntil));
+        available.addAll(unavailable);
+        return available;
+    }
+
+    /**
+     * One request over a fixed provider order. Callers reserve the first attempt's budget and
+     * wait it out before {@link #complete}, which keeps the wait outside attempt timeouts and
+     * hedge delays; failover attempts reserve from their own provider.
+     */
+    public final class Route {
+
+        private final ChatRequest request;
+        private final List<ProviderState> candidates;
+
+        private Route(ChatRequest request, List<ProviderState> candidates) {
+            this.request = request;
+            this.candidates = candidates;
+        }
+
+        /**
+         * Claim rate budget from the provider tried first and return how long to wait before calling it
+         */
+        public Duration reserve() {
+            return candidates.isEmpty() ? Duration.ZERO : candidates.get(0).provider.reserve(request);
+        }
+
+        /**
+         * Like {@link #reserve}, but only if the request can go out right now; gates optional
+         * extra calls such as hedges
+         */
+        public boolean tryReserve() {
+            return !candidates.isEmpty() && candidates.get(0).provider.tryReserve(request);
+        }
+
+        /**
+         * Send the request, first provider first; may be subscribed more than once (hedging)
+         */
+        public Mono<ChatCompletionResponse> complete() {
+            return Mono.defer(() -> candidates.isEmpty()
+                    ? Mono.error(new IllegalStateException("No LLM provider is configured"))
+                    : attempt(candidates, 0, request));
+        }
+    }
+
+    private final class ProviderState {
+
+        private final LlmProvider provider;
+        private final Counter failovers;
+
+        private int consecutiveFailures;
+        private double smoothedLatencyNanos = -1;
+        private long openUntil;
+        // After a trip, the next result starts a fresh judgement instead of blending with old samples
+        private boolean probing;
+
+        ProviderState(LlmProvider provider) {
+            this.provider = provider;
+            this.failovers = Counter.builder("llm.router.failovers")
+                    .tag("provider", provider.name())
+                    .register(meterRegistry);
+            Gauge.builder("llm.provider.available", this, state -> state.isAvailable(clock.millis()) ? 1 : 0)
+                    .tag("provider", provider.name())
+                    .register(meterRegistry);
+            Gauge.builder("llm.provider.latency", this, state -> state.smoothedLatencyMillis())
+                    .tag("provider", provider.name())
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+
+        synchronized boolean isAvailable(long now) {
+            return openUntil <= now;
+        }
+
+        synchronized long openUntil() {
+            return openUntil;
+        }
+
+        synchronized double smoothedLatencyMillis() {
+            return Math.max(0, smoothedLatencyNanos) / 1_000_000;
+        }
+
+        synchronized void onSuccess(long latencyNanos) {
+            record("success", latencyNanos);
+            consecutiveFailures = 0;
+            smoothedLatencyNanos = probing || smoothedLatencyNanos < 0
+                    ? latencyNanos
+                    : latencySmoothing * latencyNanos + (1 - latencySmoothing) * smoothedLatencyNanos;
+            probing = false;
+
+            if (smoothedLatencyNanos > degradedLatency.toNanos()) {
+                trip("degraded latency " + Math.round(smoothedLatencyMillis()) + " ms");
+            }
+        }
+
+        synchronized void onFailure(Throwable e, long latencyNanos) {
+            if (e instanceof RateLimitedException) {
+                record("rate_limited", latencyNanos);
+                return;
+            }
+            record("error", latencyNanos);
+            consecutiveFailures++;
+            if (probing || consecutiveFailures >= failureThreshold) {
+                trip(consecutiveFailures + " consecutive failure(s): " + e.getMessage());
+            }
+        }
+
+        synchronized void onStreamCompleted() {
+            consecutiveFailures = 0;
+            probing = false;
+        }
+
+        private void trip(String reason) {
+            openUntil = clock.millis() + openDuration.toMillis();
+            probing = true;
+            log.warn("🚧 Moving traffic off {} for {} s: {}", provider.name(), openDuration.toSeconds(), reason);
+        }
+
+        private void record(String outcome, long latencyNanos) {
+            Timer.builder("llm.provider.requests")
+                    .tag("provider", provider.name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(latencyNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
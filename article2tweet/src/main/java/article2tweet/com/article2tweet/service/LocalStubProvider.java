@@ -0,0 +1,93 @@
+package article2tweet.com.article2tweet.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import article2tweet.com.article2tweet.service.ChatCompletionResponse.Message;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-process stand-in that answers every request with canned, well-formed output. Listed last
+ * in llm.providers it keeps threads flowing when every real provider is down; listed alone it
+ * runs the whole pipeline offline.
+ */
+@Component
+@Slf4j
+public class LocalStubProvider implements LlmProvider {
+
+    private static final String INSIGHTS = """
+            1. Small, focused changes are easier to review and ship than big rewrites.
+            2. Measuring before optimizing keeps you from fixing the wrong bottleneck.
+            3. Good defaults matter more than endless configuration options.""";
+
+    private static final String STRUCTURED_THREAD = """
+            {"insights": ["Small, focused changes are easier to review and ship.",
+                          "Measuring before optimizing keeps you honest.",
+                          "Good defaults beat endless configuration."],
+             "hook": "🧵 A few things from this article that changed how I think about shipping software:",
+             "tweets": ["Small, focused changes are easier to review and ship than big rewrites.",
+                        "Measure before you optimize, or you'll fix the wrong bottleneck.",
+                        "Good defaults matter more than endless configuration options."],
+             "wrap_up": "That's the thread! Which of these matches your experience?"}""";
+
+    private static final String STREAMED_THREAD = """
+            🧵 A few things from this article that changed how I think about shipping software:
+            ---
+            Small, focused changes are easier to review and ship than big rewrites.
+            ---
+            Measure before you optimize, or you'll fix the wrong bottleneck.
+            ---
+            Good defaults matter more than endless configuration options.
+            ---
+            That's the thread! Which of these matches your experience?""";
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return true;
+    }
+
+    @Override
+    public Mono<ChatCompletionResponse> complete(ChatRequest request) {
+        String task = request.messages().get(request.messages().size() - 1).content();
+        String content = cannedResponse(task);
+        log.debug("🧪 Local stub answering {} request", request.model());
+
+        int promptTokens = request.messages().stream()
+                .mapToInt(message -> ArticleChunker.estimateTokens(message.content()))
+                .sum();
+        int completionTokens = ArticleChunker.estimateTokens(content);
+        return Mono.just(new ChatCompletionResponse(request.model(),
+                List.of(new ChatCompletionResponse.Choice(0, new Message("assistant", content), "stop")),
+                new ChatCompletionResponse.Usage(promptTokens, completionTokens, promptTokens + completionTokens, null),
+                null));
+    }
+
+    /**
+     * Picks the output shape from the task's requested format
+     */
+    static String cannedResponse(String task) {
+        if (task.contains("JSON object")) {
+            return STRUCTURED_THREAD;
+        }
+        if (task.contains("separated by a line containing only ---")) {
+            return STREAMED_THREAD;
+        }
+        if (task.contains("numbered")) {
+            return INSIGHTS;
+        }
+        if (task.contains("thread hook")) {
+            return "🧵 A few things from this article that changed how I think about shipping software:";
+        }
+        if (task.contains("wrap-up")) {
+            return "That's the thread! Which of these matches your experience?";
+        }
+        return "This one stuck with me: the simplest fix is usually the one worth shipping first.";
+    }
+}
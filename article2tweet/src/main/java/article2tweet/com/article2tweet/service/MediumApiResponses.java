@@ -0,0 +1,51 @@
+package article2tweet.com.article2tweet.service;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * RapidAPI Medium2 response shapes, limited to the fields this app reads.
+ * Decoded by Jackson straight from the response buffers.
+ */
+public final class MediumApiResponses {
+
+    private MediumApiResponses() {
+    }
+
+    /** /user/id_for/{username} */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record UserId(String id) {
+    }
+
+    /** /user/{user_id} */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record UserInfo(String username, String fullname) {
+    }
+
+    /** /user/{user_id}/articles */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record UserArticles(@JsonProperty("associated_articles") List<String> associatedArticles) {
+    }
+
+    /** /article/{article_id} */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ArticleInfo(String title,
+                              String subtitle,
+                              String url,
+                              @JsonProperty("published_at") String publishedAt,
+                              @JsonProperty("last_modified_at") String lastModifiedAt,
+                              @JsonProperty("reading_time") double readingTime,
+                              @JsonProperty("word_count") Integer wordCount,
+                              Integer claps,
+                              Integer voters,
+                              List<String> tags,
+                              List<String> topics) {
+    }
+
+    /** /article/{article_id}/content */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ArticleContent(String content) {
+    }
+}
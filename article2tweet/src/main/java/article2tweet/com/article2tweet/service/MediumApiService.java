@@ -1,9 +1,12 @@
 package article2tweet.com.article2tweet.service;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -11,10 +14,17 @@ import org.springframework.web.reactive.function.client.WebClient;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import article2tweet.com.article2tweet.cache.MediumResponseCache;
+import article2tweet.com.article2tweet.cache.MediumResponseCache.Endpoint;
+import article2tweet.com.article2tweet.cache.MediumUserDirectory;
+import article2tweet.com.article2tweet.cache.SingleFlight;
 import article2tweet.com.article2tweet.domain.Article;
 import article2tweet.com.article2tweet.domain.ArticleSummary;
 import article2tweet.com.article2tweet.domain.MediumUser;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Service
 @Slf4j
@@ -23,30 +33,29 @@ public class MediumApiService {
     private final ObjectMapper objectMapper;
     private final WebClient mediumWebClient;
     private final String apiKey;
+    private final SingleFlight<Article> articleFlights;
+    private final MediumUserDirectory userDirectory;
+    private final MediumResponseCache responseCache;
+    
+    // Listing enrichment: /article/{id} lookups in flight at once, and how long each may take
+    @Value("${medium.enrichment.concurrency:8}")
+    private int enrichmentConcurrency = 8;
+    
+    @Value("${medium.enrichment.item-timeout:PT5S}")
+    private Duration enrichmentItemTimeout = Duration.ofSeconds(5);
     
     public MediumApiService(ObjectMapper objectMapper,
-                           WebClient mediumWebClient,
-                           @Value("${medium.api.key:}") String apiKey) {
+                           @Qualifier("mediumWebClient") WebClient mediumWebClient,
+                           @Value("${medium.api.key:}") String apiKey,
+                           MediumUserDirectory userDirectory,
+                           MediumResponseCache responseCache,
+                           MeterRegistry meterRegistry) {
         this.objectMapper = objectMapper;
         this.mediumWebClient = mediumWebClient;
         this.apiKey = apiKey;
-    }
-    
-    /**
-     * Create WebClient with RapidAPI headers for Medium2 service
-     */
-    private WebClient createRapidApiWebClient() {
-        if (apiKey == null || apiKey.isEmpty()) {
-            return null;
-        }
-        
-        return WebClient.builder()
-            .baseUrl("https://medium2.p.rapidapi.com")
-            .defaultHeader("Content-Type", "application/json")
-            .defaultHeader("Accept", "application/json")
-            .defaultHeader("x-rapidapi-key", apiKey)
-            .defaultHeader("x-rapidapi-host", "medium2.p.rapidapi.com")
-            .build();
+        this.articleFlights = new SingleFlight<>("medium-articles", meterRegistry);
+        this.userDirectory = userDirectory;
+        this.responseCache = responseCache;
     }
     
     /**
@@ -221,234 +230,314 @@ public class MediumApiService {
      * Step 2: Get user info from user ID
      */
     public MediumUser getUserByUsername(String username) {
+        return getUserByUsernameReactive(username).block();
+    }
+    
+    /**
+     * Non-blocking variant of {@link #getUserByUsername(String)}
+     */
+    public Mono<MediumUser> getUserByUsernameReactive(String username) {
         log.info("🔍 Fetching Medium user: {}", username);
         
         if (apiKey == null || apiKey.isEmpty()) {
             log.warn("❌ Medium API key not configured, using mock data");
-            return new MediumUser("mock_user_id_" + username, username, "Mock User for " + username);
+            return Mono.just(new MediumUser("mock_user_id_" + username, username, "Mock User for " + username));
         }
         
-        try {
-            WebClient rapidApiClient = createRapidApiWebClient();
-            if (rapidApiClient == null) {
-                log.warn("❌ Could not create RapidAPI client, using mock data");
-                return new MediumUser("mock_user_id_" + username, username, "Mock User for " + username);
-            }
-            
-            // Step 1: Get user ID from username using /user/id_for/{username}
-            log.info("🌐 Step 1: Getting user ID for username: {}", username);
-            String userIdResponse = rapidApiClient
-                    .get()
-                    .uri("/user/id_for/{username}", username)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError(), clientResponse -> {
-                        return clientResponse.bodyToMono(String.class)
-                            .map(errorBody -> {
-                                log.error("🔍 RapidAPI Medium 4xx error on user ID lookup: {} - {}", clientResponse.statusCode(), errorBody);
-                                return new RuntimeException("Medium API user ID lookup failed: " + clientResponse.statusCode());
-                            });
-                    })
-                    .bodyToMono(String.class)
-                    .block();
-                    
-            // Parse user ID from response
-            JsonNode userIdJson = objectMapper.readTree(userIdResponse);
-            String userId = userIdJson.path("id").asText();
-            log.info("✅ Found user ID: {}", userId);
-            
-            // Step 2: Get full user info using /user/{user_id}
-            log.info("🌐 Step 2: Getting user info for ID: {}", userId);
-            String userInfoResponse = rapidApiClient
-                    .get()
-                    .uri("/user/{user_id}", userId)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError(), clientResponse -> {
-                        return clientResponse.bodyToMono(String.class)
-                            .map(errorBody -> {
-                                log.error("🔍 RapidAPI Medium 4xx error on user info: {} - {}", clientResponse.statusCode(), errorBody);
-                                return new RuntimeException("Medium API user info failed: " + clientResponse.statusCode());
-                            });
-                    })
-                    .bodyToMono(String.class)
-                    .block();
-                    
-            // Parse user info from response
-            JsonNode userJson = objectMapper.readTree(userInfoResponse);
-            MediumUser user = new MediumUser(
-                userId,
-                userJson.path("username").asText(),
-                userJson.path("fullname").asText()
-            );
-            
-            log.info("✅ Successfully fetched user: {} (ID: {})", user.getName(), user.getId());
-            return user;
-            
-        } catch (Exception e) {
-            log.error("❌ Error fetching user {}: {}", username, e.getMessage());
-            log.info("🔄 Falling back to mock user data");
-            return new MediumUser("mock_user_id_" + username, username, "Mock User for " + username);
+        return resolveUserIdReactive(username)
+                .flatMap(userId -> {
+                    Optional<MediumUser> cached = userDirectory.getUser(userId);
+                    if (cached.isPresent()) {
+                        return Mono.just(cached.get());
+                    }
+                    // Step 2: Get full user info using /user/{user_id}
+                    log.info("🌐 Step 2: Getting user info for ID: {}", userId);
+                    return rapidApiGet("user info", MediumApiResponses.UserInfo.class, "/user/{user_id}", userId)
+                            .map(userInfo -> new MediumUser(
+                                userId,
+                                userInfo.username(),
+                                userInfo.fullname()
+                            ))
+                            .doOnNext(userDirectory::putUser);
+                })
+                .doOnNext(user -> log.info("✅ Successfully fetched user: {} (ID: {})", user.getName(), user.getId()))
+                .onErrorResume(e -> {
+                    log.error("❌ Error fetching user {}: {}", username, e.getMessage());
+                    log.info("🔄 Falling back to mock user data");
+                    return Mono.just(new MediumUser("mock_user_id_" + username, username, "Mock User for " + username));
+                });
+    }
+    
+    /**
+     * Step 1 of every by-username lookup: /user/id_for/{username}, answered from the user
+     * directory once a username has been seen, since Medium user IDs never change
+     */
+    private Mono<String> resolveUserIdReactive(String username) {
+        Optional<String> cached = userDirectory.getUserId(username);
+        if (cached.isPresent()) {
+            return Mono.just(cached.get());
         }
+        
+        log.info("🌐 Step 1: Getting user ID for username: {}", username);
+        return rapidApiGet("user ID lookup", MediumApiResponses.UserId.class, "/user/id_for/{username}", username)
+                .map(userIdResponse -> {
+                    String userId = userIdResponse.id();
+                    log.info("✅ Found user ID: {}", userId);
+                    return userId;
+                })
+                .doOnNext(userId -> userDirectory.putUserId(username, userId));
     }
     
     /**
-     * Get articles for a specific user ID using RapidAPI Medium2
+     * Get articles for a specific user ID using RapidAPI Medium2, each enriched from
+     * /article/{id}, in the order Medium lists them
      */
     public List<ArticleSummary> getUserArticles(String userId) {
+        return getUserArticlesReactive(userId).block();
+    }
+    
+    /**
+     * Non-blocking variant of {@link #getUserArticles(String)}
+     */
+    public Mono<List<ArticleSummary>> getUserArticlesReactive(String userId) {
+        return userArticles(userId, false).collectList();
+    }
+    
+    /**
+     * Like {@link #getUserArticlesReactive(String)}, but each summary is emitted as soon as its
+     * enrichment completes, so callers can show results while the rest are still loading
+     */
+    public Flux<ArticleSummary> streamUserArticles(String userId) {
+        return userArticles(userId, true);
+    }
+    
+    private Flux<ArticleSummary> userArticles(String userId, boolean arrivalOrder) {
         log.info("📚 Fetching articles for user ID: {}", userId);
         
         if (apiKey == null || apiKey.isEmpty()) {
             log.warn("❌ Medium API key not configured, using mock data");
-            return createMockArticleSummaries(userId);
+            return Flux.fromIterable(createMockArticleSummaries(userId));
         }
         
-        try {
-            WebClient rapidApiClient = createRapidApiWebClient();
-            if (rapidApiClient == null) {
-                log.warn("❌ Could not create RapidAPI client, using mock data");
-                return createMockArticleSummaries(userId);
-            }
-            
-            // Use RapidAPI Medium2 endpoint: /user/{user_id}/articles
-            log.info("🌐 Getting articles for user ID: {}", userId);
-            String articlesResponse = rapidApiClient
-                    .get()
-                    .uri("/user/{user_id}/articles", userId)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError(), clientResponse -> {
-                        return clientResponse.bodyToMono(String.class)
-                            .map(errorBody -> {
-                                log.error("🔍 RapidAPI Medium 4xx error on articles: {} - {}", clientResponse.statusCode(), errorBody);
-                                return new RuntimeException("Medium API articles failed: " + clientResponse.statusCode());
-                            });
-                    })
-                    .bodyToMono(String.class)
-                    .block();
-                    
-            // Parse the articles response
-            JsonNode articlesJson = objectMapper.readTree(articlesResponse);
-            JsonNode articleIds = articlesJson.path("associated_articles");
-            
-            List<ArticleSummary> articles = new ArrayList<>();
-            
-            // For each article ID, we would need to call /article/{article_id} to get full info
-            // For now, let's create summaries with the IDs we have
-            if (articleIds.isArray()) {
-                for (JsonNode articleIdNode : articleIds) {
-                    String articleId = articleIdNode.asText();
-                    ArticleSummary summary = new ArticleSummary();
-                    summary.setId(articleId);
-                    summary.setTitle("Article " + articleId); // Would get from /article/{id} endpoint
-                    summary.setUrl("https://medium.com/@" + userId + "/" + articleId);
-                    articles.add(summary);
-                }
-            }
-            
-            log.info("✅ Successfully fetched {} article IDs for user {}", articles.size(), userId);
-            return articles;
-            
-        } catch (Exception e) {
-            log.error("❌ Error fetching articles for user {}: {}", userId, e.getMessage());
-            log.info("🔄 Falling back to mock article data");
-            return createMockArticleSummaries(userId);
+        // Use RapidAPI Medium2 endpoint: /user/{user_id}/articles
+        log.info("🌐 Getting articles for user ID: {}", userId);
+        return responseCache.getOrFetch(Endpoint.USER_ARTICLES, userId, MediumApiResponses.UserArticles.class,
+                        () -> rapidApiGet("articles", MediumApiResponses.UserArticles.class,
+                                "/user/{user_id}/articles", userId))
+                .map(articlesResponse -> {
+                    List<String> articleIds = articlesResponse.associatedArticles() == null
+                            ? List.of()
+                            : articlesResponse.associatedArticles();
+                    log.info("✅ Successfully fetched {} article IDs for user {}", articleIds.size(), userId);
+                    return articleIds;
+                })
+                .flatMapMany(articleIds -> {
+                    // Bounded fan-out keeps a long listing fast without bursting past RapidAPI quotas
+                    Flux<String> ids = Flux.fromIterable(articleIds);
+                    return arrivalOrder
+                            ? ids.flatMap(articleId -> enrichArticleSummary(userId, articleId), enrichmentConcurrency)
+                            : ids.flatMapSequential(articleId -> enrichArticleSummary(userId, articleId),
+                                    enrichmentConcurrency);
+                })
+                // Enrichment failures are handled per article, so only the listing call itself lands here
+                .onErrorResume(e -> {
+                    log.error("❌ Error fetching articles for user {}: {}", userId, e.getMessage());
+                    log.info("🔄 Falling back to mock article data");
+                    return Flux.fromIterable(createMockArticleSummaries(userId));
+                });
+    }
+    
+    /**
+     * Summary from /article/{id}; an ID-only summary if the lookup fails or times out, so one
+     * slow article never holds up or drops out of the listing
+     */
+    private Mono<ArticleSummary> enrichArticleSummary(String userId, String articleId) {
+        return articleInfo(articleId)
+                .timeout(enrichmentItemTimeout)
+                .map(info -> toArticleSummary(articleId, info))
+                .onErrorResume(e -> {
+                    log.warn("⚠️ Could not enrich article {}: {}", articleId, e.getMessage());
+                    return Mono.just(new ArticleSummary(articleId, "Article " + articleId,
+                            "https://medium.com/@" + userId + "/" + articleId));
+                });
+    }
+    
+    private ArticleSummary toArticleSummary(String articleId, MediumApiResponses.ArticleInfo info) {
+        ArticleSummary summary = new ArticleSummary(articleId, info.title(), info.url());
+        summary.setSubtitle(info.subtitle());
+        summary.setPublishedAt(info.publishedAt());
+        summary.setLastModifiedAt(info.lastModifiedAt());
+        summary.setTags(info.tags());
+        if (info.topics() != null && !info.topics().isEmpty()) {
+            summary.setTopics(String.join(", ", info.topics()));
         }
+        summary.setClaps(info.claps());
+        summary.setVoters(info.voters());
+        summary.setWordCount(info.wordCount());
+        summary.setReadingTime((int) Math.ceil(info.readingTime()));
+        return summary;
     }
     
     /**
-     * Get full article content by article ID using RapidAPI Medium2
+     * Get full article content by article ID using RapidAPI Medium2.
+     * Concurrent requests for the same article share a single fetch, and repeats are served
+     * from {@link MediumResponseCache} until the article's last_modified_at changes.
      */
     public Article getFullArticleContent(String articleId) {
+        return getFullArticleContentReactive(articleId).block();
+    }
+    
+    /**
+     * Non-blocking variant of {@link #getFullArticleContent(String)}
+     */
+    public Mono<Article> getFullArticleContentReactive(String articleId) {
+        return articleFlights.execute(articleId, () -> fetchFullArticleContent(articleId));
+    }
+    
+    private Mono<Article> fetchFullArticleContent(String articleId) {
         log.info("📖 Fetching full content for article ID: {}", articleId);
         
         if (apiKey == null || apiKey.isEmpty()) {
             log.warn("❌ Medium API key not configured, using mock data");
-            return createMockArticleFromId(articleId);
+            return Mono.just(createMockArticleFromId(articleId));
         }
         
-        try {
-            WebClient rapidApiClient = createRapidApiWebClient();
-            if (rapidApiClient == null) {
-                log.warn("❌ Could not create RapidAPI client, using mock data");
-                return createMockArticleFromId(articleId);
-            }
-            
-            // Step 1: Get article info using /article/{article_id}
-            log.info("🌐 Step 1: Getting article info for ID: {}", articleId);
-            String articleInfoResponse = rapidApiClient
-                    .get()
-                    .uri("/article/{article_id}", articleId)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError(), clientResponse -> {
-                        return clientResponse.bodyToMono(String.class)
-                            .map(errorBody -> {
-                                log.error("🔍 RapidAPI Medium 4xx error on article info: {} - {}", clientResponse.statusCode(), errorBody);
-                                return new RuntimeException("Medium API article info failed: " + clientResponse.statusCode());
-                            });
-                    })
-                    .bodyToMono(String.class)
-                    .block();
-                    
-            // Step 2: Get article content using /article/{article_id}/content
-            log.info("🌐 Step 2: Getting article content for ID: {}", articleId);
-            String articleContentResponse = rapidApiClient
-                    .get()
-                    .uri("/article/{article_id}/content", articleId)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError(), clientResponse -> {
-                        return clientResponse.bodyToMono(String.class)
-                            .map(errorBody -> {
-                                log.error("🔍 RapidAPI Medium 4xx error on article content: {} - {}", clientResponse.statusCode(), errorBody);
-                                return new RuntimeException("Medium API article content failed: " + clientResponse.statusCode());
-                            });
+        Optional<MediumApiResponses.ArticleInfo> cachedInfo = responseCache.get(Endpoint.ARTICLE, articleId,
+                MediumApiResponses.ArticleInfo.class, () -> fetchArticleInfo(articleId));
+        Mono<Article> fetched;
+        if (cachedInfo.isPresent()) {
+            // The body only needs fetching again when last_modified_at moved on
+            MediumApiResponses.ArticleInfo info = cachedInfo.get();
+            fetched = articleContent(articleId, info.lastModifiedAt())
+                    .map(content -> toArticle(info, content));
+        } else {
+            // Info and content don't depend on each other, so both requests go out at once
+            log.info("🌐 Getting article info and content for ID: {}", articleId);
+            fetched = Mono.zip(fetchArticleInfo(articleId), fetchArticleContent(articleId))
+                    .doOnNext(infoAndContent -> {
+                        responseCache.put(Endpoint.ARTICLE, articleId, infoAndContent.getT1());
+                        responseCache.putVersioned(Endpoint.CONTENT, articleId,
+                                infoAndContent.getT1().lastModifiedAt(), infoAndContent.getT2());
                     })
-                    .bodyToMono(String.class)
-                    .block();
-            
-            // Parse both responses
-            JsonNode infoJson = objectMapper.readTree(articleInfoResponse);
-            JsonNode contentJson = objectMapper.readTree(articleContentResponse);
-            
-            // Create Article object with combined data
-            Article article = new Article(
-                infoJson.path("title").asText(),
-                contentJson.path("content").asText(),
-                infoJson.path("url").asText()
-            );
-            
-            // Set additional properties
-            article.setAuthor("Medium Author"); // Would need to get from user ID
-            article.setSource("Medium");
-            
-            // Parse published date if available
-            String publishedAt = infoJson.path("published_at").asText();
-            if (!publishedAt.isEmpty()) {
-                try {
-                    article.setPublishedDate(LocalDate.parse(publishedAt.substring(0, 10)));
-                } catch (Exception dateEx) {
-                    log.warn("Could not parse published date: {}", publishedAt);
-                }
+                    .map(infoAndContent -> toArticle(infoAndContent.getT1(), infoAndContent.getT2()));
+        }
+        return fetched
+                .doOnNext(article -> log.info("✅ Successfully fetched article: {}", article.getTitle()))
+                .onErrorResume(e -> {
+                    log.error("❌ Error fetching article {}: {}", articleId, e.getMessage());
+                    log.info("🔄 Falling back to mock article data");
+                    return Mono.just(createMockArticleFromId(articleId));
+                });
+    }
+    
+    private Mono<MediumApiResponses.ArticleInfo> articleInfo(String articleId) {
+        return responseCache.getOrFetch(Endpoint.ARTICLE, articleId, MediumApiResponses.ArticleInfo.class,
+                () -> fetchArticleInfo(articleId));
+    }
+    
+    private Mono<MediumApiResponses.ArticleContent> articleContent(String articleId, String lastModifiedAt) {
+        return responseCache.getVersioned(Endpoint.CONTENT, articleId, lastModifiedAt,
+                        MediumApiResponses.ArticleContent.class, () -> fetchArticleContent(articleId))
+                .map(Mono::just)
+                .orElseGet(() -> fetchArticleContent(articleId)
+                        .doOnNext(content -> responseCache.putVersioned(Endpoint.CONTENT, articleId,
+                                lastModifiedAt, content)));
+    }
+    
+    private Mono<MediumApiResponses.ArticleInfo> fetchArticleInfo(String articleId) {
+        return rapidApiGet("article info", MediumApiResponses.ArticleInfo.class, "/article/{article_id}", articleId);
+    }
+    
+    private Mono<MediumApiResponses.ArticleContent> fetchArticleContent(String articleId) {
+        return rapidApiGet("article content", MediumApiResponses.ArticleContent.class,
+                "/article/{article_id}/content", articleId);
+    }
+    
+    private Article toArticle(MediumApiResponses.ArticleInfo info, MediumApiResponses.ArticleContent content) {
+        // Create Article object with combined data
+        Article article = new Article(
+            info.title(),
+            content.content(),
+            info.url()
+        );
+        
+        // Set additional properties
+        article.setAuthor("Medium Author"); // Would need to get from user ID
+        article.setSource("Medium");
+        
+        // Parse published date if available
+        String publishedAt = info.publishedAt();
+        if (publishedAt != null && !publishedAt.isEmpty()) {
+            try {
+                article.setPublishedDate(LocalDate.parse(publishedAt.substring(0, 10)));
+            } catch (Exception dateEx) {
+                log.warn("Could not parse published date: {}", publishedAt);
             }
-            
-            // Set reading time
-            double readingTime = infoJson.path("reading_time").asDouble();
-            article.setEstimatedReadTime((int) Math.ceil(readingTime));
-            
-            log.info("✅ Successfully fetched article: {}", article.getTitle());
-            return article;
-            
-        } catch (Exception e) {
-            log.error("❌ Error fetching article {}: {}", articleId, e.getMessage());
-            log.info("🔄 Falling back to mock article data");
-            return createMockArticleFromId(articleId);
         }
+        
+        // Set reading time
+        article.setEstimatedReadTime((int) Math.ceil(info.readingTime()));
+        
+        return article;
     }
     
     /**
      * Get user articles by username (convenience method)
      */
     public List<ArticleSummary> getUserArticlesByUsername(String username) {
+        return getUserArticlesByUsernameReactive(username).block();
+    }
+    
+    /**
+     * Non-blocking variant of {@link #getUserArticlesByUsername(String)}
+     */
+    public Mono<List<ArticleSummary>> getUserArticlesByUsernameReactive(String username) {
         log.info("Fetching articles for username: {}", username);
         
-        MediumUser user = getUserByUsername(username);
-        return getUserArticles(user.getId());
+        return userIdForArticles(username)
+                .flatMap(this::getUserArticlesReactive);
+    }
+    
+    /**
+     * Streaming variant of {@link #getUserArticlesByUsername(String)}; summaries arrive as they are enriched
+     */
+    public Flux<ArticleSummary> streamUserArticlesByUsername(String username) {
+        log.info("Streaming articles for username: {}", username);
+        
+        return userIdForArticles(username)
+                .flatMapMany(this::streamUserArticles);
+    }
+    
+    /**
+     * Listing articles only needs the user ID, so the /user/{user_id} profile call is skipped
+     */
+    private Mono<String> userIdForArticles(String username) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            return Mono.just("mock_user_id_" + username);
+        }
+        return resolveUserIdReactive(username)
+                .onErrorResume(e -> {
+                    log.error("❌ Error resolving user {}: {}", username, e.getMessage());
+                    log.info("🔄 Falling back to mock user data");
+                    return Mono.just("mock_user_id_" + username);
+                });
+    }
+    
+    /**
+     * GET a RapidAPI Medium2 endpoint, decoding the body straight into the given type and logging 4xx bodies
+     */
+    private <T> Mono<T> rapidApiGet(String description, Class<T> type, String uri, Object... uriVariables) {
+        return mediumWebClient
+                .get()
+                .uri(uri, uriVariables)
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError(), clientResponse -> {
+                    return clientResponse.bodyToMono(String.class)
+                        .map(errorBody -> {
+                            log.error("🔍 RapidAPI Medium 4xx error on {}: {} - {}", description, clientResponse.statusCode(), errorBody);
+                            return new RuntimeException("Medium API " + description + " failed: " + clientResponse.statusCode());
+                        });
+                })
+                .bodyToMono(type);
     }
 }
@@ -0,0 +1,97 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Which model (and sampling settings) each generation step uses, configured under
+ * openai.models.&lt;step&gt;.*. Cheap, latency-sensitive steps can run on a fast model while
+ * extraction uses a stronger one; each step may name a fallback for when its model is
+ * erroring or slower than fallback-after.
+ */
+@Component
+@Slf4j
+public class ModelPolicy {
+
+    public enum Step {
+        EXTRACTION("extraction", new StepModel("gpt-4o", "gpt-4o-mini", Duration.ZERO, 0.7, 300)),
+        HOOK("hook", new StepModel("gpt-4o-mini", "gpt-3.5-turbo", Duration.ZERO, 0.8, 150)),
+        CASUAL("casual", new StepModel("gpt-4o-mini", "gpt-3.5-turbo", Duration.ZERO, 0.8, 150)),
+        WRAP_UP("wrap-up", new StepModel("gpt-4o-mini", "gpt-3.5-turbo", Duration.ZERO, 0.7, 100)),
+        // Whole-thread requests: structured JSON mode, streaming and the Batch API
+        THREAD("thread", new StepModel("gpt-4o-mini", "gpt-3.5-turbo", Duration.ZERO, 0.7, 900));
+
+        private final String key;
+        private final StepModel defaults;
+
+        Step(String key, StepModel defaults) {
+            this.key = key;
+            this.defaults = defaults;
+        }
+
+        public String key() {
+            return key;
+        }
+    }
+
+    /**
+     * @param fallbackModel blank for no fallback
+     * @param fallbackAfter give up on the primary model after this long; zero waits for its timeout
+     */
+    public record StepModel(String model, String fallbackModel, Duration fallbackAfter,
+                            double temperature, int maxTokens) {
+
+        public boolean hasFallback() {
+            return fallbackModel != null && !fallbackModel.isBlank() && !fallbackModel.equals(model);
+        }
+    }
+
+    private final Map<Step, StepModel> models;
+
+    @Autowired
+    public ModelPolicy(Environment environment) {
+        this(bind(environment));
+    }
+
+    public ModelPolicy(Map<Step, StepModel> models) {
+        this.models = new EnumMap<>(Step.class);
+        for (Step step : Step.values()) {
+            this.models.put(step, models.getOrDefault(step, step.defaults));
+        }
+        this.models.forEach((step, model) -> log.info("🧠 Model for {}: {} (fallback: {})", step.key(), model.model(),
+                model.hasFallback() ? model.fallbackModel() : "none"));
+    }
+
+    /**
+     * The built-in defaults, without reading configuration
+     */
+    public static ModelPolicy defaults() {
+        return new ModelPolicy(Map.of());
+    }
+
+    public StepModel forStep(Step step) {
+        return models.get(step);
+    }
+
+    private static Map<Step, StepModel> bind(Environment environment) {
+        Map<Step, StepModel> models = new EnumMap<>(Step.class);
+        for (Step step : Step.values()) {
+            String prefix = "openai.models." + step.key() + ".";
+            StepModel defaults = step.defaults;
+            models.put(step, new StepModel(
+                    environment.getProperty(prefix + "model", defaults.model()),
+                    environment.getProperty(prefix + "fallback-model", defaults.fallbackModel()),
+                    Duration.parse(environment.getProperty(prefix + "fallback-after", defaults.fallbackAfter().toString())),
+                    environment.getProperty(prefix + "temperature", Double.class, defaults.temperature()),
+                    environment.getProperty(prefix + "max-tokens", Integer.class, defaults.maxTokens())));
+        }
+        return models;
+    }
+}
@@ -0,0 +1,142 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * OpenAI /chat/completions, or any server speaking the same API at openai.base-url
+ */
+@Component
+@Slf4j
+public class OpenAICompatibleProvider implements LlmProvider {
+
+    private final WebClient openAIWebClient;
+    private final String apiKey;
+    private final OpenAIRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public OpenAICompatibleProvider(@Qualifier("openAIWebClient") WebClient openAIWebClient,
+                                    @Value("${openai.api.key:}") String apiKey,
+                                    OpenAIRateLimiter rateLimiter,
+                                    ObjectMapper objectMapper) {
+        this.openAIWebClient = openAIWebClient;
+        this.apiKey = apiKey;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+
+        if (isConfigured() && !(apiKey.startsWith("sk-") && apiKey.length() > 20)) {
+            log.warn("⚠️ OpenAI API key format looks invalid, attempting anyway...");
+        }
+    }
+
+    @Override
+    public String name() {
+        return "openai";
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return apiKey != null && !apiKey.isEmpty();
+    }
+
+    @Override
+    public Duration reserve(ChatRequest request) {
+        return rateLimiter.reserve(request.estimatedTokens());
+    }
+
+    @Override
+    public boolean tryReserve(ChatRequest request) {
+        return rateLimiter.tryReserve(request.estimatedTokens());
+    }
+
+    @Override
+    public Mono<ChatCompletionResponse> complete(ChatRequest request) {
+        log.info("📡 Sending request to OpenAI API endpoint: /chat/completions");
+        log.info("🔑 Using API key: {}...", apiKey.substring(0, Math.min(15, apiKey.length())));
+
+        return openAIWebClient
+                .post()
+                .uri("/chat/completions")
+                .body(Mono.just(request.toOpenAIBody()), Map.class)
+                .retrieve()
+                .onStatus(status -> status.value() == 429,
+                    clientResponse -> {
+                        Duration retryAfter = rateLimiter.onRateLimited(clientResponse.headers().asHttpHeaders());
+                        return clientResponse.bodyToMono(String.class)
+                            .defaultIfEmpty("")
+                            .map(body -> new RateLimitedException("OpenAI API rate limit exceeded - " + body, retryAfter));
+                    })
+                .onStatus(status -> status.is4xxClientError(),
+                    clientResponse -> {
+                        log.error("❌ OpenAI API 4xx error: {}", clientResponse.statusCode());
+                        return clientResponse.bodyToMono(String.class)
+                            .map(body -> {
+                                log.error("🔍 Error response body: {}", body);
+                                return new RuntimeException("OpenAI API 4xx error: " + clientResponse.statusCode() + " - " + body);
+                            });
+                    })
+                .onStatus(status -> status.is5xxServerError(),
+                    clientResponse -> {
+                        log.error("❌ OpenAI API 5xx error: {}", clientResponse.statusCode());
+                        return clientResponse.bodyToMono(String.class)
+                            .map(body -> {
+                                log.error("🔍 Server error response: {}", body);
+                                return new RuntimeException("OpenAI API 5xx error: " + clientResponse.statusCode() + " - " + body);
+                            });
+                    })
+                // Decoded from the response buffers, no intermediate String or JsonNode tree
+                .toEntity(ChatCompletionResponse.class)
+                .doOnNext(entity -> rateLimiter.update(entity.getHeaders()))
+                .mapNotNull(HttpEntity::getBody);
+    }
+
+    /**
+     * Raw completion tokens using stream: true (server-sent events)
+     */
+    @Override
+    public Flux<String> stream(ChatRequest request) {
+        Map<String, Object> requestBody = request.toOpenAIBody();
+        requestBody.put("stream", true);
+
+        log.info("📡 Opening streaming request to OpenAI API endpoint: /chat/completions");
+
+        return openAIWebClient
+                .post()
+                .uri("/chat/completions")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .body(Mono.just(requestBody), Map.class)
+                .retrieve()
+                .onStatus(status -> status.isError(),
+                    clientResponse -> clientResponse.bodyToMono(String.class)
+                        .map(body -> new RuntimeException("OpenAI API streaming error: " + clientResponse.statusCode() + " - " + body)))
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                .map(event -> event.data() == null ? "" : event.data())
+                .takeWhile(data -> !"[DONE]".equals(data.trim()))
+                .filter(data -> !data.isBlank())
+                .concatMap(data -> {
+                    try {
+                        JsonNode chunk = objectMapper.readTree(data);
+                        String token = chunk.path("choices").path(0).path("delta").path("content").asText("");
+                        return token.isEmpty() ? Mono.empty() : Mono.just(token);
+                    } catch (Exception e) {
+                        return Mono.error(new RuntimeException("Invalid OpenAI stream chunk: " + e.getMessage(), e));
+                    }
+                });
+    }
+}
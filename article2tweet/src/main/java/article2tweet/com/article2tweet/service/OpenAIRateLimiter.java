@@ -0,0 +1,269 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.util.retry.Retry;
+
+/**
+ * Client-side requests-per-minute and tokens-per-minute budget for OpenAI.
+ * Budgets start from configured limits and are corrected from the x-ratelimit-* and
+ * Retry-After response headers, so calls are delayed instead of failing with 429.
+ */
+@Component
+@Slf4j
+public class OpenAIRateLimiter {
+
+    private static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+
+    private final boolean enabled;
+    private final double targetUtilization;
+    private final int maxRetries;
+    private final Duration maxWait;
+    private final Clock clock;
+
+    private long requestLimit;
+    private long tokenLimit;
+    private double remainingRequests;
+    private double remainingTokens;
+    private long requestsResetAt;
+    private long tokensResetAt;
+    private long blockedUntil;
+
+    private final Counter rateLimitedCounter;
+    private final Timer waitTimer;
+
+    @Autowired
+    public OpenAIRateLimiter(MeterRegistry meterRegistry,
+                             @Value("${openai.rate-limit.enabled:true}") boolean enabled,
+                             @Value("${openai.rate-limit.requests-per-minute:500}") long requestsPerMinute,
+                             @Value("${openai.rate-limit.tokens-per-minute:200000}") long tokensPerMinute,
+                             @Value("${openai.rate-limit.target-utilization:0.9}") double targetUtilization,
+                             @Value("${openai.rate-limit.max-retries:5}") int maxRetries,
+                             @Value("${openai.rate-limit.max-wait:PT2M}") Duration maxWait) {
+        this(meterRegistry, enabled, requestsPerMinute, tokensPerMinute, targetUtilization, maxRetries, maxWait,
+                Clock.systemUTC());
+    }
+
+    public OpenAIRateLimiter(MeterRegistry meterRegistry, boolean enabled, long requestsPerMinute,
+                             long tokensPerMinute, double targetUtilization, int maxRetries,
+                             Duration maxWait, Clock clock) {
+        this.enabled = enabled;
+        this.targetUtilization = targetUtilization;
+        this.maxRetries = maxRetries;
+        this.maxWait = maxWait;
+        this.clock = clock;
+        this.requestLimit = requestsPerMinute;
+        this.tokenLimit = tokensPerMinute;
+        this.remainingRequests = requestsPerMinute * targetUtilization;
+        this.remainingTokens = tokensPerMinute * targetUtilization;
+        this.requestsResetAt = clock.millis() + WINDOW_MILLIS;
+        this.tokensResetAt = clock.millis() + WINDOW_MILLIS;
+
+        Gauge.builder("openai.ratelimit.remaining", this, limiter -> limiter.getRemainingRequests())
+                .tag("budget", "requests").register(meterRegistry);
+        Gauge.builder("openai.ratelimit.remaining", this, limiter -> limiter.getRemainingTokens())
+                .tag("budget", "tokens").register(meterRegistry);
+        Gauge.builder("openai.ratelimit.limit", this, limiter -> limiter.requestLimit)
+                .tag("budget", "requests").register(meterRegistry);
+        Gauge.builder("openai.ratelimit.limit", this, limiter -> limiter.tokenLimit)
+                .tag("budget", "tokens").register(meterRegistry);
+        this.rateLimitedCounter = Counter.builder("openai.ratelimit.throttled").register(meterRegistry);
+        this.waitTimer = Timer.builder("openai.ratelimit.wait").register(meterRegistry);
+    }
+
+    /**
+     * Reserve budget for one request and return how long the caller must wait before sending it
+     */
+    public synchronized Duration reserve(int estimatedTokens) {
+        if (!enabled) {
+            return Duration.ZERO;
+        }
+
+        long now = clock.millis();
+        rollWindows(now);
+
+        long start = Math.max(now, blockedUntil);
+        if (remainingRequests < 1) {
+            start = Math.max(start, requestsResetAt);
+        }
+        if (remainingTokens < estimatedTokens) {
+            start = Math.max(start, tokensResetAt);
+        }
+        Duration wait = Duration.ofMillis(start - now);
+        if (wait.compareTo(maxWait) > 0) {
+            throw new RateLimitedException("OpenAI rate limit budget exhausted for " + wait.toSeconds() + "s", wait);
+        }
+
+        // Reservations past the reset come out of the next window's budget
+        rollWindows(start);
+        remainingRequests -= 1;
+        remainingTokens -= estimatedTokens;
+
+        if (!wait.isZero()) {
+            log.info("⏳ Delaying OpenAI call {} ms to stay under rate limits", wait.toMillis());
+        }
+        waitTimer.record(wait);
+        return wait;
+    }
+
+    /**
+     * Reserve budget only if the request can go out right now; used for optional extra calls
+     */
+    public synchronized boolean tryReserve(int estimatedTokens) {
+        if (!enabled) {
+            return true;
+        }
+
+        long now = clock.millis();
+        rollWindows(now);
+        if (now < blockedUntil || remainingRequests < 1 || remainingTokens < estimatedTokens) {
+            return false;
+        }
+        remainingRequests -= 1;
+        remainingTokens -= estimatedTokens;
+        return true;
+    }
+
+    /**
+     * Correct the local budget from the x-ratelimit-* headers of a response
+     */
+    public synchronized void update(HttpHeaders headers) {
+        long now = clock.millis();
+
+        Long limitRequests = parseLong(headers.getFirst("x-ratelimit-limit-requests"));
+        Long limitTokens = parseLong(headers.getFirst("x-ratelimit-limit-tokens"));
+        Long remainingRequestsHeader = parseLong(headers.getFirst("x-ratelimit-remaining-requests"));
+        Long remainingTokensHeader = parseLong(headers.getFirst("x-ratelimit-remaining-tokens"));
+        Duration resetRequests = parseResetDuration(headers.getFirst("x-ratelimit-reset-requests"));
+        Duration resetTokens = parseResetDuration(headers.getFirst("x-ratelimit-reset-tokens"));
+
+        if (limitRequests != null) {
+            requestLimit = limitRequests;
+        }
+        if (limitTokens != null) {
+            tokenLimit = limitTokens;
+        }
+        // Keep a safety margin below the server's view so bursts don't tip us over
+        if (remainingRequestsHeader != null) {
+            double margin = requestLimit * (1 - targetUtilization);
+            remainingRequests = Math.min(remainingRequests, remainingRequestsHeader - margin);
+        }
+        if (remainingTokensHeader != null) {
+            double margin = tokenLimit * (1 - targetUtilization);
+            remainingTokens = Math.min(remainingTokens, remainingTokensHeader - margin);
+        }
+        if (resetRequests != null) {
+            requestsResetAt = now + resetRequests.toMillis();
+        }
+        if (resetTokens != null) {
+            tokensResetAt = now + resetTokens.toMillis();
+        }
+    }
+
+    /**
+     * Record a 429: nothing is sent until Retry-After (or the earliest reset) has passed
+     */
+    public synchronized Duration onRateLimited(HttpHeaders headers) {
+        update(headers);
+        rateLimitedCounter.increment();
+
+        long now = clock.millis();
+        Duration retryAfter = parseRetryAfter(headers);
+        if (retryAfter == null) {
+            retryAfter = Duration.ofMillis(Math.max(1000, Math.min(requestsResetAt, tokensResetAt) - now));
+        }
+        blockedUntil = Math.max(blockedUntil, now + retryAfter.toMillis());
+        log.warn("🚦 OpenAI rate limited, pausing calls for {} ms", retryAfter.toMillis());
+        return retryAfter;
+    }
+
+    /**
+     * Retry only 429s we are willing to wait out; the wait itself happens in reserve() on resubscription
+     */
+    public Retry retrySpec() {
+        return Retry.max(maxRetries)
+                .filter(e -> e instanceof RateLimitedException rateLimited
+                        && rateLimited.getRetryAfter().compareTo(maxWait) <= 0)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    public synchronized double getRemainingRequests() {
+        return Math.max(0, remainingRequests);
+    }
+
+    public synchronized double getRemainingTokens() {
+        return Math.max(0, remainingTokens);
+    }
+
+    private void rollWindows(long now) {
+        if (now >= requestsResetAt) {
+            remainingRequests = requestLimit * targetUtilization;
+            requestsResetAt = now + WINDOW_MILLIS;
+        }
+        if (now >= tokensResetAt) {
+            remainingTokens = tokenLimit * targetUtilization;
+            tokensResetAt = now + WINDOW_MILLIS;
+        }
+    }
+
+    private Duration parseRetryAfter(HttpHeaders headers) {
+        String retryAfterMs = headers.getFirst("retry-after-ms");
+        if (retryAfterMs != null) {
+            Long millis = parseLong(retryAfterMs);
+            if (millis != null) {
+                return Duration.ofMillis(millis);
+            }
+        }
+        Long seconds = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+        return seconds == null ? null : Duration.ofSeconds(seconds);
+    }
+
+    /**
+     * Parse OpenAI reset values such as "1s", "6m0s", "20ms" or "1m30.5s"
+     */
+    static Duration parseResetDuration(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Matcher matcher = DURATION_PART.matcher(value.trim());
+        double millis = 0;
+        boolean matched = false;
+        while (matcher.find()) {
+            matched = true;
+            double amount = Double.parseDouble(matcher.group(1));
+            millis += switch (matcher.group(2)) {
+                case "h" -> amount * 3_600_000;
+                case "m" -> amount * 60_000;
+                case "s" -> amount * 1000;
+                default -> amount;
+            };
+        }
+        return matched ? Duration.ofMillis((long) Math.ceil(millis)) : null;
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return (long) Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -2,18 +2,33 @@ package article2tweet.com.article2tweet.service;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import article2tweet.com.article2tweet.cache.InsightStore;
+import article2tweet.com.article2tweet.cache.LlmResponseCache;
+import article2tweet.com.article2tweet.cache.SingleFlight;
+import article2tweet.com.article2tweet.domain.Tweet;
+import article2tweet.com.article2tweet.domain.TweetLength;
+import article2tweet.com.article2tweet.service.ModelPolicy.Step;
+import article2tweet.com.article2tweet.service.ModelPolicy.StepModel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -23,324 +38,817 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class OpenAIService {
     
-    private final WebClient openAIWebClient;
     private final ObjectMapper objectMapper;
-    private final String apiKey;
+    private final LlmRouter llmRouter;
+    private final LlmResponseCache responseCache;
+    private final InsightStore insightStore;
+    private final OpenAIRateLimiter rateLimiter;
+    private final RequestHedger hedger;
+    private final SingleFlight<ChatCompletionResponse> completionFlights;
+    private final ModelPolicy modelPolicy;
+    private final MeterRegistry meterRegistry;
     
     // Constants for dillondoa's casual style
     private static final int TARGET_INSIGHTS = 3;
     private static final int MAX_TWEET_LENGTH = 240; // Leave room for numbering
     
+    // Bump whenever PromptTemplates.insightExtraction changes so stored insights are not reused
+    private static final String INSIGHT_PROMPT_VERSION = "insights-v2";
+    
+    // Map-reduce extraction for articles too long for a single prompt
+    @Value("${openai.insights.chunking.enabled:true}")
+    private boolean chunkingEnabled;
+    
+    @Value("${openai.insights.chunking.threshold-tokens:3000}")
+    private int chunkingThresholdTokens;
+    
+    @Value("${openai.insights.chunking.chunk-tokens:1500}")
+    private int chunkTokens;
+    
+    @Value("${openai.insights.chunking.parallelism:4}")
+    private int chunkingParallelism;
+    
+    @Value("${openai.insights.chunking.candidates-per-chunk:3}")
+    private int chunkCandidatesPerChunk;
+    
+    // Hook and casual tweets: ask for this many candidates in one request (n) and keep the best
+    @Value("${openai.candidates.count:1}")
+    private int candidateCount = 1;
+    
     public OpenAIService(ObjectMapper objectMapper,
-                        @Value("${openai.api.key:}") String apiKey) {
+                        LlmRouter llmRouter,
+                        LlmResponseCache responseCache,
+                        InsightStore insightStore,
+                        OpenAIRateLimiter rateLimiter,
+                        RequestHedger hedger,
+                        ModelPolicy modelPolicy,
+                        MeterRegistry meterRegistry) {
         this.objectMapper = objectMapper;
-        this.apiKey = apiKey;
-        // Don't create WebClient in constructor - create it dynamically when needed
-        this.openAIWebClient = null; // Will be created in getWebClient() method
+        this.llmRouter = llmRouter;
+        this.responseCache = responseCache;
+        this.insightStore = insightStore;
+        this.rateLimiter = rateLimiter;
+        this.hedger = hedger;
+        this.completionFlights = new SingleFlight<>("openai-completions", meterRegistry);
+        this.modelPolicy = modelPolicy;
+        this.meterRegistry = meterRegistry;
     }
     
     /**
-     * Get or create WebClient with current API key
+     * Extract exactly 3 key insights from article content using OpenAI
      */
-    private WebClient getWebClient() {
-        if (apiKey == null || apiKey.isEmpty()) {
-            throw new RuntimeException("OpenAI API key is not configured");
-        }
-        
-        return WebClient.builder()
-                .baseUrl("https://api.openai.com/v1")
-                .defaultHeader("Authorization", "Bearer " + apiKey)
-                .defaultHeader("Content-Type", "application/json")
-                .build();
+    public List<String> extractKeyInsights(String articleContent, String articleTitle) {
+        return extractKeyInsightsReactive(articleContent, articleTitle).block();
     }
     
     /**
-     * Extract exactly 3 key insights from article content using OpenAI
+     * Non-blocking variant of {@link #extractKeyInsights(String, String)}
      */
-    public List<String> extractKeyInsights(String articleContent, String articleTitle) {
+    public Mono<List<String>> extractKeyInsightsReactive(String articleContent, String articleTitle) {
+        return extractKeyInsightsReactive(promptContext(articleTitle, articleContent));
+    }
+    
+    /**
+     * Extract insights as the first call of a thread, priming the shared article prefix
+     */
+    public List<String> extractKeyInsights(PromptContext context) {
+        return extractKeyInsightsReactive(context).block();
+    }
+    
+    /**
+     * Non-blocking variant of {@link #extractKeyInsights(PromptContext)}
+     */
+    public Mono<List<String>> extractKeyInsightsReactive(PromptContext context) {
+        String articleContent = context.getArticleContent();
+        String articleTitle = context.getArticleTitle();
         log.info("🤖 Starting OpenAI insight extraction for article: {}", articleTitle);
         
-        // Enhanced API key validation
-        if (apiKey == null || apiKey.isEmpty()) {
-            log.warn("❌ OpenAI API key not configured, falling back to mock insights");
-            log.info("💡 To enable AI features, set OPENAI_API_KEY in your .env file");
-            return createMockInsights(articleContent, articleTitle);
+        if (!llmRouter.isConfigured()) {
+            log.warn("❌ No LLM provider configured, falling back to mock insights");
+            log.info("💡 To enable AI features, set OPENAI_API_KEY (or ANTHROPIC_API_KEY) in your .env file");
+            return Mono.just(createMockInsights(articleContent, articleTitle));
         }
         
-        if (apiKey.startsWith("sk-") && apiKey.length() > 20) {
-            log.info("✅ Valid OpenAI API key detected ({}...)", apiKey.substring(0, 8));
-        } else {
-            log.warn("⚠️ OpenAI API key format looks invalid, attempting anyway...");
+        // Same article + same prompt version -> same insights, skip the expensive call
+        String fingerprint = insightStore.fingerprint(INSIGHT_PROMPT_VERSION, articleTitle, articleContent);
+        Optional<List<String>> storedInsights = insightStore.get(fingerprint);
+        if (storedInsights.isPresent()) {
+            return Mono.just(new ArrayList<>(storedInsights.get()));
         }
         
-        String prompt = createInsightExtractionPrompt(articleContent, articleTitle);
-        log.debug("📝 Generated prompt length: {} characters", prompt.length());
-        
-        try {
-            log.info("🌐 Making OpenAI API call for insight extraction...");
-            String response = callOpenAI(prompt, "gpt-3.5-turbo", 0.7, 300);
-            log.info("✅ OpenAI API call successful, parsing response...");
-            
-            List<String> insights = parseInsightsFromResponse(response);
-            
-            log.info("🎉 Successfully extracted {} AI-powered insights", insights.size());
-            insights.forEach(insight -> log.debug("💡 Insight: {}", insight.substring(0, Math.min(50, insight.length())) + "..."));
-            return insights;
+        Mono<List<String>> insights;
+        int estimatedTokens = ArticleChunker.estimateTokens(articleContent);
+        if (chunkingEnabled && estimatedTokens > chunkingThresholdTokens) {
+            log.info("✂️ Article is ~{} tokens, using chunked map-reduce extraction", estimatedTokens);
+            insights = extractInsightsMapReduce(articleContent, articleTitle);
+        } else {
+            ChatPrompt prompt = PromptTemplates.insightExtraction(context);
+            log.debug("📝 Generated prompt length: ~{} tokens", prompt.estimateTokens());
             
-        } catch (Exception e) {
-            log.error("❌ OpenAI API call failed: {}", e.getMessage());
-            log.error("🔍 Error details: ", e);
-            log.warn("🔄 Falling back to mock insights due to API error");
-            return createMockInsights(articleContent, articleTitle);
+            log.info("🌐 Making OpenAI API call for insight extraction...");
+            insights = callStep(Step.EXTRACTION, context, prompt)
+                    .map(response -> {
+                        log.info("✅ OpenAI API call successful, parsing response...");
+                        return parseInsightsFromResponse(response);
+                    });
         }
+        
+        return insights
+                .doOnNext(result -> {
+                    insightStore.put(fingerprint, result);
+                    log.info("🎉 Successfully extracted {} AI-powered insights", result.size());
+                    result.forEach(insight -> log.debug("💡 Insight: {}", insight.substring(0, Math.min(50, insight.length())) + "..."));
+                })
+                .onErrorResume(e -> {
+                    log.error("❌ OpenAI API call failed: {}", e.getMessage());
+                    log.error("🔍 Error details: ", e);
+                    log.warn("🔄 Falling back to mock insights due to API error");
+                    return Mono.just(createMockInsights(articleContent, articleTitle));
+                });
     }
     
     /**
      * Generate a casual, engaging hook tweet for the thread
      */
     public String generateHookTweet(String articleTitle, String firstInsight) {
+        return generateHookTweetReactive(articleTitle, firstInsight).block();
+    }
+    
+    /**
+     * Non-blocking variant of {@link #generateHookTweet(String, String)}
+     */
+    public Mono<String> generateHookTweetReactive(String articleTitle, String firstInsight) {
+        return generateHookTweetReactive(PromptContext.of(articleTitle, null), firstInsight);
+    }
+    
+    /**
+     * Generate the hook behind the thread's shared article prefix
+     */
+    public String generateHookTweet(PromptContext context, String firstInsight) {
+        return generateHookTweetReactive(context, firstInsight).block();
+    }
+    
+    /**
+     * Non-blocking variant of {@link #generateHookTweet(PromptContext, String)}
+     */
+    public Mono<String> generateHookTweetReactive(PromptContext context, String firstInsight) {
+        String articleTitle = context.getArticleTitle();
         log.info("🎯 Generating AI-powered hook tweet for: {}", articleTitle);
         
-        if (apiKey == null || apiKey.isEmpty()) {
-            log.warn("❌ No OpenAI API key, using mock hook");
-            return createMockHook(articleTitle, firstInsight);
+        if (!llmRouter.isConfigured()) {
+            log.warn("❌ No LLM provider configured, using mock hook");
+            return Mono.just(createMockHook(articleTitle, firstInsight));
         }
         
-        String prompt = createHookPrompt(articleTitle, firstInsight);
-        
-        try {
-            log.info("🌐 Calling OpenAI for hook generation...");
-            String hook = callOpenAI(prompt, "gpt-3.5-turbo", 0.8, 150);
-            String optimizedHook = optimizeForTwitter(hook.trim(), MAX_TWEET_LENGTH);
-            log.info("✅ Generated hook tweet ({} chars): {}", optimizedHook.length(), 
-                    optimizedHook.substring(0, Math.min(50, optimizedHook.length())) + "...");
-            return optimizedHook;
-            
-        } catch (Exception e) {
-            log.error("❌ Hook generation failed: {}", e.getMessage(), e);
-            log.warn("🔄 Falling back to mock hook");
-            return createMockHook(articleTitle, firstInsight);
-        }
+        log.info("🌐 Calling OpenAI for hook generation...");
+        return generateTweet(Step.HOOK, context, PromptTemplates.hook(context, firstInsight))
+                .map(hook -> {
+                    String optimizedHook = optimizeForTwitter(hook.trim(), MAX_TWEET_LENGTH);
+                    log.info("✅ Generated hook tweet ({} chars): {}", TweetLength.weightedLength(optimizedHook), 
+                            optimizedHook.substring(0, Math.min(50, optimizedHook.length())) + "...");
+                    return optimizedHook;
+                })
+                .onErrorResume(e -> {
+                    log.error("❌ Hook generation failed: {}", e.getMessage(), e);
+                    log.warn("🔄 Falling back to mock hook");
+                    return Mono.just(createMockHook(articleTitle, firstInsight));
+                })
+                .doOnNext(context::addThreadTweet);
     }
     
     /**
      * Convert an insight into a casual Twitter post
      */
     public String generateCasualTweet(String insight, int tweetNumber) {
+        return generateCasualTweetReactive(insight, tweetNumber).block();
+    }
+    
+    /**
+     * Non-blocking variant of {@link #generateCasualTweet(String, int)}
+     */
+    public Mono<String> generateCasualTweetReactive(String insight, int tweetNumber) {
+        return generateCasualTweetReactive(PromptContext.none(), insight, tweetNumber);
+    }
+    
+    /**
+     * Convert an insight into a casual post behind the thread's shared article prefix
+     */
+    public String generateCasualTweet(PromptContext context, String insight, int tweetNumber) {
+        return generateCasualTweetReactive(context, insight, tweetNumber).block();
+    }
+    
+    /**
+     * Non-blocking variant of {@link #generateCasualTweet(PromptContext, String, int)}
+     */
+    public Mono<String> generateCasualTweetReactive(PromptContext context, String insight, int tweetNumber) {
         log.info("Generating casual tweet #{}", tweetNumber);
         
-        if (apiKey == null || apiKey.isEmpty()) {
-            return createMockTweet(insight, tweetNumber);
+        if (!llmRouter.isConfigured()) {
+            return Mono.just(createMockTweet(insight, tweetNumber));
         }
         
-        String prompt = createCasualTweetPrompt(insight, tweetNumber);
-        
-        try {
-            String tweet = callOpenAI(prompt, "gpt-3.5-turbo", 0.8, 150);
-            return optimizeForTwitter(tweet.trim(), MAX_TWEET_LENGTH);
-            
-        } catch (Exception e) {
-            log.error("Error generating casual tweet: {}", e.getMessage(), e);
-            return createMockTweet(insight, tweetNumber);
-        }
+        return generateTweet(Step.CASUAL, context, PromptTemplates.casualTweet(context, insight, tweetNumber))
+                .map(tweet -> optimizeForTwitter(tweet.trim(), MAX_TWEET_LENGTH))
+                .onErrorResume(e -> {
+                    log.error("Error generating casual tweet: {}", e.getMessage(), e);
+                    return Mono.just(createMockTweet(insight, tweetNumber));
+                })
+                .doOnNext(context::addThreadTweet);
     }
     
     /**
      * Generate a wrap-up tweet with call-to-action
      */
     public String generateWrapUpTweet(String articleTitle, String articleUrl) {
+        return generateWrapUpTweetReactive(articleTitle, articleUrl).block();
+    }
+    
+    /**
+     * Non-blocking variant of {@link #generateWrapUpTweet(String, String)}
+     */
+    public Mono<String> generateWrapUpTweetReactive(String articleTitle, String articleUrl) {
+        return generateWrapUpTweetReactive(PromptContext.of(articleTitle, null), articleUrl);
+    }
+    
+    /**
+     * Generate the wrap-up behind the thread's shared article prefix
+     */
+    public String generateWrapUpTweet(PromptContext context, String articleUrl) {
+        return generateWrapUpTweetReactive(context, articleUrl).block();
+    }
+    
+    /**
+     * Non-blocking variant of {@link #generateWrapUpTweet(PromptContext, String)}
+     */
+    public Mono<String> generateWrapUpTweetReactive(PromptContext context, String articleUrl) {
+        String articleTitle = context.getArticleTitle();
         log.info("Generating wrap-up tweet for: {}", articleTitle);
         
-        if (apiKey == null || apiKey.isEmpty()) {
-            return String.format("That's a wrap on %s!\n\nFull article: %s\n\nThoughts?", 
-                               articleTitle, articleUrl);
+        if (!llmRouter.isConfigured()) {
+            return Mono.just(String.format("That's a wrap on %s!\n\nFull article: %s\n\nThoughts?", 
+                               articleTitle, articleUrl));
         }
         
-        String prompt = createWrapUpPrompt(articleTitle);
+        return callStep(Step.WRAP_UP, context, PromptTemplates.wrapUp(context))
+                .map(wrapUp -> {
+                    // Ensure we include the article URL
+                    String finalTweet = wrapUp.trim() + "\n\nFull article: " + articleUrl;
+                    return optimizeForTwitter(finalTweet, MAX_TWEET_LENGTH);
+                })
+                .onErrorResume(e -> {
+                    log.error("Error generating wrap-up: {}", e.getMessage(), e);
+                    return Mono.just(String.format("That's a wrap!\n\nFull article: %s\n\nThoughts?", articleUrl));
+                });
+    }
+    
+    /**
+     * Generate the whole thread (insights + all 5 tweets) in a single JSON-mode request.
+     * Only tweets that fail validation are regenerated through the per-tweet methods.
+     */
+    public List<Tweet> generateStructuredThread(String articleContent, String articleTitle, String articleUrl) {
+        return generateStructuredThreadReactive(articleContent, articleTitle, articleUrl).block();
+    }
+    
+    /**
+     * Structured thread whose calls are tallied on the caller's context
+     */
+    public List<Tweet> generateStructuredThread(PromptContext context, String articleUrl) {
+        return generateStructuredThreadReactive(context, articleUrl).block();
+    }
+    
+    /**
+     * Non-blocking variant of {@link #generateStructuredThread(String, String, String)}
+     */
+    public Mono<List<Tweet>> generateStructuredThreadReactive(String articleContent, String articleTitle, String articleUrl) {
+        return Mono.defer(() -> {
+            PromptContext context = promptContext(articleTitle, articleContent);
+            return generateStructuredThreadReactive(context, articleUrl)
+                    .doOnNext(tweets -> log.info("🧊 Thread token usage: {}", context.usageSummary()));
+        });
+    }
+    
+    /**
+     * Non-blocking variant of {@link #generateStructuredThread(PromptContext, String)}
+     */
+    public Mono<List<Tweet>> generateStructuredThreadReactive(PromptContext context, String articleUrl) {
+        log.info("🧩 Generating structured thread in a single request for: {}", context.getArticleTitle());
+        
+        if (!llmRouter.isConfigured()) {
+            log.warn("❌ No LLM provider configured, using per-tweet mock path");
+            return generatePerTweetThread(context, articleUrl);
+        }
         
+        return Mono.defer(() -> {
+            StepModel settings = modelPolicy.forStep(Step.THREAD);
+            return callStep(Step.THREAD, context, PromptTemplates.structuredThread(context),
+                            settings.temperature(), settings.maxTokens(),
+                            Map.of("response_format", Map.of("type", "json_object")))
+                    .onErrorResume(e -> {
+                        log.error("❌ Structured thread generation failed: {}", e.getMessage(), e);
+                        log.warn("🔄 Falling back to per-tweet generation");
+                        return Mono.empty();
+                    })
+                    .flatMap(response -> structuredThreadFromResponse(response, context, articleUrl))
+                    .switchIfEmpty(Mono.defer(() -> generatePerTweetThread(context, articleUrl)));
+        });
+    }
+    
+    /**
+     * Chat completion request body for a structured thread, shared by the live and Batch API paths
+     */
+    public Map<String, Object> structuredThreadRequestBody(String articleContent, String articleTitle) {
+        StepModel settings = modelPolicy.forStep(Step.THREAD);
+        return ChatRequest.of(settings.model(),
+                        PromptTemplates.structuredThread(promptContext(articleTitle, articleContent)),
+                        settings.temperature(), settings.maxTokens(),
+                        Map.of("response_format", Map.of("type", "json_object")))
+                .toOpenAIBody();
+    }
+    
+    /**
+     * Turn a structured-thread JSON completion into 5 tweets; any tweet that fails
+     * validation (or an unparsable response) is regenerated through the per-tweet path
+     */
+    public List<Tweet> structuredThreadFromResponse(String response, String articleContent,
+                                                    String articleTitle, String articleUrl) {
+        return structuredThreadFromResponseReactive(response, articleContent, articleTitle, articleUrl).block();
+    }
+    
+    /**
+     * Non-blocking variant of {@link #structuredThreadFromResponse(String, String, String, String)}
+     */
+    public Mono<List<Tweet>> structuredThreadFromResponseReactive(String response, String articleContent,
+                                                                  String articleTitle, String articleUrl) {
+        return structuredThreadFromResponse(response, promptContext(articleTitle, articleContent), articleUrl);
+    }
+    
+    /**
+     * Tweets parsed from a structured response; regenerated tweets reuse the thread's article prefix
+     */
+    private Mono<List<Tweet>> structuredThreadFromResponse(String response, PromptContext context, String articleUrl) {
+        JsonNode thread;
         try {
-            String wrapUp = callOpenAI(prompt, "gpt-3.5-turbo", 0.7, 100);
-            // Ensure we include the article URL
-            String finalTweet = wrapUp.trim() + "\n\nFull article: " + articleUrl;
-            return optimizeForTwitter(finalTweet, MAX_TWEET_LENGTH);
-            
+            thread = objectMapper.readTree(response);
         } catch (Exception e) {
-            log.error("Error generating wrap-up: {}", e.getMessage(), e);
-            return String.format("That's a wrap!\n\nFull article: %s\n\nThoughts?", articleUrl);
+            log.error("❌ Structured thread response was not valid JSON: {}", e.getMessage());
+            log.warn("🔄 Falling back to per-tweet generation");
+            return generatePerTweetThread(context, articleUrl);
         }
+        
+        List<String> parsedInsights = new ArrayList<>();
+        thread.path("insights").forEach(node -> {
+            if (!node.asText().isBlank()) {
+                parsedInsights.add(node.asText().trim());
+            }
+        });
+        Mono<List<String>> insights;
+        if (parsedInsights.size() < TARGET_INSIGHTS) {
+            log.warn("⚠️ Structured response had {} insights, extracting separately", parsedInsights.size());
+            insights = extractKeyInsightsReactive(context);
+        } else {
+            insights = Mono.just(parsedInsights);
+        }
+        
+        return insights.flatMap(threadInsights -> {
+            List<Mono<Tweet>> tweets = new ArrayList<>();
+            AtomicInteger fallbacks = new AtomicInteger();
+            
+            String hook = thread.path("hook").asText("").trim();
+            tweets.add(validOrRegenerated(1, hook, isValidGeneratedTweet(hook), fallbacks,
+                    () -> generateHookTweetReactive(context, threadInsights.get(0))));
+            
+            JsonNode casualTweets = thread.path("tweets");
+            for (int i = 0; i < TARGET_INSIGHTS; i++) {
+                String tweet = casualTweets.path(i).asText("").trim();
+                String insight = threadInsights.get(i);
+                int order = i + 2;
+                tweets.add(validOrRegenerated(order, tweet, isValidGeneratedTweet(tweet), fallbacks,
+                        () -> generateCasualTweetReactive(context, insight, order)));
+            }
+            
+            String wrapUp = thread.path("wrap_up").asText("").trim();
+            String wrapUpTweet = wrapUp + "\n\nFull article: " + articleUrl;
+            tweets.add(validOrRegenerated(5, wrapUpTweet, !wrapUp.isEmpty() && isValidGeneratedTweet(wrapUpTweet),
+                    fallbacks, () -> generateWrapUpTweetReactive(context, articleUrl)));
+            
+            return Flux.concat(tweets)
+                    .collectList()
+                    .doOnNext(result -> log.info("✅ Structured thread generated with {} per-tweet fallback(s)", fallbacks.get()));
+        });
     }
     
-    // Private helper methods
-    
-    private String createInsightExtractionPrompt(String content, String title) {
-        return String.format("""
-                Extract exactly 3 key insights from this article that would be valuable for a casual Twitter audience.
-                
-                Article: "%s"
-                Content: %s
-                
-                Requirements:
-                - Focus on practical, actionable, or surprising points
-                - Write in a conversational, casual tone
-                - Each insight should be 1-2 sentences max
-                - Make them engaging for developers and tech enthusiasts
-                - Avoid buzzwords and corporate speak
-                
-                Return only the 3 insights, numbered 1-3:
-                """, title, content);
-    }
-    
-    private String createHookPrompt(String title, String firstInsight) {
-        return String.format("""
-                Create an engaging Twitter thread hook for this article.
-                
-                Article Title: "%s"
-                First Key Point: "%s"
-                
-                Requirements:
-                - Casual, conversational tone
-                - Hook the reader immediately
-                - Under 220 characters
-                - No corporate buzzwords
-                - Include thread emoji (🧵) at start
-                - End with something that makes people want to read more
-                
-                Return only the hook tweet:
-                """, title, firstInsight);
-    }
-    
-    private String createCasualTweetPrompt(String insight, int tweetNumber) {
-        return String.format("""
-                Convert this insight into a casual Twitter post:
-                
-                Insight: "%s"
-                Tweet Position: #%d in thread
-                
-                Requirements:
-                - Conversational, casual tone
-                - Under 220 characters
-                - No corporate speak or buzzwords
-                - Make it engaging and relatable
-                - Add personality but stay professional
-                - Use minimal emojis (max 1-2)
-                
-                Return only the tweet:
-                """, insight, tweetNumber);
-    }
-    
-    private String createWrapUpPrompt(String title) {
-        return String.format("""
-                Create a casual wrap-up tweet for this article thread:
-                
-                Article: "%s"
-                
-                Requirements:
-                - Casual, friendly tone
-                - Thank readers or ask for engagement
-                - Under 150 characters (need room for article URL)
-                - No corporate speak
-                - Encourage discussion or questions
-                
-                Return only the wrap-up text (no URL):
-                """, title);
-    }
-    
-    private String callOpenAI(String prompt, String model, double temperature, int maxTokens) {
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("model", model);
-        requestBody.put("messages", Arrays.asList(
-            Map.of("role", "user", "content", prompt)
-        ));
-        requestBody.put("temperature", temperature);
-        requestBody.put("max_tokens", maxTokens);
+    /**
+     * Stream the thread tweet-by-tweet from a single streaming completion, so the first
+     * tweet is available shortly after the first tokens arrive
+     */
+    public Flux<Tweet> streamThreadTweets(String articleContent, String articleTitle, String articleUrl) {
+        log.info("📡 Streaming thread for: {}", articleTitle);
         
-        log.debug("🔧 Request body: model={}, temperature={}, max_tokens={}", model, temperature, maxTokens);
-        log.debug("📝 Prompt preview: {}...", prompt.substring(0, Math.min(200, prompt.length())));
+        if (!llmRouter.isConfigured()) {
+            log.warn("❌ No LLM provider configured, streaming per-tweet mock path");
+            return generatePerTweetThread(promptContext(articleTitle, articleContent), articleUrl)
+                    .flatMapIterable(tweets -> tweets);
+        }
         
-        try {
-            log.info("📡 Sending request to OpenAI API endpoint: /chat/completions");
-            log.info("🔑 Using API key: {}...", apiKey.substring(0, Math.min(15, apiKey.length())));
+        return Flux.defer(() -> {
+            PromptContext context = promptContext(articleTitle, articleContent);
+            TweetStreamSplitter splitter = new TweetStreamSplitter();
+            AtomicInteger emitted = new AtomicInteger();
             
-            String response = getWebClient()
-                    .post()
-                    .uri("/chat/completions")
-                    .body(Mono.just(requestBody), Map.class)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError(), 
-                        clientResponse -> {
-                            log.error("❌ OpenAI API 4xx error: {}", clientResponse.statusCode());
-                            return clientResponse.bodyToMono(String.class)
-                                .map(body -> {
-                                    log.error("🔍 Error response body: {}", body);
-                                    return new RuntimeException("OpenAI API 4xx error: " + clientResponse.statusCode() + " - " + body);
-                                });
-                        })
-                    .onStatus(status -> status.is5xxServerError(),
-                        clientResponse -> {
-                            log.error("❌ OpenAI API 5xx error: {}", clientResponse.statusCode());
-                            return clientResponse.bodyToMono(String.class)
-                                .map(body -> {
-                                    log.error("🔍 Server error response: {}", body);
-                                    return new RuntimeException("OpenAI API 5xx error: " + clientResponse.statusCode() + " - " + body);
-                                });
-                        })
-                    .bodyToMono(String.class)
-                    .block();
-                    
-            log.info("✅ Received response from OpenAI API (length: {} chars)", response != null ? response.length() : 0);
-            log.debug("📄 Raw response: {}", response);
+            // Fill in only the positions the stream did not deliver (errors or a short response)
+            Flux<Tweet> remainder = Flux.defer(() -> generateThreadFrom(context, articleUrl, emitted.get() + 1));
+            
+            StepModel settings = modelPolicy.forStep(Step.THREAD);
+            return streamOpenAI(PromptTemplates.streamingThread(context), settings.model(),
+                            settings.temperature(), settings.maxTokens())
+                    .concatMapIterable(splitter::accept)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(splitter.flush())))
+                    .take(5)
+                    .map(content -> {
+                        int order = emitted.incrementAndGet();
+                        String tweet = content.trim();
+                        if (order == 5) {
+                            tweet = tweet + "\n\nFull article: " + articleUrl;
+                        }
+                        return new Tweet(order, optimizeForTwitter(tweet, MAX_TWEET_LENGTH));
+                    })
+                    .doOnNext(tweet -> context.addThreadTweet(tweet.getContent()))
+                    .onErrorResume(e -> {
+                        log.error("❌ Streaming thread generation failed after {} tweet(s): {}", emitted.get(), e.getMessage(), e);
+                        log.warn("🔄 Falling back to per-tweet generation for the rest of the thread");
+                        return Flux.empty();
+                    })
+                    .concatWith(remainder);
+        });
+    }
+    
+    /**
+     * Stream raw completion tokens from the best available provider
+     */
+    public Flux<String> streamOpenAI(String prompt, String model, double temperature, int maxTokens) {
+        return streamOpenAI(new ChatPrompt(List.of(new ChatCompletionResponse.Message("user", prompt))),
+                model, temperature, maxTokens);
+    }
+    
+    /**
+     * Stream raw completion tokens for a multi-message prompt
+     */
+    public Flux<String> streamOpenAI(ChatPrompt prompt, String model, double temperature, int maxTokens) {
+        return llmRouter.stream(ChatRequest.of(model, prompt, temperature, maxTokens, Map.of()));
+    }
+    
+    // Private helper methods
+    
+    /**
+     * Article prefix for one thread; bodies over the chunking threshold are condensed, matching
+     * extraction, which handles those chunk by chunk instead of from the prefix
+     */
+    private PromptContext promptContext(String articleTitle, String articleContent) {
+        return PromptContext.of(articleTitle, articleContent, chunkingThresholdTokens);
+    }
+    
+    /**
+     * Map: extract candidate insights from each chunk in parallel.
+     * Reduce: one call picks the final TARGET_INSIGHTS from all candidates.
+     */
+    private Mono<List<String>> extractInsightsMapReduce(String articleContent, String articleTitle) {
+        List<String> chunks = ArticleChunker.chunk(articleContent, chunkTokens);
+        log.info("🗺️ Extracting candidates from {} chunks (parallelism {})", chunks.size(), chunkingParallelism);
+        
+        return Flux.range(0, chunks.size())
+                .flatMapSequential(index -> extractChunkCandidates(chunks.get(index), index + 1, chunks.size(), articleTitle)
+                        .onErrorResume(e -> {
+                            log.warn("⚠️ Chunk {}/{} extraction failed: {}", index + 1, chunks.size(), e.getMessage());
+                            return Mono.just(List.of());
+                        }), Math.max(1, chunkingParallelism))
+                .flatMapIterable(chunkCandidates -> chunkCandidates)
+                .collectList()
+                .flatMap(candidates -> {
+                    if (candidates.isEmpty()) {
+                        return Mono.error(new RuntimeException("No candidate insights extracted from any chunk"));
+                    }
+                    if (candidates.size() <= TARGET_INSIGHTS) {
+                        return Mono.just(parseInsightsFromLines(candidates));
+                    }
                     
-            JsonNode root = objectMapper.readTree(response);
+                    log.info("🧮 Reducing {} candidate insights to {}", candidates.size(), TARGET_INSIGHTS);
+                    return callStep(Step.EXTRACTION, PromptContext.none(),
+                                    PromptTemplates.insightReduce(articleTitle, candidates), 0.3, 300, Map.of())
+                            .map(this::parseInsightsFromResponse);
+                });
+    }
+    
+    private Mono<List<String>> extractChunkCandidates(String chunk, int chunkNumber, int totalChunks, String articleTitle) {
+        ChatPrompt prompt = PromptTemplates.chunkInsights(articleTitle, chunk, chunkNumber, totalChunks,
+                chunkCandidatesPerChunk);
+        return callStep(Step.EXTRACTION, PromptContext.none(), prompt, 0.3, 250, Map.of())
+                .map(this::parseNumberedLines);
+    }
+    
+    /**
+     * Insights first, then hook, insight tweets and wrap-up one after another
+     */
+    private Mono<List<Tweet>> generatePerTweetThread(PromptContext context, String articleUrl) {
+        return generateThreadFrom(context, articleUrl, 1).collectList();
+    }
+    
+    /**
+     * The thread's tweets from firstOrder on, each from its own per-tweet step. Insights are
+     * only extracted when a hook or insight tweet is still missing.
+     */
+    private Flux<Tweet> generateThreadFrom(PromptContext context, String articleUrl, int firstOrder) {
+        if (firstOrder > TARGET_INSIGHTS + 2) {
+            return Flux.empty();
+        }
+        Mono<List<String>> insights = firstOrder <= TARGET_INSIGHTS + 1
+                ? extractKeyInsightsReactive(context)
+                : Mono.just(List.of());
+        return insights.flatMapMany(found -> Flux.range(firstOrder, TARGET_INSIGHTS + 3 - firstOrder)
+                .concatMap(order -> Mono.defer(() -> generateTweetAt(context, found, order, articleUrl))
+                        .map(content -> new Tweet(order, content))));
+    }
+    
+    private Mono<String> generateTweetAt(PromptContext context, List<String> insights, int order, String articleUrl) {
+        if (order == 1) {
+            return generateHookTweetReactive(context, insights.get(0));
+        }
+        if (order == TARGET_INSIGHTS + 2) {
+            return generateWrapUpTweetReactive(context, articleUrl);
+        }
+        return generateCasualTweetReactive(context, insights.get(order - 2), order);
+    }
+    
+    private Mono<Tweet> validOrRegenerated(int order, String content, boolean valid, AtomicInteger fallbacks,
+                                           Supplier<Mono<String>> regenerate) {
+        if (valid) {
+            return Mono.just(new Tweet(order, content));
+        }
+        fallbacks.incrementAndGet();
+        return Mono.defer(regenerate).map(regenerated -> new Tweet(order, regenerated));
+    }
+    
+    private boolean isValidGeneratedTweet(String tweet) {
+        return tweet != null && !tweet.isBlank() && TweetLength.weightedLength(tweet) <= MAX_TWEET_LENGTH;
+    }
+    
+    /**
+     * One tweet for the step; with openai.candidates.count above 1, the best of that many
+     * candidates from a single request, ranked locally against the thread so far
+     */
+    private Mono<String> generateTweet(Step step, PromptContext context, ChatPrompt prompt) {
+        if (candidateCount <= 1) {
+            return callStep(step, context, prompt);
+        }
+        StepModel settings = modelPolicy.forStep(step);
+        return withFallback(step, model -> callOpenAICandidates(step, context, prompt, model,
+                        settings.temperature(), settings.maxTokens(), candidateCount))
+                .map(candidates -> {
+                    List<String> threadTweets = context.getThreadTweets();
+                    String best = TweetRanker.best(candidates.stream().map(String::trim).toList(), threadTweets);
+                    double score = TweetRanker.score(best, threadTweets);
+                    meterRegistry.summary("openai.candidates.score", "step", step.key()).record(score);
+                    log.info("🏆 Picked the best of {} {} candidates (score {})",
+                            candidates.size(), step.key(), String.format("%.2f", score));
+                    return best;
+                });
+    }
+    
+    private Mono<String> callStep(Step step, PromptContext context, ChatPrompt prompt) {
+        StepModel settings = modelPolicy.forStep(step);
+        return callStep(step, context, prompt, settings.temperature(), settings.maxTokens(), Map.of());
+    }
+    
+    private Mono<String> callStep(Step step, PromptContext context, ChatPrompt prompt, double temperature,
+                                  int maxTokens, Map<String, Object> extraOptions) {
+        return withFallback(step, model -> callOpenAI(step, context, prompt, model, temperature, maxTokens,
+                extraOptions));
+    }
+    
+    /**
+     * Call the step's model, moving to its fallback model when the primary errors or
+     * takes longer than fallback-after
+     */
+    private <T> Mono<T> withFallback(Step step, Function<String, Mono<T>> call) {
+        StepModel settings = modelPolicy.forStep(step);
+        Mono<T> primary = call.apply(settings.model());
+        if (!settings.hasFallback()) {
+            return timed(step, settings.model(), primary);
+        }
+        if (!settings.fallbackAfter().isZero()) {
+            primary = primary.timeout(settings.fallbackAfter());
+        }
+        
+        return timed(step, settings.model(), primary)
+                .onErrorResume(e -> {
+                    log.warn("🔀 {} call on {} failed ({}), retrying on {}",
+                            step.key(), settings.model(), e.getMessage(), settings.fallbackModel());
+                    meterRegistry.counter("openai.model.fallbacks", "step", step.key(), "model", settings.model())
+                            .increment();
+                    return timed(step, settings.fallbackModel(), call.apply(settings.fallbackModel()));
+                });
+    }
+    
+    /**
+     * Per-step latency by model and outcome, including cache hits and rate-limit waits
+     */
+    private <T> Mono<T> timed(Step step, String model, Mono<T> call) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            // Recorded before the signal reaches subscribers, so the timer is current once they see it
+            return call
+                    .doOnSuccess(result -> recordStepLatency(step, model, "success", started))
+                    .doOnError(e -> recordStepLatency(step, model, "error", started))
+                    .doOnCancel(() -> recordStepLatency(step, model, "cancelled", started));
+        });
+    }
+    
+    private void recordStepLatency(Step step, String model, String outcome, long startedNanos) {
+        Timer.builder("openai.step.latency")
+                .tag("step", step.key())
+                .tag("model", model)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * @param context receives the token usage of the call, for the per-thread cache report
+     */
+    private Mono<String> callOpenAI(Step step, PromptContext context, ChatPrompt prompt, String model,
+                                    double temperature, int maxTokens, Map<String, Object> extraOptions) {
+        return Mono.defer(() -> {
+            ChatRequest request = ChatRequest.of(model, prompt, temperature, maxTokens, extraOptions);
             
-            // Enhanced response parsing with error checking
-            if (root.has("error")) {
-                String errorMsg = root.path("error").path("message").asText();
-                String errorType = root.path("error").path("type").asText();
-                log.error("❌ OpenAI API returned error: {} (type: {})", errorMsg, errorType);
-                throw new RuntimeException("OpenAI API error: " + errorType + " - " + errorMsg);
-            }
+            log.debug("🔧 Request body: model={}, temperature={}, max_tokens={}", model, temperature, maxTokens);
+            log.debug("📝 Task preview: {}...", prompt.task().substring(0, Math.min(200, prompt.task().length())));
             
-            if (!root.has("choices") || root.path("choices").isEmpty()) {
-                log.error("❌ OpenAI response missing 'choices' field");
-                throw new RuntimeException("Invalid OpenAI response: no choices found");
+            // Identical (model, temperature, max_tokens, prompt) requests are served from cache
+            boolean useCache = !responseCache.shouldBypass(temperature);
+            String cacheKey = responseCache.key(model, temperature, maxTokens, prompt.cacheText(), extraOptions);
+            if (useCache) {
+                Optional<String> cached = responseCache.get(cacheKey);
+                if (cached.isPresent()) {
+                    return Mono.just(cached.get());
+                }
             }
             
-            String content = root.path("choices").get(0).path("message").path("content").asText();
-            log.info("🎯 Extracted content from OpenAI (length: {} chars)", content.length());
+            Mono<ChatCompletionResponse> completion = complete(step, request);
             
-            return content;
+            // Identical cacheable requests already in flight share one upstream call
+            Mono<ChatCompletionResponse> response = useCache
+                    ? completionFlights.execute(cacheKey, () -> completion)
+                    : completion;
             
-        } catch (org.springframework.web.reactive.function.client.WebClientResponseException e) {
-            log.error("❌ WebClient error: {} - {}", e.getStatusCode(), e.getMessage());
-            log.error("🔍 Response body: {}", e.getResponseBodyAsString());
+            return response.map(body -> {
+                context.record(body.usage());
+                String content = extractCompletionContent(body);
+                if (useCache) {
+                    responseCache.put(cacheKey, content);
+                }
+                return content;
+            });
+        }).onErrorMap(this::toOpenAIException);
+    }
+    
+    /**
+     * Several candidates from one request (n). Never served from the response cache: each draw
+     * is meant to be fresh, and the ranked winner is what the thread keeps.
+     */
+    private Mono<List<String>> callOpenAICandidates(Step step, PromptContext context, ChatPrompt prompt, String model,
+                                                    double temperature, int maxTokens, int candidates) {
+        return Mono.defer(() -> {
+            ChatRequest request = ChatRequest.of(model, prompt, temperature, maxTokens, Map.of("n", candidates));
+            // Every candidate is billed as completion tokens; ChatRequest.estimatedTokens budgets for all of them
+            return complete(step, request)
+                    .map(body -> {
+                        context.record(body.usage());
+                        throwIfError(body);
+                        // Blank candidates would only be ranked and thrown away, or worse, picked
+                        List<String> usable = body.contents().stream()
+                                .filter(content -> !content.isBlank())
+                                .toList();
+                        if (usable.isEmpty()) {
+                            log.error("❌ OpenAI response had no non-blank candidates");
+                            throw new RuntimeException("Invalid OpenAI response: no usable candidates");
+                        }
+                        if (usable.size() < body.contents().size()) {
+                            log.warn("⚠️ Dropped {} blank candidate(s)", body.contents().size() - usable.size());
+                        }
+                        return usable;
+                    });
+        }).onErrorMap(this::toOpenAIException);
+    }
+    
+    /**
+     * Wait for the chosen provider's rate budget (prompt + completion tokens) instead of failing
+     * with 429. Each provider attempt is bounded by llm.router.attempt-timeout inside the router, so
+     * a hung provider still leaves failover its full time; slow calls may be hedged with a duplicate.
+     */
+    private Mono<ChatCompletionResponse> complete(Step step, ChatRequest request) {
+        return Mono.defer(() -> {
+                    // One provider order for the reservation, the call and any hedge
+                    LlmRouter.Route route = llmRouter.route(request);
+                    return Mono.delay(route.reserve())
+                            .then(Mono.defer(() -> {
+                                long started = System.nanoTime();
+                                return hedger.execute(route::complete, route::tryReserve)
+                                        .doOnNext(body -> recordUsage(step, request.model(), body,
+                                                System.nanoTime() - started));
+                            }));
+                })
+                .retryWhen(rateLimiter.retrySpec());
+    }
+    
+    /**
+     * Token counters by step and model, plus latency split by whether the provider reused a
+     * cached prompt prefix
+     */
+    private void recordUsage(Step step, String model, ChatCompletionResponse response, long latencyNanos) {
+        ChatCompletionResponse.Usage usage = response.usage();
+        if (usage == null) {
+            return;
+        }
+        tokenCounter("prompt", step, model).increment(usage.promptTokens());
+        tokenCounter("cached", step, model).increment(usage.cachedTokens());
+        tokenCounter("completion", step, model).increment(usage.completionTokens());
+        Timer.builder("openai.completion.latency")
+                .tag("step", step.key())
+                .tag("model", model)
+                .tag("prompt_cache", usage.cachedTokens() > 0 ? "hit" : "miss")
+                .register(meterRegistry)
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+        log.info("🧊 Prompt cache ({}): {}/{} prompt tokens cached", model, usage.cachedTokens(), usage.promptTokens());
+    }
+    
+    private Counter tokenCounter(String type, Step step, String model) {
+        return Counter.builder("openai.tokens")
+                .tag("type", type)
+                .tag("step", step.key())
+                .tag("model", model)
+                .register(meterRegistry);
+    }
+    
+    private String extractCompletionContent(ChatCompletionResponse response) {
+        throwIfError(response);
+        
+        String content = response.firstContent();
+        if (content == null) {
+            log.error("❌ OpenAI response missing 'choices' field");
+            throw new RuntimeException("Invalid OpenAI response: no choices found");
+        }
+        
+        log.info("✅ Received response from OpenAI API (model: {}, usage: {})", response.model(), response.usage());
+        log.info("🎯 Extracted content from OpenAI (length: {} chars)", content.length());
+        return content;
+    }
+    
+    private void throwIfError(ChatCompletionResponse response) {
+        if (response.error() != null) {
+            log.error("❌ OpenAI API returned error: {} (type: {})", response.error().message(), response.error().type());
+            throw new RuntimeException("OpenAI API error: " + response.error().type() + " - " + response.error().message());
+        }
+    }
+    
+    private RuntimeException toOpenAIException(Throwable e) {
+        if (e instanceof org.springframework.web.reactive.function.client.WebClientResponseException responseException) {
+            log.error("❌ WebClient error: {} - {}", responseException.getStatusCode(), responseException.getMessage());
+            log.error("🔍 Response body: {}", responseException.getResponseBodyAsString());
             
-            if (e.getStatusCode().value() == 401) {
-                throw new RuntimeException("OpenAI API authentication failed - check your API key", e);
-            } else if (e.getStatusCode().value() == 429) {
-                throw new RuntimeException("OpenAI API rate limit exceeded - please try again later", e);
+            if (responseException.getStatusCode().value() == 401) {
+                return new RuntimeException("OpenAI API authentication failed - check your API key", e);
+            } else if (responseException.getStatusCode().value() == 429) {
+                return new RuntimeException("OpenAI API rate limit exceeded - please try again later", e);
             } else {
-                throw new RuntimeException("OpenAI API call failed: " + e.getStatusCode() + " - " + e.getMessage(), e);
+                return new RuntimeException("OpenAI API call failed: " + responseException.getStatusCode() + " - " + e.getMessage(), e);
             }
-        } catch (Exception e) {
-            log.error("❌ Unexpected error during OpenAI API call: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to call OpenAI API: " + e.getMessage(), e);
         }
+        log.error("❌ Unexpected error during OpenAI API call: {}", e.getMessage(), e);
+        return new RuntimeException("Failed to call OpenAI API: " + e.getMessage(), e);
     }
     
     private List<String> parseInsightsFromResponse(String response) {
-        List<String> insights = new ArrayList<>();
+        return parseInsightsFromLines(parseNumberedLines(response));
+    }
+    
+    private List<String> parseNumberedLines(String response) {
+        List<String> items = new ArrayList<>();
         String[] lines = response.split("\\n");
         
         for (String line : lines) {
             line = line.trim();
             if (line.matches("^\\d+\\..*")) {
                 // Remove the number and period, clean up the insight
-                String insight = line.replaceFirst("^\\d+\\.\\s*", "").trim();
-                if (!insight.isEmpty()) {
-                    insights.add(insight);
+                String item = line.replaceFirst("^\\d+\\.\\s*", "").trim();
+                if (!item.isEmpty()) {
+                    items.add(item);
                 }
             }
         }
+        return items;
+    }
+    
+    private List<String> parseInsightsFromLines(List<String> parsedInsights) {
+        List<String> insights = new ArrayList<>(parsedInsights);
         
         // Ensure we have exactly 3 insights
         while (insights.size() < TARGET_INSIGHTS) {
@@ -351,23 +859,8 @@ public class OpenAIService {
     }
     
     private String optimizeForTwitter(String content, int maxLength) {
-        if (content.length() <= maxLength) {
-            return content;
-        }
-        
-        // Try to truncate at a sentence boundary
-        int lastPeriod = content.lastIndexOf('.', maxLength - 3);
-        if (lastPeriod > maxLength / 2) {
-            return content.substring(0, lastPeriod + 1);
-        }
-        
-        // Truncate at word boundary
-        int lastSpace = content.lastIndexOf(' ', maxLength - 3);
-        if (lastSpace > 0) {
-            return content.substring(0, lastSpace) + "...";
-        }
-        
-        return content.substring(0, maxLength - 3) + "...";
+        // Weighted like X counts it: links are 23, emoji and CJK count double
+        return TweetLength.truncate(content, maxLength);
     }
     
     // Mock methods for testing without API key
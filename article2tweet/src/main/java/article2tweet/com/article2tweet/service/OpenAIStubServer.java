@@ -0,0 +1,338 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+/**
+ * OpenAI-compatible /chat/completions over real HTTP, for load and latency testing without
+ * the network. Answers with the canned outputs of {@link LocalStubProvider} after a sampled
+ * latency, streams them as server-sent events when asked, and injects 429s and 5xx at
+ * configured rates. Point openai.base-url at {@link #baseUrl()}.
+ */
+@Slf4j
+public class OpenAIStubServer {
+
+    // Prompts seen before are reported as prefix-cache hits, like the real API; bounded for long runs
+    private static final int MAX_CACHED_PREFIXES = 10_000;
+
+    private final Options options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random;
+    private final Set<String> cachedPrefixes = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong serverErrors = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private DisposableServer server;
+
+    public OpenAIStubServer(Options options) {
+        this.options = options;
+        this.random = new Random(options.seed());
+    }
+
+    public synchronized OpenAIStubServer start() {
+        if (server == null) {
+            server = HttpServer.create()
+                    .host(options.host())
+                    .port(options.port())
+                    .route(routes -> routes
+                            .post("/v1/chat/completions", this::handle)
+                            .post("/chat/completions", this::handle))
+                    .bindNow();
+            log.info("🧪 OpenAI stub server listening on {}", baseUrl());
+        }
+        return this;
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.disposeNow();
+            server = null;
+        }
+    }
+
+    /**
+     * Value for openai.base-url
+     */
+    public synchronized String baseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Stub server is not running");
+        }
+        return "http://" + options.host() + ":" + server.port() + "/v1";
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getRateLimited() {
+        return rateLimited.get();
+    }
+
+    public long getServerErrors() {
+        return serverErrors.get();
+    }
+
+    /**
+     * Most requests being served at once, to check a client really reached the intended concurrency
+     */
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    private Mono<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        return request.receive().aggregate().asString()
+                .defaultIfEmpty("")
+                .flatMap(body -> {
+                    requests.incrementAndGet();
+                    JsonNode json;
+                    try {
+                        json = objectMapper.readTree(body);
+                    } catch (JsonProcessingException e) {
+                        return sendJson(response, 400, error("invalid_request_error", "Invalid JSON body"));
+                    }
+
+                    double roll;
+                    synchronized (random) {
+                        roll = random.nextDouble();
+                    }
+                    if (roll < options.rateLimitRate()) {
+                        rateLimited.incrementAndGet();
+                        response.header("retry-after-ms", String.valueOf(options.retryAfter().toMillis()))
+                                .header("x-ratelimit-remaining-requests", "0");
+                        return sendJson(response, 429, error("rate_limit_exceeded", "Rate limit reached (stub)"));
+                    }
+                    if (roll < options.rateLimitRate() + options.serverErrorRate()) {
+                        serverErrors.incrementAndGet();
+                        return sendJson(response, 503, error("server_error", "The server is overloaded (stub)"));
+                    }
+
+                    int peak = inFlight.incrementAndGet();
+                    peakInFlight.accumulateAndGet(peak, Math::max);
+                    Mono<Void> reply = json.path("stream").asBoolean(false)
+                            ? stream(response, json)
+                            : complete(response, json);
+                    return reply.doFinally(signal -> inFlight.decrementAndGet());
+                });
+    }
+
+    private Mono<Void> complete(HttpServerResponse response, JsonNode request) {
+        String model = request.path("model").asText("gpt-4o-mini");
+        String content = LocalStubProvider.cannedResponse(task(request));
+        int n = Math.max(1, request.path("n").asInt(1));
+
+        List<Map<String, Object>> choices = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            choices.add(Map.of(
+                    "index", i,
+                    "message", Map.of("role", "assistant", "content", content),
+                    "finish_reason", "stop"));
+        }
+        int completionTokens = ArticleChunker.estimateTokens(content) * n;
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", "chatcmpl-stub-" + requests.get());
+        body.put("object", "chat.completion");
+        body.put("model", model);
+        body.put("choices", choices);
+        body.put("usage", usage(request, completionTokens));
+
+        Duration latency = options.latency().sample(random)
+                .plus(options.perOutputToken().multipliedBy(completionTokens));
+        return Mono.delay(latency).then(sendJson(response, 200, body));
+    }
+
+    private Mono<Void> stream(HttpServerResponse response, JsonNode request) {
+        String model = request.path("model").asText("gpt-4o-mini");
+        String content = LocalStubProvider.cannedResponse(task(request));
+
+        // Whitespace stays attached to the preceding word so the joined tokens equal the content
+        Flux<String> tokens = Flux.fromArray(content.split("(?<=\\s)"));
+        if (!options.perOutputToken().isZero()) {
+            tokens = tokens.delayElements(options.perOutputToken());
+        }
+        Flux<String> events = tokens
+                .map(token -> sseEvent(Map.of(
+                        "object", "chat.completion.chunk",
+                        "model", model,
+                        "choices", List.of(Map.of("index", 0, "delta", Map.of("content", token))))))
+                .concatWithValues("data: [DONE]\n\n");
+
+        // Time to first token comes from the latency distribution, the rest from per-output-token
+        return Mono.delay(options.latency().sample(random))
+                .then(response.status(200)
+                        .header("Content-Type", "text/event-stream")
+                        .sendString(events)
+                        .then());
+    }
+
+    private Map<String, Object> usage(JsonNode request, int completionTokens) {
+        JsonNode messages = request.path("messages");
+        int promptTokens = 0;
+        StringBuilder prefix = new StringBuilder();
+        int prefixTokens = 0;
+        for (int i = 0; i < messages.size(); i++) {
+            String text = messages.get(i).path("content").asText("");
+            int tokens = ArticleChunker.estimateTokens(text);
+            promptTokens += tokens;
+            if (i < messages.size() - 1) {
+                prefix.append(text).append('\n');
+                prefixTokens += tokens;
+            }
+        }
+
+        if (cachedPrefixes.size() >= MAX_CACHED_PREFIXES) {
+            cachedPrefixes.clear();
+        }
+        int cachedTokens = !cachedPrefixes.add(prefix.toString()) ? prefixTokens : 0;
+
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("prompt_tokens", promptTokens);
+        usage.put("completion_tokens", completionTokens);
+        usage.put("total_tokens", promptTokens + completionTokens);
+        usage.put("prompt_tokens_details", Map.of("cached_tokens", cachedTokens));
+        return usage;
+    }
+
+    private static String task(JsonNode request) {
+        JsonNode messages = request.path("messages");
+        return messages.isEmpty() ? "" : messages.get(messages.size() - 1).path("content").asText("");
+    }
+
+    private static Map<String, Object> error(String type, String message) {
+        return Map.of("error", Map.of("type", type, "message", message));
+    }
+
+    private String sseEvent(Object chunk) {
+        try {
+            return "data: " + objectMapper.writeValueAsString(chunk) + "\n\n";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Mono<Void> sendJson(HttpServerResponse response, int status, Object body) {
+        try {
+            String json = objectMapper.writeValueAsString(body);
+            return response.status(status)
+                    .header("Content-Type", "application/json")
+                    .sendString(Mono.just(json))
+                    .then();
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+
+    /**
+     * Stub behaviour. Failure rates are per request; a 429 carries retry-after-ms so the
+     * client's rate limiter backs off exactly as it would against the real API.
+     */
+    public record Options(String host, int port, LatencyDistribution latency, Duration perOutputToken,
+                          double rateLimitRate, Duration retryAfter, double serverErrorRate, long seed) {
+
+        /**
+         * Ephemeral localhost port, no latency, no failures
+         */
+        public static Options defaults() {
+            return new Options("localhost", 0, LatencyDistribution.fixed(Duration.ZERO), Duration.ZERO,
+                    0, Duration.ofSeconds(1), 0, 42);
+        }
+
+        public Options withPort(int port) {
+            return new Options(host, port, latency, perOutputToken, rateLimitRate, retryAfter, serverErrorRate, seed);
+        }
+
+        public Options withLatency(LatencyDistribution latency, Duration perOutputToken) {
+            return new Options(host, port, latency, perOutputToken, rateLimitRate, retryAfter, serverErrorRate, seed);
+        }
+
+        public Options withRateLimitRate(double rateLimitRate, Duration retryAfter) {
+            return new Options(host, port, latency, perOutputToken, rateLimitRate, retryAfter, serverErrorRate, seed);
+        }
+
+        public Options withServerErrorRate(double serverErrorRate) {
+            return new Options(host, port, latency, perOutputToken, rateLimitRate, retryAfter, serverErrorRate, seed);
+        }
+    }
+
+    /**
+     * Time before the first byte of a response
+     */
+    public interface LatencyDistribution {
+
+        Duration sample(Random random);
+
+        static LatencyDistribution fixed(Duration latency) {
+            return random -> latency;
+        }
+
+        static LatencyDistribution uniform(Duration min, Duration max) {
+            long span = max.toNanos() - min.toNanos();
+            return random -> {
+                double u;
+                synchronized (random) {
+                    u = random.nextDouble();
+                }
+                return min.plusNanos((long) (u * span));
+            };
+        }
+
+        /**
+         * Long-tailed like real LLM latency: given median and p99, most calls cluster around the
+         * median and a few take several times longer
+         */
+        static LatencyDistribution logNormal(Duration median, Duration p99) {
+            double mu = Math.log(median.toNanos());
+            // 2.326 is the standard normal's 99th percentile
+            double sigma = Math.max(0, (Math.log(p99.toNanos()) - mu) / 2.326);
+            return random -> {
+                double gaussian;
+                synchronized (random) {
+                    gaussian = random.nextGaussian();
+                }
+                return Duration.ofNanos((long) Math.exp(mu + sigma * gaussian));
+            };
+        }
+
+        /**
+         * Parse "fixed:PT0.2S", "uniform:PT0.1S,PT0.5S" or "lognormal:PT0.4S,PT2S" (median, p99)
+         */
+        static LatencyDistribution parse(String spec) {
+            String[] parts = spec.trim().split(":", 2);
+            String[] args = parts.length > 1 ? parts[1].split(",") : new String[0];
+            try {
+                return switch (parts[0].toLowerCase()) {
+                    case "fixed" -> fixed(Duration.parse(args[0].trim()));
+                    case "uniform" -> uniform(Duration.parse(args[0].trim()), Duration.parse(args[1].trim()));
+                    case "lognormal" -> logNormal(Duration.parse(args[0].trim()), Duration.parse(args[1].trim()));
+                    default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+                };
+            } catch (ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Missing latency parameters in: " + spec, e);
+            }
+        }
+    }
+}
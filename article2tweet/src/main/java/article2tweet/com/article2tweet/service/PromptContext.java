@@ -0,0 +1,129 @@
+package article2tweet.com.article2tweet.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import article2tweet.com.article2tweet.domain.Article;
+
+/**
+ * The article every prompt of one thread starts with, so all of its calls share a cacheable
+ * prefix. Content over maxArticleTokens is condensed for that prefix, which keeps long articles
+ * from multiplying input tokens per call or overflowing smaller fallback models. Also tallies
+ * the token usage of those calls to report prompt-cache savings per thread, and keeps the
+ * tweets chosen so far so new candidates can be ranked against them.
+ */
+public final class PromptContext {
+
+    // Matches the openai.insights.chunking.threshold-tokens default: longer articles are extracted
+    // chunk by chunk and never need the full body in one prompt
+    public static final int DEFAULT_MAX_ARTICLE_TOKENS = 3000;
+
+    private final String articleTitle;
+    private final String articleContent;
+    private final String promptContent;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder promptTokens = new LongAdder();
+    private final LongAdder cachedTokens = new LongAdder();
+    private final LongAdder completionTokens = new LongAdder();
+    private final List<String> threadTweets = new CopyOnWriteArrayList<>();
+
+    private PromptContext(String articleTitle, String articleContent, int maxArticleTokens) {
+        this.articleTitle = articleTitle;
+        this.articleContent = articleContent;
+        this.promptContent = ArticleChunker.condense(articleContent, maxArticleTokens);
+    }
+
+    public static PromptContext of(String articleTitle, String articleContent) {
+        return of(articleTitle, articleContent, DEFAULT_MAX_ARTICLE_TOKENS);
+    }
+
+    public static PromptContext of(String articleTitle, String articleContent, int maxArticleTokens) {
+        return new PromptContext(articleTitle, articleContent, maxArticleTokens);
+    }
+
+    public static PromptContext forArticle(Article article) {
+        return forArticle(article, DEFAULT_MAX_ARTICLE_TOKENS);
+    }
+
+    public static PromptContext forArticle(Article article, int maxArticleTokens) {
+        return new PromptContext(article.getTitle(), article.getContent(), maxArticleTokens);
+    }
+
+    /**
+     * No shared article prefix; used by the older per-call signatures
+     */
+    public static PromptContext none() {
+        return new PromptContext(null, null, DEFAULT_MAX_ARTICLE_TOKENS);
+    }
+
+    public String getArticleTitle() {
+        return articleTitle;
+    }
+
+    /**
+     * Full article body, for extraction and fingerprinting
+     */
+    public String getArticleContent() {
+        return articleContent;
+    }
+
+    /**
+     * Article body as it appears in the shared prompt prefix
+     */
+    public String getPromptContent() {
+        return promptContent;
+    }
+
+    public boolean isCondensed() {
+        return promptContent != null && !promptContent.equals(articleContent);
+    }
+
+    void addThreadTweet(String tweet) {
+        threadTweets.add(tweet);
+    }
+
+    /**
+     * Tweets generated for this thread so far, in completion order
+     */
+    public List<String> getThreadTweets() {
+        return List.copyOf(threadTweets);
+    }
+
+    void record(ChatCompletionResponse.Usage usage) {
+        if (usage == null) {
+            return;
+        }
+        calls.increment();
+        promptTokens.add(usage.promptTokens());
+        cachedTokens.add(usage.cachedTokens());
+        completionTokens.add(usage.completionTokens());
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getPromptTokens() {
+        return promptTokens.sum();
+    }
+
+    public long getCachedTokens() {
+        return cachedTokens.sum();
+    }
+
+    public long getCompletionTokens() {
+        return completionTokens.sum();
+    }
+
+    public double getCachedRatio() {
+        long prompt = getPromptTokens();
+        return prompt == 0 ? 0 : (double) getCachedTokens() / prompt;
+    }
+
+    public String usageSummary() {
+        return String.format("%d calls, %d/%d prompt tokens served from cache (%.0f%%), %d completion tokens",
+                getCalls(), getCachedTokens(), getPromptTokens(), getCachedRatio() * 100, getCompletionTokens());
+    }
+}
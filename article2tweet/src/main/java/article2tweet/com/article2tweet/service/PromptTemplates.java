@@ -0,0 +1,190 @@
+package article2tweet.com.article2tweet.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import article2tweet.com.article2tweet.service.ChatCompletionResponse.Message;
+
+/**
+ * Prompt layouts for every generation step. Providers cache the longest previously seen
+ * prompt prefix, so each prompt is ordered from most to least stable:
+ *
+ * 1. system message - the same instructions for every call
+ * 2. article message - title and content (condensed when long), identical for every call of one thread
+ * 3. task message - step-specific instructions, with per-call variables at the very end
+ *
+ * Anything that varies between calls of a thread must only appear in the task message.
+ */
+public final class PromptTemplates {
+
+    static final String SYSTEM_INSTRUCTIONS = """
+            You turn articles into casual Twitter threads for developers and tech enthusiasts.
+            
+            Voice for everything you write:
+            - Conversational, casual tone, like explaining it to a friend
+            - No corporate speak or buzzwords
+            - Practical, actionable, or surprising points over generic summaries
+            - Add personality but stay professional
+            - Use minimal emojis (max 1-2 per tweet)
+            
+            Follow the output format of each task exactly and return nothing else.
+            """;
+
+    private PromptTemplates() {
+    }
+
+    public static ChatPrompt insightExtraction(PromptContext context) {
+        return prompt(context, """
+                Task: extract exactly 3 key insights from the article above that would be valuable for a casual Twitter audience.
+                
+                Requirements:
+                - Focus on practical, actionable, or surprising points
+                - Each insight should be 1-2 sentences max
+                - Make them engaging for developers and tech enthusiasts
+                
+                Return only the 3 insights, numbered 1-3.
+                """);
+    }
+
+    public static ChatPrompt hook(PromptContext context, String firstInsight) {
+        return prompt(context, String.format("""
+                Task: create an engaging Twitter thread hook for the article above.
+                
+                Requirements:
+                - Hook the reader immediately
+                - Under 220 characters
+                - Include thread emoji (🧵) at start
+                - End with something that makes people want to read more
+                
+                Return only the hook tweet.
+                
+                First key point: "%s"
+                """, firstInsight));
+    }
+
+    public static ChatPrompt casualTweet(PromptContext context, String insight, int tweetNumber) {
+        return prompt(context, String.format("""
+                Task: convert one insight from the article above into a casual Twitter post.
+                
+                Requirements:
+                - Under 220 characters
+                - Make it engaging and relatable
+                
+                Return only the tweet.
+                
+                Tweet position: #%d in thread
+                Insight: "%s"
+                """, tweetNumber, insight));
+    }
+
+    public static ChatPrompt wrapUp(PromptContext context) {
+        return prompt(context, """
+                Task: create a casual wrap-up tweet for the thread about the article above.
+                
+                Requirements:
+                - Friendly tone
+                - Thank readers or ask for engagement
+                - Under 150 characters (need room for article URL)
+                - Encourage discussion or questions
+                
+                Return only the wrap-up text (no URL).
+                """);
+    }
+
+    public static ChatPrompt structuredThread(PromptContext context) {
+        return prompt(context, """
+                Task: turn the article above into a casual 5-tweet Twitter thread.
+                
+                Requirements:
+                - "insights": exactly 3 key insights, 1-2 sentences each, practical or surprising
+                - "hook": engaging opener under 220 characters, starting with the thread emoji (🧵)
+                - "tweets": exactly 3 tweets, one per insight in the same order, each under 220 characters
+                - "wrap_up": friendly closer under 150 characters asking for discussion (no URL)
+                
+                Respond with only a JSON object of the form:
+                {"insights": ["...", "...", "..."], "hook": "...", "tweets": ["...", "...", "..."], "wrap_up": "..."}
+                """);
+    }
+
+    public static ChatPrompt streamingThread(PromptContext context) {
+        return prompt(context, """
+                Task: turn the article above into a casual 5-tweet Twitter thread.
+                
+                Requirements:
+                - Tweet 1: engaging hook under 220 characters, starting with the thread emoji (🧵)
+                - Tweets 2-4: one key insight each, practical or surprising, under 220 characters
+                - Tweet 5: friendly wrap-up under 150 characters asking for discussion (no URL)
+                
+                Return only the 5 tweets, separated by a line containing only ---
+                """);
+    }
+
+    /**
+     * Map step of chunked extraction; the chunk is the variable, so the article is not repeated
+     */
+    public static ChatPrompt chunkInsights(String title, String chunk, int chunkNumber, int totalChunks,
+                                           int candidatesPerChunk) {
+        return prompt(PromptContext.none(), String.format("""
+                Task: extract up to %d candidate key insights from one section of an article.
+                
+                Requirements:
+                - Only use what this section says
+                - Focus on practical, actionable, or surprising points
+                - Each insight should be 1-2 sentences max
+                
+                Return only the insights, numbered.
+                
+                Article: "%s"
+                Section %d of %d: %s
+                """, candidatesPerChunk, title, chunkNumber, totalChunks, chunk));
+    }
+
+    /**
+     * Reduce step of chunked extraction
+     */
+    public static ChatPrompt insightReduce(String title, List<String> candidates) {
+        StringBuilder numbered = new StringBuilder();
+        for (int i = 0; i < candidates.size(); i++) {
+            numbered.append(i + 1).append(". ").append(candidates.get(i)).append("\n");
+        }
+        return prompt(PromptContext.none(), String.format("""
+                Task: candidate insights were extracted from different sections of an article.
+                Pick exactly 3 that would be most valuable for a casual Twitter audience.
+                
+                Requirements:
+                - Prefer practical, actionable, or surprising points
+                - Avoid picking near-duplicates
+                - 1-2 sentences each
+                
+                Return only the 3 insights, numbered 1-3.
+                
+                Article: "%s"
+                Candidates:
+                %s""", title, numbered));
+    }
+
+    private static ChatPrompt prompt(PromptContext context, String task) {
+        List<Message> messages = new ArrayList<>();
+        messages.add(new Message("system", SYSTEM_INSTRUCTIONS));
+        String article = articleMessage(context);
+        if (article != null) {
+            messages.add(new Message("user", article));
+        }
+        messages.add(new Message("user", task));
+        return new ChatPrompt(messages);
+    }
+
+    private static String articleMessage(PromptContext context) {
+        if (context.getArticleTitle() == null) {
+            return null;
+        }
+        if (context.getPromptContent() == null || context.getPromptContent().isBlank()) {
+            return String.format("Article: \"%s\"", context.getArticleTitle());
+        }
+        if (context.isCondensed()) {
+            return String.format("Article: \"%s\"\nContent (opening of each section; the article is too long to include in full):\n%s",
+                    context.getArticleTitle(), context.getPromptContent());
+        }
+        return String.format("Article: \"%s\"\nContent: %s", context.getArticleTitle(), context.getPromptContent());
+    }
+}
@@ -0,0 +1,20 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Duration;
+
+/**
+ * Thrown when OpenAI answers 429 or the local rate budget cannot be met within max-wait
+ */
+public class RateLimitedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RateLimitedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
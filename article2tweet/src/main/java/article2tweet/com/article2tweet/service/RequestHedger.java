@@ -0,0 +1,181 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Hedged requests for OpenAI calls: when a call has not answered within the observed
+ * latency percentile, a duplicate is sent and whichever answers first wins.
+ * Hedges are paid for from a budget that grows by budget-ratio per call, so extra
+ * traffic stays capped at roughly that fraction.
+ */
+@Component
+@Slf4j
+public class RequestHedger {
+
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration initialDelay;
+    private final Duration minDelay;
+    private final double budgetRatio;
+    private final double maxBurst;
+    private final int minSamples;
+
+    // A call that failed or timed out is sampled at the per-attempt timeout: it took at least that long to be useful
+    @Value("${llm.router.attempt-timeout:PT60S}")
+    private Duration latencyCeiling = Duration.ofSeconds(60);
+
+    private final long[] samples;
+    private int sampleCount;
+    private int nextSample;
+    private long cachedDelayMillis = -1;
+    private double budget;
+
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+    private final Counter hedgesSkipped;
+
+    @Autowired
+    public RequestHedger(MeterRegistry meterRegistry,
+                         @Value("${openai.hedging.enabled:false}") boolean enabled,
+                         @Value("${openai.hedging.percentile:0.95}") double percentile,
+                         @Value("${openai.hedging.initial-delay:PT10S}") Duration initialDelay,
+                         @Value("${openai.hedging.min-delay:PT1S}") Duration minDelay,
+                         @Value("${openai.hedging.budget-ratio:0.05}") double budgetRatio,
+                         @Value("${openai.hedging.max-burst:5}") double maxBurst,
+                         @Value("${openai.hedging.window-size:200}") int windowSize) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.initialDelay = initialDelay;
+        this.minDelay = minDelay;
+        this.budgetRatio = budgetRatio;
+        this.maxBurst = maxBurst;
+        this.samples = new long[Math.max(1, windowSize)];
+        this.minSamples = Math.min(20, samples.length);
+
+        this.hedgesSent = Counter.builder("openai.hedging.requests").tag("outcome", "sent").register(meterRegistry);
+        this.hedgesWon = Counter.builder("openai.hedging.requests").tag("outcome", "won").register(meterRegistry);
+        this.hedgesSkipped = Counter.builder("openai.hedging.requests").tag("outcome", "budget_exhausted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the call, hedging it once if it is slow; admitHedge gets a last say (e.g. rate budget)
+     * before the duplicate is sent
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> call, BooleanSupplier admitHedge) {
+        if (!enabled) {
+            return Mono.defer(call);
+        }
+
+        return Mono.defer(() -> {
+            addBudget();
+            long start = System.nanoTime();
+            Sinks.Empty<Void> primaryFailed = Sinks.empty();
+
+            Mono<T> primary = Mono.defer(call)
+                    .doOnError(e -> primaryFailed.tryEmitEmpty());
+
+            // A primary that fails before the hedge delay is not hedged; its error is reported as-is
+            Mono<T> hedge = Mono.delay(hedgeDelay())
+                    .takeUntilOther(primaryFailed.asMono())
+                    .flatMap(tick -> {
+                        if (!tryAcquireBudget() || !admitHedge.getAsBoolean()) {
+                            hedgesSkipped.increment();
+                            return Mono.empty();
+                        }
+                        hedgesSent.increment();
+                        log.info("🏇 OpenAI call slower than p{}, sending hedged request", Math.round(percentile * 100));
+                        return Mono.defer(call).doOnSuccess(value -> hedgesWon.increment());
+                    });
+
+            // Sample what the caller saw, whichever request won; sampling only primary wins would
+            // drop exactly the slow calls and pull the hedge delay down
+            return Mono.firstWithValue(primary, hedge)
+                    .onErrorMap(NoSuchElementException.class, RequestHedger::firstFailure)
+                    .doOnSuccess(value -> recordLatency(System.nanoTime() - start))
+                    .doOnError(e -> {
+                        // A 429 says nothing about how long an answer takes
+                        if (!(e instanceof RateLimitedException)) {
+                            recordLatency(latencyCeiling.toNanos());
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Delay before hedging: the configured latency percentile of recent calls, or the
+     * initial delay until enough samples have been seen
+     */
+    public synchronized Duration hedgeDelay() {
+        if (sampleCount < minSamples) {
+            return initialDelay;
+        }
+        if (cachedDelayMillis < 0) {
+            long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            cachedDelayMillis = Math.max(minDelay.toMillis(), sorted[Math.max(0, index)]);
+        }
+        return Duration.ofMillis(cachedDelayMillis);
+    }
+
+    synchronized void recordLatency(long nanos) {
+        samples[nextSample] = nanos / 1_000_000;
+        nextSample = (nextSample + 1) % samples.length;
+        sampleCount = Math.min(sampleCount + 1, samples.length);
+        cachedDelayMillis = -1;
+    }
+
+    private synchronized void addBudget() {
+        budget = Math.min(maxBurst, budget + budgetRatio);
+    }
+
+    private synchronized boolean tryAcquireBudget() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    /**
+     * firstWithValue wraps the sources' errors; surface the primary's own exception so
+     * callers (and retry filters) see the same errors as an unhedged call
+     */
+    private static Throwable firstFailure(NoSuchElementException e) {
+        List<Throwable> causes = new ArrayList<>();
+        if (e.getCause() != null) {
+            causes.addAll(Exceptions.unwrapMultiple(e.getCause()));
+        }
+        causes.addAll(Arrays.asList(e.getSuppressed()));
+        return causes.stream()
+                .filter(cause -> !(cause instanceof NoSuchElementException))
+                .findFirst()
+                .orElse(e);
+    }
+
+    public double getHedgesSent() {
+        return hedgesSent.count();
+    }
+
+    public double getHedgesWon() {
+        return hedgesWon.count();
+    }
+}
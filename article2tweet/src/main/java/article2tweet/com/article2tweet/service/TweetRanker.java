@@ -0,0 +1,140 @@
+package article2tweet.com.article2tweet.service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import article2tweet.com.article2tweet.domain.TweetLength;
+
+/**
+ * Picks the best of several generated tweet candidates without another model call. Each
+ * candidate gets a weighted score for length fit, emoji count, hashtag usage and how little
+ * it repeats the tweets already in the thread.
+ */
+public final class TweetRanker {
+
+    private static final double LENGTH_WEIGHT = 0.35;
+    private static final double EMOJI_WEIGHT = 0.15;
+    private static final double HASHTAG_WEIGHT = 0.15;
+    private static final double NOVELTY_WEIGHT = 0.35;
+
+    // Long enough to say something, short enough to leave room for numbering
+    private static final int MIN_GOOD_LENGTH = 120;
+    private static final int MAX_GOOD_LENGTH = 240;
+    private static final int MAX_GOOD_EMOJI = 2;
+    private static final int MAX_GOOD_HASHTAGS = 1;
+
+    private static final Pattern HASHTAG = Pattern.compile("(?<![\\w#])#(?=\\w*\\p{L})\\w+");
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}']{3,}");
+
+    private TweetRanker() {
+    }
+
+    /**
+     * Highest-scoring candidate; ties go to the earlier one, so a single candidate is returned as is
+     */
+    public static String best(List<String> candidates, Collection<String> threadTweets) {
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No candidates to rank");
+        }
+        String best = candidates.get(0);
+        double bestScore = score(best, threadTweets);
+        for (int i = 1; i < candidates.size(); i++) {
+            double candidateScore = score(candidates.get(i), threadTweets);
+            if (candidateScore > bestScore) {
+                best = candidates.get(i);
+                bestScore = candidateScore;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Weighted score in [0, 1]
+     */
+    public static double score(String candidate, Collection<String> threadTweets) {
+        if (candidate == null || candidate.isBlank()) {
+            return 0;
+        }
+        return LENGTH_WEIGHT * lengthFit(TweetLength.weightedLength(candidate))
+                + EMOJI_WEIGHT * emojiFit(countEmoji(candidate))
+                + HASHTAG_WEIGHT * hashtagFit(countHashtags(candidate))
+                + NOVELTY_WEIGHT * (1 - maxSimilarity(candidate, threadTweets));
+    }
+
+    /**
+     * 1 inside the preferred range, falling off linearly when shorter; over-long tweets would be
+     * truncated, so they score 0
+     */
+    static double lengthFit(int weightedLength) {
+        if (weightedLength > MAX_GOOD_LENGTH) {
+            return 0;
+        }
+        return Math.min(1, (double) weightedLength / MIN_GOOD_LENGTH);
+    }
+
+    /**
+     * One or two emoji suit the casual style; none is fine, a wall of them is not
+     */
+    static double emojiFit(int emoji) {
+        if (emoji == 0) {
+            return 0.5;
+        }
+        return emoji <= MAX_GOOD_EMOJI ? 1 : Math.max(0, 1 - 0.25 * (emoji - MAX_GOOD_EMOJI));
+    }
+
+    static double hashtagFit(int hashtags) {
+        return hashtags <= MAX_GOOD_HASHTAGS ? 1 : Math.max(0, 1 - 0.5 * (hashtags - MAX_GOOD_HASHTAGS));
+    }
+
+    static int countEmoji(String text) {
+        return (int) text.codePoints().filter(TweetRanker::isEmoji).count();
+    }
+
+    static int countHashtags(String text) {
+        Matcher matcher = HASHTAG.matcher(text);
+        int count = 0;
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Highest word-set Jaccard similarity to any tweet already in the thread
+     */
+    static double maxSimilarity(String candidate, Collection<String> threadTweets) {
+        Set<String> words = words(candidate);
+        double max = 0;
+        for (String other : threadTweets) {
+            Set<String> otherWords = words(other);
+            if (words.isEmpty() || otherWords.isEmpty()) {
+                continue;
+            }
+            Set<String> union = new HashSet<>(words);
+            union.addAll(otherWords);
+            long shared = words.stream().filter(otherWords::contains).count();
+            max = Math.max(max, (double) shared / union.size());
+        }
+        return max;
+    }
+
+    private static Set<String> words(String text) {
+        Set<String> words = new HashSet<>();
+        Matcher matcher = WORD.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            words.add(matcher.group());
+        }
+        return words;
+    }
+
+    private static boolean isEmoji(int codePoint) {
+        return (codePoint >= 0x1F300 && codePoint <= 0x1FAFF)
+                || (codePoint >= 0x2600 && codePoint <= 0x27BF)
+                || (codePoint >= 0x1F1E6 && codePoint <= 0x1F1FF);
+    }
+}
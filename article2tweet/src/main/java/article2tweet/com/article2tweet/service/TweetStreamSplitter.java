@@ -0,0 +1,49 @@
+package article2tweet.com.article2tweet.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffers streamed tokens and emits a tweet each time a "---" separator line completes
+ */
+class TweetStreamSplitter {
+    
+    private final StringBuilder currentTweet = new StringBuilder();
+    private final StringBuilder currentLine = new StringBuilder();
+    
+    List<String> accept(String token) {
+        List<String> completed = new ArrayList<>();
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c != '\n') {
+                currentLine.append(c);
+                continue;
+            }
+            if (currentLine.toString().trim().equals("---")) {
+                emitCurrentTweet(completed);
+            } else {
+                currentTweet.append(currentLine).append('\n');
+            }
+            currentLine.setLength(0);
+        }
+        return completed;
+    }
+    
+    List<String> flush() {
+        List<String> completed = new ArrayList<>();
+        if (!currentLine.toString().trim().equals("---")) {
+            currentTweet.append(currentLine);
+        }
+        currentLine.setLength(0);
+        emitCurrentTweet(completed);
+        return completed;
+    }
+    
+    private void emitCurrentTweet(List<String> completed) {
+        String tweet = currentTweet.toString().trim();
+        if (!tweet.isEmpty()) {
+            completed.add(tweet);
+        }
+        currentTweet.setLength(0);
+    }
+}
@@ -1,5 +1,6 @@
 package article2tweet.com.article2tweet.agent;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -12,10 +13,15 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import article2tweet.com.article2tweet.domain.Article;
+import article2tweet.com.article2tweet.domain.Tweet;
 import article2tweet.com.article2tweet.domain.TweetThread;
 import article2tweet.com.article2tweet.service.OpenAIService;
+import article2tweet.com.article2tweet.service.PromptContext;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 class Article2TweetAgentTest {
 
@@ -34,15 +40,15 @@ class Article2TweetAgentTest {
             "Ethical considerations are becoming central to AI development processes."
         );
         
-        when(mockOpenAIService.extractKeyInsights(anyString(), anyString()))
+        when(mockOpenAIService.extractKeyInsights(any(PromptContext.class)))
             .thenReturn(mockInsights);
-        when(mockOpenAIService.generateHookTweet(anyString(), anyString()))
+        when(mockOpenAIService.generateHookTweet(any(PromptContext.class), anyString()))
             .thenReturn("🧵 The future of AI development is here and it's exciting! Let me break down what's happening:");
-        when(mockOpenAIService.generateCasualTweet(anyString(), any(Integer.class)))
+        when(mockOpenAIService.generateCasualTweet(any(PromptContext.class), anyString(), any(Integer.class)))
             .thenReturn("First insight: AI development is moving fast")
             .thenReturn("Second insight: ML is becoming more accessible")
             .thenReturn("Third insight: Ethics matter more than ever");
-        when(mockOpenAIService.generateWrapUpTweet(anyString(), anyString()))
+        when(mockOpenAIService.generateWrapUpTweet(any(PromptContext.class), anyString()))
             .thenReturn("That's a wrap! What do you think about these AI trends?");
     }
 
@@ -133,4 +139,79 @@ class Article2TweetAgentTest {
         assertEquals("AI Development Trends", result.getOriginalArticleTitle());
         assertEquals("https://test.com/ai-trends", result.getOriginalArticleUrl());
     }
+
+    @Test
+    void testConcurrentGenerationKeepsTweetOrder() {
+        // Given
+        OpenAIService slowOpenAIService = mock(OpenAIService.class);
+        when(slowOpenAIService.extractKeyInsights(any(PromptContext.class)))
+            .thenReturn(Arrays.asList("Insight one", "Insight two", "Insight three"));
+        when(slowOpenAIService.generateHookTweet(any(PromptContext.class), anyString()))
+            .thenAnswer(invocation -> {
+                Thread.sleep(100);
+                return "🧵 Hook";
+            });
+        when(slowOpenAIService.generateCasualTweet(any(PromptContext.class), anyString(), any(Integer.class)))
+            .thenAnswer(invocation -> {
+                int tweetNumber = invocation.getArgument(2);
+                Thread.sleep(150L - tweetNumber * 20L);
+                return "Casual tweet " + tweetNumber;
+            });
+        when(slowOpenAIService.generateWrapUpTweet(any(PromptContext.class), anyString()))
+            .thenReturn("That's a wrap!");
+
+        Article2TweetAgent concurrentAgent = new Article2TweetAgent(slowOpenAIService);
+        ReflectionTestUtils.setField(concurrentAgent, "concurrentGeneration", true);
+        ReflectionTestUtils.setField(concurrentAgent, "generationParallelism", 4);
+
+        Article testArticle = new Article("Concurrent Article", "Some content", "https://test.com/concurrent");
+
+        // When
+        TweetThread result = concurrentAgent.createTwitterThread(testArticle);
+
+        // Then
+        assertEquals(5, result.getTweets().size());
+        for (int i = 0; i < result.getTweets().size(); i++) {
+            assertEquals(i + 1, result.getTweets().get(i).getOrder());
+        }
+        List<String> contents = result.getTweets().stream().map(Tweet::getContent).toList();
+        assertEquals(Arrays.asList("🧵 Hook", "Casual tweet 2", "Casual tweet 3", "Casual tweet 4", "That's a wrap!"), contents);
+    }
+
+    @Test
+    void testReactiveThreadTakesItsLongestChainOfCallsNotTheirSum() {
+        // Given: extraction 1s, hook 2s, casual tweets 3s each, wrap-up 4s (16s if run one by one)
+        OpenAIService reactiveOpenAIService = mock(OpenAIService.class);
+        when(reactiveOpenAIService.extractKeyInsightsReactive(any(PromptContext.class)))
+            .thenAnswer(invocation -> Mono.delay(Duration.ofSeconds(1))
+                    .thenReturn(Arrays.asList("Insight one", "Insight two", "Insight three")));
+        when(reactiveOpenAIService.generateHookTweetReactive(any(PromptContext.class), anyString()))
+            .thenAnswer(invocation -> Mono.delay(Duration.ofSeconds(2)).thenReturn("🧵 Hook"));
+        when(reactiveOpenAIService.generateCasualTweetReactive(any(PromptContext.class), anyString(), any(Integer.class)))
+            .thenAnswer(invocation -> {
+                int tweetNumber = invocation.getArgument(2);
+                return Mono.delay(Duration.ofSeconds(3)).thenReturn("Casual tweet " + tweetNumber);
+            });
+        when(reactiveOpenAIService.generateWrapUpTweetReactive(any(PromptContext.class), anyString()))
+            .thenAnswer(invocation -> Mono.delay(Duration.ofSeconds(4)).thenReturn("That's a wrap!"));
+
+        Article2TweetAgent reactiveAgent = new Article2TweetAgent(reactiveOpenAIService);
+        ReflectionTestUtils.setField(reactiveAgent, "concurrentGeneration", true);
+        ReflectionTestUtils.setField(reactiveAgent, "generationParallelism", 4);
+
+        Article testArticle = new Article("Reactive Article", "Some content", "https://test.com/reactive");
+
+        // Then: virtual time only advances if nothing blocks a thread waiting on a call, and the
+        // thread lands at 4s, when both extraction + casual tweets and the wrap-up are done
+        StepVerifier.withVirtualTime(() -> reactiveAgent.createTwitterThreadReactive(testArticle))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(3999))
+            .thenAwait(Duration.ofMillis(1))
+            .assertNext(result -> {
+                List<String> contents = result.getTweets().stream().map(Tweet::getContent).toList();
+                assertEquals(Arrays.asList("🧵 Hook", "Casual tweet 2", "Casual tweet 3", "Casual tweet 4", "That's a wrap!"), contents);
+                assertEquals("https://test.com/reactive", result.getOriginalArticleUrl());
+            })
+            .verifyComplete();
+    }
 }
@@ -0,0 +1,175 @@
+package article2tweet.com.article2tweet.agent;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import article2tweet.com.article2tweet.cache.InsightStore;
+import article2tweet.com.article2tweet.cache.LlmResponseCache;
+import article2tweet.com.article2tweet.domain.Article;
+import article2tweet.com.article2tweet.domain.TweetThread;
+import article2tweet.com.article2tweet.service.LlmProvider;
+import article2tweet.com.article2tweet.service.LlmRouter;
+import article2tweet.com.article2tweet.service.ModelPolicy;
+import article2tweet.com.article2tweet.service.OpenAICompatibleProvider;
+import article2tweet.com.article2tweet.service.OpenAIRateLimiter;
+import article2tweet.com.article2tweet.service.OpenAIService;
+import article2tweet.com.article2tweet.service.OpenAIStubServer;
+import article2tweet.com.article2tweet.service.RequestHedger;
+import article2tweet.com.article2tweet.service.SimulatedOpenAIExchange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Load test for concurrent thread generation against a simulated OpenAI endpoint:
+ * a 200-thread platform pool (Tomcat's default max), one virtual thread per request,
+ * and the reactive pipeline. Reports throughput, peak platform threads and peak heap.
+ * With "http" as the second argument calls go through a real socket to {@link OpenAIStubServer},
+ * so connection pooling, JSON decoding and rate-limit handling are part of the measurement.
+ * Not a JUnit test, so surefire never runs it.
+ *
+ * Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=article2tweet.com.article2tweet.agent.ThreadGenerationLoadHarness
+ *           -Dexec.args="1000 http"
+ */
+public class ThreadGenerationLoadHarness {
+
+    private static final int PLATFORM_POOL_SIZE = 200;
+    private static final String STUB_API_KEY = "sk-stub-key-for-load-testing";
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        boolean overHttp = args.length > 1 && "http".equals(args[1]);
+        Article article = new Article("Load Test Article",
+                "Consistency matters.\n\nDocumentation is not optional.\n\nPlan for versioning early.",
+                "https://medium.com/@load/test");
+
+        // ~200ms per call, roughly a short gpt-3.5-turbo completion
+        OpenAIStubServer server = overHttp
+                ? new OpenAIStubServer(OpenAIStubServer.Options.defaults()
+                        .withLatency(OpenAIStubServer.LatencyDistribution.logNormal(
+                                Duration.ofMillis(200), Duration.ofMillis(800)), Duration.ZERO)).start()
+                : null;
+
+        try {
+            System.out.printf("%-10s %10s %12s %14s %14s%n", "mode", "requests", "req/s", "peak threads", "peak heap MB");
+            for (String mode : List.of("platform", "virtual", "reactive")) {
+                // Warm up each mode once so JIT and pools don't skew the measured run
+                run(mode, Math.min(100, requests), article, server);
+                Result result = run(mode, requests, article, server);
+                System.out.printf("%-10s %10d %12.1f %14d %14.1f%n", mode, requests, result.throughput(),
+                        result.peakThreads(), result.peakHeapBytes() / (1024.0 * 1024.0));
+            }
+            if (server != null) {
+                System.out.printf("stub server: %d requests, peak %d in flight%n",
+                        server.getRequests(), server.getPeakInFlight());
+            }
+        } finally {
+            if (server != null) {
+                server.stop();
+            }
+        }
+    }
+
+    private static Result run(String mode, int requests, Article article, OpenAIStubServer server) throws Exception {
+        Article2TweetAgent agent = newAgent("virtual".equals(mode), server);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        System.gc();
+        threads.resetPeakThreadCount();
+        AtomicLong peakHeap = new AtomicLong();
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        switch (mode) {
+            case "platform" -> runBlocking(Executors.newFixedThreadPool(PLATFORM_POOL_SIZE), agent, requests, article);
+            case "virtual" -> runBlocking(Executors.newVirtualThreadPerTaskExecutor(), agent, requests, article);
+            default -> Flux.range(0, requests)
+                    .flatMap(i -> agent.createTwitterThreadReactive(article), requests)
+                    .blockLast();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        sampler.interrupt();
+        double throughput = requests / (elapsed / 1_000_000_000.0);
+        return new Result(throughput, threads.getPeakThreadCount(), peakHeap.get());
+    }
+
+    private static void runBlocking(ExecutorService executor, Article2TweetAgent agent, int requests, Article article)
+            throws Exception {
+        try (executor) {
+            List<Future<TweetThread>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> agent.createTwitterThread(article)));
+            }
+            for (Future<TweetThread> result : results) {
+                result.get();
+            }
+        }
+    }
+
+    private static Article2TweetAgent newAgent(boolean virtualThreads, OpenAIStubServer server) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LlmProvider provider = server == null
+                ? new SimulatedOpenAIExchange(Duration.ofMillis(200), Duration.ZERO).provider()
+                : new OpenAICompatibleProvider(stubWebClient(server), STUB_API_KEY,
+                        new OpenAIRateLimiter(registry, false, 500, 200_000, 0.9, 0, Duration.ZERO), objectMapper);
+
+        OpenAIService openAIService = new OpenAIService(objectMapper,
+                new LlmRouter(List.of(provider), registry),
+                new LlmResponseCache(objectMapper, registry, false, 1, Duration.ZERO, false, "", 1.0),
+                new InsightStore(objectMapper, registry, false, 1, Duration.ZERO, false, ""),
+                new OpenAIRateLimiter(registry, false, 500, 200_000, 0.9, 0, Duration.ZERO),
+                new RequestHedger(registry, false, 0.95, Duration.ZERO, Duration.ZERO, 0, 0, 1),
+                ModelPolicy.defaults(),
+                registry);
+
+        Article2TweetAgent agent = new Article2TweetAgent(openAIService);
+        ReflectionTestUtils.setField(agent, "virtualThreads", virtualThreads);
+        return agent;
+    }
+
+    /**
+     * Pool sized like production so the HTTP run queues on connections the same way
+     */
+    private static WebClient stubWebClient(OpenAIStubServer server) {
+        ConnectionProvider pool = ConnectionProvider.builder("openai-stub")
+                .maxConnections(50)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        return WebClient.builder()
+                .baseUrl(server.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(pool)))
+                .defaultHeader("Authorization", "Bearer " + STUB_API_KEY)
+                .build();
+    }
+
+    private record Result(double throughput, int peakThreads, long peakHeapBytes) {
+    }
+}
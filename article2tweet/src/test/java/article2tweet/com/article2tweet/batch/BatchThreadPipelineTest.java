@@ -0,0 +1,114 @@
+package article2tweet.com.article2tweet.batch;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import article2tweet.com.article2tweet.cache.InsightStore;
+import article2tweet.com.article2tweet.cache.LlmResponseCache;
+import article2tweet.com.article2tweet.domain.Article;
+import article2tweet.com.article2tweet.domain.TweetThread;
+import article2tweet.com.article2tweet.service.LlmRouter;
+import article2tweet.com.article2tweet.service.ModelPolicy;
+import article2tweet.com.article2tweet.service.OpenAIRateLimiter;
+import article2tweet.com.article2tweet.service.OpenAIService;
+import article2tweet.com.article2tweet.service.RequestHedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BatchThreadPipelineTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private OpenAIService openAIService;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // No provider: anything that falls back to the live path uses the mock generators
+        openAIService = new OpenAIService(objectMapper, new LlmRouter(List.of(), registry),
+                new LlmResponseCache(objectMapper, registry, false, 1, Duration.ZERO, false, "", 1.0),
+                new InsightStore(objectMapper, registry, false, 1, Duration.ZERO, false, ""),
+                new OpenAIRateLimiter(registry, false, 500, 200_000, 0.9, 0, Duration.ZERO),
+                new RequestHedger(registry, false, 0.95, Duration.ZERO, Duration.ZERO, 0, 0, 1),
+                ModelPolicy.defaults(),
+                registry);
+    }
+
+    @Test
+    void testBatchFileHasOneChatCompletionRequestPerArticle() throws Exception {
+        BatchThreadPipeline pipeline = pipeline(new LocalBatchClient(objectMapper, tempDir.resolve("batches"), null));
+
+        Path inputFile = pipeline.writeBatchFile(articles(), tempDir.resolve("input.jsonl"));
+
+        List<String> lines = Files.readAllLines(inputFile);
+        assertEquals(2, lines.size());
+        var first = objectMapper.readTree(lines.get(0));
+        assertEquals("article-0", first.path("custom_id").asText());
+        assertEquals("/v1/chat/completions", first.path("url").asText());
+        assertEquals("json_object", first.path("body").path("response_format").path("type").asText());
+    }
+
+    @Test
+    void testThreadsAreMappedBackInArticleOrder() {
+        BatchThreadPipeline pipeline = pipeline(new LocalBatchClient(objectMapper, tempDir.resolve("batches"), null));
+
+        List<TweetThread> threads = pipeline.generateThreads(articles(), tempDir.resolve("work"));
+
+        assertEquals(2, threads.size());
+        assertEquals("First Article", threads.get(0).getOriginalArticleTitle());
+        assertEquals("Second Article", threads.get(1).getOriginalArticleTitle());
+        assertTrue(threads.get(0).getTweets().get(0).getContent().contains("First Article"));
+        assertEquals(5, threads.get(1).getTotalTweets());
+    }
+
+    @Test
+    void testFailedBatchRequestFallsBackToLiveGeneration() {
+        LocalBatchClient failingSecond = new LocalBatchClient(objectMapper, tempDir.resolve("batches"), prompt -> {
+            if (prompt.contains("Second Article")) {
+                throw new IllegalStateException("model overloaded");
+            }
+            return "{\"insights\":[\"a\",\"b\",\"c\"],\"hook\":\"🧵 Hook\",\"tweets\":[\"One\",\"Two\",\"Three\"],\"wrap_up\":\"Bye\"}";
+        });
+
+        List<TweetThread> threads = pipeline(failingSecond).generateThreads(articles(), tempDir.resolve("work"));
+
+        assertEquals(2, threads.size());
+        assertEquals("🧵 Hook", threads.get(0).getTweets().get(0).getContent());
+        assertTrue(threads.get(1).getTotalTweets() > 0);
+    }
+
+    @Test
+    void testBatchWithoutOutputFileFallsBackToLiveGenerationForEveryArticle() {
+        LocalBatchClient alwaysFailing = new LocalBatchClient(objectMapper, tempDir.resolve("batches"), prompt -> {
+            throw new IllegalStateException("model overloaded");
+        });
+
+        List<TweetThread> threads = pipeline(alwaysFailing).generateThreads(articles(), tempDir.resolve("work"));
+
+        assertEquals(2, threads.size());
+        assertEquals("Second Article", threads.get(1).getOriginalArticleTitle());
+        assertTrue(threads.stream().allMatch(thread -> thread.getTotalTweets() > 0));
+    }
+
+    private BatchThreadPipeline pipeline(BatchClient batchClient) {
+        return new BatchThreadPipeline(batchClient, openAIService, objectMapper, Duration.ZERO, Duration.ofMinutes(1));
+    }
+
+    private List<Article> articles() {
+        return List.of(
+            new Article("First Article", "Content about shipping small changes often.", "https://medium.com/@a/first"),
+            new Article("Second Article", "Content about writing clearly for your team.", "https://medium.com/@a/second"));
+    }
+}
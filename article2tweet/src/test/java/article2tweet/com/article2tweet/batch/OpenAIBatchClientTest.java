@@ -0,0 +1,54 @@
+package article2tweet.com.article2tweet.batch;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Mono;
+
+class OpenAIBatchClientTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testUploadWithoutFileIdFailsBeforeCreatingTheBatch() throws Exception {
+        Path inputFile = Files.writeString(tempDir.resolve("input.jsonl"), "{}\n");
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> client("{\"object\": \"file\"}").submit(inputFile));
+
+        assertTrue(error.getMessage().contains("no file ID"), error.getMessage());
+    }
+
+    @Test
+    void testEmptyStatusResponseIsReportedAsSuch() {
+        RuntimeException error = assertThrows(RuntimeException.class, () -> client(null).status("batch_1"));
+
+        assertTrue(error.getMessage().contains("batch_1"), error.getMessage());
+    }
+
+    /**
+     * Client whose every call gets the given JSON body, or an empty 200 for null
+     */
+    private static OpenAIBatchClient client(String body) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(body == null
+                        ? ClientResponse.create(HttpStatus.OK).build()
+                        : ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body(body)
+                                .build()))
+                .build();
+        return new OpenAIBatchClient(webClient);
+    }
+}
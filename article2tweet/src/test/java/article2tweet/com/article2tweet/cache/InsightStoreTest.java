@@ -0,0 +1,129 @@
+package article2tweet.com.article2tweet.cache;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import article2tweet.com.article2tweet.service.ChatCompletionResponse;
+import article2tweet.com.article2tweet.service.ChatRequest;
+import article2tweet.com.article2tweet.service.LlmProvider;
+import article2tweet.com.article2tweet.service.LlmRouter;
+import article2tweet.com.article2tweet.service.ModelPolicy;
+import article2tweet.com.article2tweet.service.OpenAIRateLimiter;
+import article2tweet.com.article2tweet.service.OpenAIService;
+import article2tweet.com.article2tweet.service.RequestHedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class InsightStoreTest {
+
+    private static final List<String> INSIGHTS = List.of("Short loops win.", "Tests run on every change.",
+            "Confidence compounds.");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testSameArticleAndPromptVersionHits() {
+        InsightStore store = newStore(true, null);
+        store.put(store.fingerprint("insights-v2", "Feedback Loops", "Body"), INSIGHTS);
+
+        assertEquals(INSIGHTS, store.get(store.fingerprint("insights-v2", "Feedback Loops", "Body")).orElseThrow());
+        assertEquals(1, store.getHits());
+    }
+
+    @Test
+    void testChangedContentOrTitleMisses() {
+        InsightStore store = newStore(true, null);
+        store.put(store.fingerprint("insights-v2", "Feedback Loops", "Body"), INSIGHTS);
+
+        assertTrue(store.get(store.fingerprint("insights-v2", "Feedback Loops", "Edited body")).isEmpty());
+        assertTrue(store.get(store.fingerprint("insights-v2", "Feedback Loops, revised", "Body")).isEmpty());
+        assertEquals(2, store.getMisses());
+    }
+
+    @Test
+    void testPromptVersionChangeInvalidatesStoredInsights() {
+        InsightStore store = newStore(true, null);
+        String before = store.fingerprint("insights-v1", "Feedback Loops", "Body");
+        store.put(before, INSIGHTS);
+
+        String after = store.fingerprint("insights-v2", "Feedback Loops", "Body");
+
+        assertNotEquals(before, after);
+        assertTrue(store.get(after).isEmpty());
+    }
+
+    @Test
+    void testDisabledStoreNeverHits() {
+        InsightStore store = newStore(false, null);
+        String fingerprint = store.fingerprint("insights-v2", "Feedback Loops", "Body");
+        store.put(fingerprint, INSIGHTS);
+
+        assertTrue(store.get(fingerprint).isEmpty());
+    }
+
+    @Test
+    void testSecondRunSkipsTheExtractionCall(@TempDir Path directory) {
+        AtomicInteger calls = new AtomicInteger();
+        LlmRouter llmRouter = new LlmRouter(List.of(new LlmProvider() {
+            @Override
+            public String name() {
+                return "openai";
+            }
+
+            @Override
+            public boolean isConfigured() {
+                return true;
+            }
+
+            @Override
+            public Mono<ChatCompletionResponse> complete(ChatRequest request) {
+                calls.incrementAndGet();
+                return Mono.just(completion("1. Short loops win.\n2. Tests run on every change.\n3. Confidence compounds."));
+            }
+        }), meterRegistry);
+
+        InsightStore firstStore = newStore(true, directory);
+        List<String> first = newService(llmRouter, firstStore)
+                .extractKeyInsights("Short loops win.\n\nTests run on every change.", "Feedback Loops");
+        firstStore.close();
+        // A fresh store on the same directory, as after a restart between preview and final run
+        List<String> second = newService(llmRouter, newStore(true, directory))
+                .extractKeyInsights("Short loops win.\n\nTests run on every change.", "Feedback Loops");
+
+        assertEquals(INSIGHTS, first);
+        assertEquals(first, second);
+        assertEquals(1, calls.get());
+    }
+
+    private InsightStore newStore(boolean enabled, Path diskDirectory) {
+        return new InsightStore(objectMapper, meterRegistry, enabled, 100, Duration.ofDays(7), diskDirectory != null,
+                diskDirectory == null ? "" : diskDirectory.toString());
+    }
+
+    private OpenAIService newService(LlmRouter llmRouter, InsightStore insightStore) {
+        return new OpenAIService(objectMapper, llmRouter,
+                new LlmResponseCache(objectMapper, meterRegistry, false, 1, Duration.ZERO, false, "", 1.0),
+                insightStore,
+                new OpenAIRateLimiter(meterRegistry, false, 500, 200_000, 0.9, 0, Duration.ZERO),
+                new RequestHedger(meterRegistry, false, 0.95, Duration.ZERO, Duration.ZERO, 0, 0, 1),
+                ModelPolicy.defaults(),
+                meterRegistry);
+    }
+
+    private static ChatCompletionResponse completion(String content) {
+        return new ChatCompletionResponse("gpt-4o-mini",
+                List.of(new ChatCompletionResponse.Choice(0, new ChatCompletionResponse.Message("assistant", content), "stop")),
+                new ChatCompletionResponse.Usage(100, 20, 120, null), null);
+    }
+}
@@ -0,0 +1,214 @@
+package article2tweet.com.article2tweet.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import article2tweet.com.article2tweet.cache.MediumResponseCache.Endpoint;
+import article2tweet.com.article2tweet.service.MediumApiResponses;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class MediumResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    }
+
+    @Test
+    void testFreshEntryIsServedWithoutRefresh() {
+        MediumResponseCache cache = newCache(null);
+        AtomicInteger calls = new AtomicInteger();
+
+        MediumApiResponses.UserArticles first = cache.getOrFetch(Endpoint.USER_ARTICLES, "u1",
+                MediumApiResponses.UserArticles.class, () -> listing(calls, "a1")).block();
+        clock.advance(Duration.ofMinutes(10));
+        MediumApiResponses.UserArticles second = cache.getOrFetch(Endpoint.USER_ARTICLES, "u1",
+                MediumApiResponses.UserArticles.class, () -> listing(calls, "a2")).block();
+
+        assertEquals(first, second);
+        assertEquals(1, calls.get());
+        assertEquals(0.5, cache.hitRatio(Endpoint.USER_ARTICLES));
+        assertEquals(0.5, meterRegistry.get("medium.cache.hit.ratio").tag("endpoint", "user-articles").gauge().value());
+    }
+
+    @Test
+    void testStaleEntryIsServedWhileOneRefreshRuns() {
+        MediumResponseCache cache = newCache(null);
+        cache.put(Endpoint.USER_ARTICLES, "u1", new MediumApiResponses.UserArticles(List.of("a1")));
+        clock.advance(Duration.ofMinutes(20));
+
+        Sinks.One<MediumApiResponses.UserArticles> refresh = Sinks.one();
+        AtomicInteger refreshes = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            Optional<MediumApiResponses.UserArticles> stale = cache.get(Endpoint.USER_ARTICLES, "u1",
+                    MediumApiResponses.UserArticles.class, () -> {
+                        refreshes.incrementAndGet();
+                        return refresh.asMono();
+                    });
+            assertEquals(List.of("a1"), stale.orElseThrow().associatedArticles());
+        }
+        assertEquals(1, refreshes.get());
+
+        refresh.tryEmitValue(new MediumApiResponses.UserArticles(List.of("a1", "a2")));
+
+        Optional<MediumApiResponses.UserArticles> refreshed = cache.get(Endpoint.USER_ARTICLES, "u1",
+                MediumApiResponses.UserArticles.class, Mono::empty);
+        assertEquals(List.of("a1", "a2"), refreshed.orElseThrow().associatedArticles());
+        // Stale since minute 15, refreshed at minute 20
+        assertEquals(Duration.ofMinutes(5).toMillis(), meterRegistry.get("medium.cache.refresh.lag")
+                .tag("endpoint", "user-articles").timer().max(TimeUnit.MILLISECONDS), 1);
+        assertEquals(3, meterRegistry.get("medium.cache.gets").tag("result", "stale").counter().count());
+    }
+
+    @Test
+    void testFailedRefreshKeepsServingStaleEntry() {
+        MediumResponseCache cache = newCache(null);
+        cache.put(Endpoint.ARTICLE, "a1", articleInfo("2024-06-01 09:00:00"));
+        clock.advance(Duration.ofHours(2));
+
+        cache.get(Endpoint.ARTICLE, "a1", MediumApiResponses.ArticleInfo.class,
+                () -> Mono.error(new IllegalStateException("quota exceeded")));
+
+        assertTrue(cache.get(Endpoint.ARTICLE, "a1", MediumApiResponses.ArticleInfo.class, Mono::empty).isPresent());
+        assertEquals(1, meterRegistry.get("medium.cache.refreshes").tag("outcome", "error").counter().count());
+    }
+
+    @Test
+    void testVersionedEntryOnlyMatchesItsVersion() {
+        MediumResponseCache cache = newCache(null);
+        cache.putVersioned(Endpoint.CONTENT, "a1", "v1", new MediumApiResponses.ArticleContent("Old body"));
+        clock.advance(Duration.ofHours(48));
+
+        assertEquals("Old body", cache.getVersioned(Endpoint.CONTENT, "a1", "v1",
+                MediumApiResponses.ArticleContent.class, Mono::empty).orElseThrow().content());
+        assertTrue(cache.getVersioned(Endpoint.CONTENT, "a1", "v2",
+                MediumApiResponses.ArticleContent.class, Mono::empty).isEmpty());
+    }
+
+    @Test
+    void testStoringNewVersionDropsThePreviousOne(@TempDir Path directory) throws IOException {
+        MediumResponseCache cache = newCache(directory);
+        cache.putVersioned(Endpoint.CONTENT, "a1", "v1", new MediumApiResponses.ArticleContent("Old body"));
+        cache.putVersioned(Endpoint.CONTENT, "a1", "v2", new MediumApiResponses.ArticleContent("New body"));
+
+        assertTrue(cache.getVersioned(Endpoint.CONTENT, "a1", "v1",
+                MediumApiResponses.ArticleContent.class, Mono::empty).isEmpty());
+        cache.close();
+        assertEquals("New body", newCache(directory).getVersioned(Endpoint.CONTENT, "a1", "v2",
+                MediumApiResponses.ArticleContent.class, Mono::empty).orElseThrow().content());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(file -> file.toString().endsWith(".json")).count());
+        }
+    }
+
+    @Test
+    void testNewVersionAfterRestartDropsThePreviousVersionOnDisk(@TempDir Path directory) throws IOException {
+        MediumResponseCache first = newCache(directory);
+        first.putVersioned(Endpoint.CONTENT, "a1", "v1", new MediumApiResponses.ArticleContent("Old body"));
+        first.close();
+
+        // Only the disk tier knows about v1 now; it is looked up and dropped off the caller's thread
+        MediumResponseCache restarted = newCache(directory);
+        restarted.putVersioned(Endpoint.CONTENT, "a1", "v2", new MediumApiResponses.ArticleContent("New body"));
+        restarted.close();
+
+        assertTrue(newCache(directory).getVersioned(Endpoint.CONTENT, "a1", "v1",
+                MediumApiResponses.ArticleContent.class, Mono::empty).isEmpty());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(file -> file.toString().endsWith(".json")).count());
+        }
+    }
+
+    @Test
+    void testEntriesPastMaxStaleAreDropped() {
+        MediumResponseCache cache = newCache(null);
+        cache.put(Endpoint.ARTICLE, "a1", articleInfo(null));
+        clock.advance(Duration.ofDays(8));
+
+        assertTrue(cache.get(Endpoint.ARTICLE, "a1", MediumApiResponses.ArticleInfo.class, Mono::empty).isEmpty());
+    }
+
+    @Test
+    void testEntriesSurviveRestartOnDisk(@TempDir Path directory) {
+        MediumResponseCache first = newCache(directory);
+        first.put(Endpoint.ARTICLE, "a1", articleInfo("2024-06-01 09:00:00"));
+        first.close();
+
+        MediumApiResponses.ArticleInfo info = newCache(directory)
+                .get(Endpoint.ARTICLE, "a1", MediumApiResponses.ArticleInfo.class, Mono::empty)
+                .orElseThrow();
+
+        assertEquals("Pooling", info.title());
+        assertEquals("2024-06-01 09:00:00", info.lastModifiedAt());
+    }
+
+    private MediumResponseCache newCache(Path diskDirectory) {
+        return new MediumResponseCache(objectMapper, meterRegistry, true, 100, 1000, Duration.ofDays(7),
+                Duration.ofHours(1), Duration.ofMinutes(15), diskDirectory, clock);
+    }
+
+    private static Mono<MediumApiResponses.UserArticles> listing(AtomicInteger calls, String articleId) {
+        return Mono.fromSupplier(() -> {
+            calls.incrementAndGet();
+            return new MediumApiResponses.UserArticles(List.of(articleId));
+        });
+    }
+
+    private static MediumApiResponses.ArticleInfo articleInfo(String lastModifiedAt) {
+        return new MediumApiResponses.ArticleInfo("Pooling", null, "https://medium.com/p/a1", "2024-05-01 10:00:00",
+                lastModifiedAt, 4.2, 900, 10, 2, null, null);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package article2tweet.com.article2tweet.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class SingleFlightTest {
+
+    @Test
+    void testConcurrentCallersShareOneUpstreamCall() {
+        SingleFlight<String> flight = new SingleFlight<>("test", new SimpleMeterRegistry());
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        List<String> results = Flux.range(0, 10)
+                .flatMap(i -> flight.execute("article-1", () -> Mono.fromCallable(() -> {
+                    upstreamCalls.incrementAndGet();
+                    return "content";
+                }).delayElement(Duration.ofMillis(100))))
+                .collectList()
+                .block();
+
+        assertEquals(10, results.size());
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(9.0, flight.getSavedCalls());
+        assertEquals(0, flight.inFlightCount());
+    }
+
+    @Test
+    void testCompletedCallIsNotReused() {
+        SingleFlight<String> flight = new SingleFlight<>("test", new SimpleMeterRegistry());
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        flight.execute("key", () -> Mono.fromCallable(upstreamCalls::incrementAndGet).map(String::valueOf)).block();
+        flight.execute("key", () -> Mono.fromCallable(upstreamCalls::incrementAndGet).map(String::valueOf)).block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0.0, flight.getSavedCalls());
+    }
+
+    @Test
+    void testErrorsAreSharedThenCleared() {
+        SingleFlight<String> flight = new SingleFlight<>("test", new SimpleMeterRegistry());
+        Mono<String> failing = flight.execute("key", () -> Mono.<String>error(new IllegalStateException("boom"))
+                .delaySubscription(Duration.ofMillis(50)));
+        Mono<String> joined = flight.execute("key", () -> Mono.just("never used"));
+
+        assertThrows(IllegalStateException.class, failing::block);
+        assertThrows(IllegalStateException.class, joined::block);
+        assertEquals("fresh", flight.execute("key", () -> Mono.just("fresh")).block());
+    }
+}
@@ -0,0 +1,209 @@
+package article2tweet.com.article2tweet.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class TieredCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        TieredCache<String> cache = memoryCache(2);
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a"); // touch a so b becomes eldest
+        cache.put("c", "3");
+
+        assertTrue(cache.get("a").isPresent());
+        assertFalse(cache.get("b").isPresent());
+        assertTrue(cache.get("c").isPresent());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testEntriesExpireAfterTtl() {
+        TieredCache<String> cache = memoryCache(10);
+
+        cache.put("short", "value", Duration.ofMinutes(1));
+        cache.put("forever", "value", Duration.ZERO);
+
+        clock.advance(Duration.ofMinutes(2));
+
+        assertFalse(cache.get("short").isPresent());
+        assertTrue(cache.get("forever").isPresent());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testDiskTierSurvivesRestart() {
+        TieredCache<String> first = diskCache();
+        first.put("prompt-hash", "cached completion");
+        first.flush();
+
+        // A fresh instance has an empty memory tier and must read from disk
+        TieredCache<String> second = diskCache();
+
+        assertEquals("cached completion", second.get("prompt-hash").orElseThrow());
+        assertEquals(1, second.getHits());
+    }
+
+    @Test
+    void testExpiredDiskEntryIsRemoved() {
+        TieredCache<String> first = diskCache();
+        first.put("prompt-hash", "stale completion", Duration.ofSeconds(30));
+        first.flush();
+        clock.advance(Duration.ofMinutes(1));
+
+        TieredCache<String> second = diskCache();
+
+        assertFalse(second.get("prompt-hash").isPresent());
+        second.flush();
+        assertEquals(0, second.diskSize());
+    }
+
+    @Test
+    void testDiskTierIsBoundedToNewestEntries() {
+        TieredCache<String> cache = new TieredCache<>("test", 10, 3, Duration.ofHours(1), tempDir, objectMapper,
+                objectMapper.constructType(String.class), clock);
+        for (int i = 1; i <= 5; i++) {
+            cache.put("key-" + i, "value " + i);
+            clock.advance(Duration.ofSeconds(1));
+        }
+        cache.flush();
+
+        assertEquals(3, cache.diskSize());
+        TieredCache<String> restarted = diskCache();
+        assertFalse(restarted.get("key-1").isPresent());
+        assertFalse(restarted.get("key-2").isPresent());
+        assertEquals("value 5", restarted.get("key-5").orElseThrow());
+    }
+
+    @Test
+    void testSweepDeletesExpiredEntriesThatAreNeverReadAgain() {
+        TieredCache<String> cache = diskCache();
+        cache.put("orphan", "old version", Duration.ofMinutes(1));
+        cache.put("kept", "current version", Duration.ofHours(1));
+        cache.flush();
+        clock.advance(Duration.ofMinutes(2));
+
+        assertEquals(1, cache.sweepDisk());
+        assertEquals(1, cache.diskSize());
+        // A restart sweeps too, without anything being read
+        cache.put("orphan-2", "old version", Duration.ofMinutes(1));
+        cache.flush();
+        clock.advance(Duration.ofMinutes(2));
+        TieredCache<String> restarted = diskCache();
+        restarted.flush();
+        assertEquals(1, restarted.diskSize());
+    }
+
+    @Test
+    void testPutLeavesDiskWritesToTheWriterThread() {
+        List<String> writerThreads = new CopyOnWriteArrayList<>();
+        ObjectMapper recordingMapper = new ObjectMapper() {
+            @Override
+            public void writeValue(File resultFile, Object value) throws IOException {
+                writerThreads.add(Thread.currentThread().getName());
+                super.writeValue(resultFile, value);
+            }
+        };
+        TieredCache<String> cache = new TieredCache<>("test", 10, Duration.ofHours(1), tempDir, recordingMapper,
+                recordingMapper.constructType(String.class), clock);
+
+        cache.put("prompt-hash", "cached completion");
+        // Served from memory whether or not the write has happened yet
+        assertEquals("cached completion", cache.get("prompt-hash").orElseThrow());
+        cache.flush();
+
+        assertEquals(1, writerThreads.size());
+        assertTrue(writerThreads.get(0).startsWith("cache-test-disk"), writerThreads.get(0));
+        assertEquals(1, cache.diskSize());
+    }
+
+    @Test
+    void testQueuedDeleteIsVisibleBeforeItReachesDisk() {
+        TieredCache<String> cache = new TieredCache<>("test", 1, Duration.ofHours(1), tempDir, objectMapper,
+                objectMapper.constructType(String.class), clock);
+        cache.put("a", "1");
+        cache.flush();
+        cache.put("b", "2"); // evicts a from memory, leaving only its disk copy
+
+        cache.invalidate("a");
+        assertFalse(cache.get("a").isPresent());
+
+        cache.put("a", "3");
+        cache.put("b", "4");
+        assertEquals("3", cache.get("a").orElseThrow());
+
+        cache.clear();
+        assertFalse(cache.get("a").isPresent());
+        cache.flush();
+        assertEquals(0, cache.diskSize());
+    }
+
+    private TieredCache<String> memoryCache(int maxEntries) {
+        return new TieredCache<>("test", maxEntries, Duration.ofHours(1), null, objectMapper,
+                objectMapper.constructType(String.class), clock);
+    }
+
+    private TieredCache<String> diskCache() {
+        return new TieredCache<>("test", 10, Duration.ofHours(1), tempDir, objectMapper,
+                objectMapper.constructType(String.class), clock);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
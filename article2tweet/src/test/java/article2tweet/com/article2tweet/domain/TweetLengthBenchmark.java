@@ -0,0 +1,72 @@
+package article2tweet.com.article2tweet.domain;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Weighted length and truncation cost for typical tweets, next to plain String.length().
+ * Add -prof gc to confirm weightedLength allocates nothing.
+ *
+ * Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=article2tweet.com.article2tweet.domain.TweetLengthBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class TweetLengthBenchmark {
+
+    @Param({"ascii", "emoji", "cjk"})
+    private String kind;
+
+    private String tweet;
+    private String longTweet;
+
+    @Setup
+    public void setUp() {
+        String body = switch (kind) {
+            case "emoji" -> "🧵 Shipping small changes often beats big rewrites 🚀👨‍👩‍👧 and keeps 🇺🇸 teams happy ❤️. ";
+            case "cjk" -> "小さな変更を頻繁に出荷することは大きな書き直しに勝る。チームも幸せになる。";
+            default -> "Shipping small changes often beats big rewrites, and keeps teams happy. ";
+        };
+        tweet = body + "Full article: https://medium.com/@dillondoa/building-better-apis-3f2a9c";
+        longTweet = body.repeat(8) + "Full article: https://medium.com/@dillondoa/building-better-apis-3f2a9c";
+    }
+
+    @Benchmark
+    public int stringLength() {
+        return tweet.length();
+    }
+
+    @Benchmark
+    public int weightedLength() {
+        return TweetLength.weightedLength(tweet);
+    }
+
+    @Benchmark
+    public String truncate() {
+        return TweetLength.truncate(longTweet, 240);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(TweetLengthBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
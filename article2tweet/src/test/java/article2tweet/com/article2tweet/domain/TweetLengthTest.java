@@ -0,0 +1,150 @@
+package article2tweet.com.article2tweet.domain;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class TweetLengthTest {
+
+    private static final List<String> URLS = List.of(
+        "https://medium.com/@dillondoa/building-better-apis-lessons-learned-3f2a9c",
+        "http://example.com",
+        "www.example.org/path?q=1");
+
+    private static final List<String> FRAGMENTS = List.of(
+        "a", "Z", "7", " ", " ", ".", ",", "é", "ж", "—", "“", "…",
+        "日", "語", "한", "😀", "🧵", "❤️", "👍🏽", "👨‍👩‍👧", "🇺🇸", "1️⃣", "\n");
+
+    @Test
+    void testAsciiCountsOnePerCharacter() {
+        assertEquals(5, TweetLength.weightedLength("hello"));
+        assertTrue(TweetLength.isValid("x".repeat(280)));
+        assertFalse(TweetLength.isValid("x".repeat(281)));
+    }
+
+    @Test
+    void testLinksCountAsTwentyThree() {
+        String url = URLS.get(0);
+        assertEquals(5 + 23, TweetLength.weightedLength("Read " + url));
+        assertEquals(23 + 1, TweetLength.weightedLength("http://example.com."));
+        assertEquals(23, TweetLength.weightedLength("www.example.org/path?q=1"));
+        // A long link no longer makes an otherwise short tweet invalid
+        assertTrue(TweetLength.isValid("x".repeat(250) + " https://example.com/" + "a".repeat(200)));
+    }
+
+    @Test
+    void testCjkAndEmojiCountDouble() {
+        assertEquals(6, TweetLength.weightedLength("日本語"));
+        assertEquals(2, TweetLength.weightedLength("😀"));
+        assertEquals(2, TweetLength.weightedLength("❤️"));
+        assertEquals(2, TweetLength.weightedLength("👍🏽"));
+        assertEquals(2, TweetLength.weightedLength("👨‍👩‍👧"));
+        assertEquals(2, TweetLength.weightedLength("🇺🇸"));
+        assertEquals(1, TweetLength.weightedLength("—"));
+        assertFalse(TweetLength.isValid("日".repeat(141)));
+    }
+
+    @Test
+    void testKeycapSequenceCountsAsOneEmoji() {
+        assertEquals(2, TweetLength.weightedLength("1️⃣"));
+        assertEquals(2, TweetLength.weightedLength("#️⃣"));
+        assertEquals(2, TweetLength.weightedLength("*⃣"));
+        assertEquals(2 + 6, TweetLength.weightedLength("3️⃣ steps"));
+        // Without the enclosing mark it is just a digit
+        assertEquals(1, TweetLength.weightedLength("7️"));
+        // Cut before the keycap, not between the digit and its enclosing mark
+        assertEquals(2, TweetLength.truncationIndex("ab1️⃣", 3));
+    }
+
+    @Test
+    void testDecomposedTextIsCountedInNfc() {
+        assertEquals(1, TweetLength.weightedLength("e\u0301"));
+        assertEquals(TweetLength.weightedLength("Café"), TweetLength.weightedLength("Cafe\u0301"));
+        assertEquals(280, TweetLength.weightedLength("e\u0301".repeat(280)));
+        assertTrue(TweetLength.isValid("e\u0301".repeat(280)));
+    }
+
+    @Test
+    void testTruncatePrefersSentenceEndAndKeepsLinksWhole() {
+        String text = "First sentence is here. Second sentence keeps going " + "on ".repeat(30)
+                + "until it is too long. See " + URLS.get(0);
+
+        String truncated = TweetLength.truncate(text, 40);
+
+        assertEquals("First sentence is here.", truncated);
+        assertEquals("Hi https://example.com/very/long/path",
+                TweetLength.truncate("Hi https://example.com/very/long/path", 30));
+    }
+
+    @Test
+    void testTweetUsesWeightedCount() {
+        Tweet tweet = new Tweet(1, "🧵 Thread: " + URLS.get(0));
+        assertEquals(2 + 9 + 23, tweet.getCharacterCount());
+    }
+
+    @ParameterizedTest
+    @MethodSource("randomTexts")
+    void testTruncationAlwaysFitsAndNeverSplitsUnits(String text) {
+        for (int max : new int[] {10, 50, 140, 240, 280}) {
+            String truncated = TweetLength.truncate(text, max);
+            assertTrue(TweetLength.weightedLength(truncated) <= max, () -> "too long at " + max + ": " + truncated);
+
+            int index = TweetLength.truncationIndex(text, max);
+            assertTrue(TweetLength.weightedLength(text.subSequence(0, index)) <= max);
+            assertFalse(index > 0 && index < text.length()
+                    && Character.isHighSurrogate(text.charAt(index - 1)) && Character.isLowSurrogate(text.charAt(index)));
+            assertFalse(index < text.length() && (text.charAt(index) == '‍' || text.charAt(index) == '️'),
+                    "cut inside an emoji sequence");
+            for (String url : URLS) {
+                int start = text.indexOf(url);
+                assertFalse(start >= 0 && index > start && index < start + url.length(), "cut inside " + url);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("randomTexts")
+    void testTextThatFitsIsLeftAlone(String text) {
+        int weight = TweetLength.weightedLength(text);
+        assertEquals(text, TweetLength.truncate(text, weight));
+        assertEquals(text.length(), TweetLength.truncationIndex(text, weight));
+    }
+
+    @ParameterizedTest
+    @MethodSource("randomTexts")
+    void testWeightGrowsWithPrefix(String text) {
+        int previous = 0;
+        for (int max = 0; max <= TweetLength.weightedLength(text); max += 7) {
+            int index = TweetLength.truncationIndex(text, max);
+            assertTrue(index >= previous, "truncation index shrank at " + max);
+            previous = index;
+        }
+    }
+
+    /**
+     * Seeded random mixes of ASCII, accented Latin, CJK, emoji sequences, flags and links
+     */
+    static Stream<String> randomTexts() {
+        Random random = new Random(42);
+        return IntStream.range(0, 300).mapToObj(i -> {
+            StringBuilder text = new StringBuilder();
+            int parts = 1 + random.nextInt(200);
+            for (int part = 0; part < parts; part++) {
+                if (random.nextInt(40) == 0) {
+                    text.append(' ').append(URLS.get(random.nextInt(URLS.size()))).append(' ');
+                } else {
+                    text.append(FRAGMENTS.get(random.nextInt(FRAGMENTS.size())));
+                }
+            }
+            return text.toString();
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package article2tweet.com.article2tweet.service;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+class AnthropicProviderTest {
+
+    private final AnthropicProvider provider = new AnthropicProvider(WebClient.create(), "test-key",
+            "claude-haiku-4-5", "gpt-4o=claude-sonnet-4-5");
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSharedPrefixBecomesCacheBreakpoints() {
+        PromptContext context = PromptContext.of("Caching", "Article body");
+        ChatRequest request = ChatRequest.of("gpt-4o", PromptTemplates.hook(context, "First point"), 1.2, 150,
+                Map.of("response_format", Map.of("type", "json_object")));
+
+        Map<String, Object> body = provider.toMessagesBody(request, "claude-sonnet-4-5");
+
+        assertEquals(1.0, body.get("temperature"));
+        assertFalse(body.containsKey("response_format"));
+        List<Map<String, Object>> system = (List<Map<String, Object>>) body.get("system");
+        assertTrue(system.get(0).containsKey("cache_control"));
+
+        List<Map<String, Object>> messages = (List<Map<String, Object>>) body.get("messages");
+        List<Map<String, Object>> blocks = (List<Map<String, Object>>) messages.get(0).get("content");
+        assertEquals(2, blocks.size());
+        assertTrue(blocks.get(0).containsKey("cache_control"));
+        assertFalse(blocks.get(1).containsKey("cache_control"));
+    }
+
+    @Test
+    void testModelMappingIsParsed() {
+        assertEquals(Map.of("gpt-4o", "claude-sonnet-4-5", "gpt-4o-mini", "claude-haiku-4-5"),
+                AnthropicProvider.parseModelMapping(" gpt-4o=claude-sonnet-4-5, gpt-4o-mini=claude-haiku-4-5,broken"));
+    }
+}
@@ -0,0 +1,71 @@
+package article2tweet.com.article2tweet.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class ArticleChunkerTest {
+
+    @Test
+    void testShortArticleIsSingleChunk() {
+        List<String> chunks = ArticleChunker.chunk("First paragraph.\n\nSecond paragraph.", 1500);
+
+        assertEquals(1, chunks.size());
+        assertEquals("First paragraph.\n\nSecond paragraph.", chunks.get(0));
+    }
+
+    @Test
+    void testChunksRespectTokenBudgetAndParagraphBoundaries() {
+        String article = InsightExtractionBenchmark.generateArticle(5000);
+
+        List<String> chunks = ArticleChunker.chunk(article, 500);
+
+        assertTrue(chunks.size() > 1);
+        for (String chunk : chunks) {
+            assertTrue(ArticleChunker.estimateTokens(chunk) <= 500, "Chunk over budget: " + chunk.length());
+            assertTrue(chunk.endsWith("."), "Chunk should end at a paragraph boundary");
+        }
+        // Nothing is lost: every word survives chunking
+        assertEquals(article.split("\\s+").length, String.join("\n\n", chunks).split("\\s+").length);
+    }
+
+    @Test
+    void testOversizedParagraphIsSplitAtSentences() {
+        String paragraph = "This sentence is short. ".repeat(100).trim();
+
+        List<String> chunks = ArticleChunker.chunk(paragraph, 50);
+
+        assertTrue(chunks.size() > 1);
+        chunks.forEach(chunk -> assertTrue(chunk.length() <= 200));
+        chunks.forEach(chunk -> assertTrue(chunk.endsWith("short.")));
+    }
+
+    @Test
+    void testCondenseKeepsShortArticleAsIs() {
+        String article = "First paragraph.\n\nSecond paragraph.";
+
+        assertEquals(article, ArticleChunker.condense(article, 1500));
+    }
+
+    @Test
+    void testCondensedArticleIsBoundedAndCoversEverySection() {
+        String article = InsightExtractionBenchmark.generateArticle(8000);
+
+        String condensed = ArticleChunker.condense(article, 1000);
+
+        assertTrue(ArticleChunker.estimateTokens(condensed) <= 1000, "Condensed to " + condensed.length());
+        // Each section contributes its opening, in order
+        List<String> chunks = ArticleChunker.chunk(article, 1000);
+        String[] excerpts = condensed.split("\n\n");
+        assertEquals(chunks.size(), excerpts.length);
+        for (int i = 0; i < chunks.size(); i++) {
+            assertTrue(excerpts[i].endsWith(". …"), "Excerpt should end on a sentence: " + excerpts[i]);
+            String opening = excerpts[i].substring(0, excerpts[i].length() - 2);
+            assertTrue(chunks.get(i).startsWith(opening));
+        }
+        // Same input, same prefix, so prompts built from it stay cacheable
+        assertEquals(condensed, ArticleChunker.condense(article, 1000));
+    }
+}
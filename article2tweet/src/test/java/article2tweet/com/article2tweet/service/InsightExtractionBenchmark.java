@@ -0,0 +1,110 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import article2tweet.com.article2tweet.cache.InsightStore;
+import article2tweet.com.article2tweet.cache.LlmResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Single-prompt vs chunked map-reduce insight extraction over 1k, 5k and 20k-word articles,
+ * against a simulated endpoint whose latency grows with prompt size.
+ *
+ * Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=article2tweet.com.article2tweet.service.InsightExtractionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class InsightExtractionBenchmark {
+
+    @Param({"1000", "5000", "20000"})
+    private int words;
+
+    @Param({"single", "chunked"})
+    private String mode;
+
+    private String content;
+    private OpenAIService openAIService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        content = generateArticle(words);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // 50ms base + 20µs per prompt token of prefill
+        SimulatedOpenAIExchange exchange = new SimulatedOpenAIExchange(Duration.ofMillis(50), Duration.ofNanos(20_000));
+
+        openAIService = new OpenAIService(objectMapper,
+                new LlmRouter(List.of(exchange.provider()), registry),
+                new LlmResponseCache(objectMapper, registry, false, 1, Duration.ZERO, false, "", 1.0),
+                new InsightStore(objectMapper, registry, false, 1, Duration.ZERO, false, ""),
+                new OpenAIRateLimiter(registry, false, 500, 200_000, 0.9, 0, Duration.ZERO),
+                new RequestHedger(registry, false, 0.95, Duration.ZERO, Duration.ZERO, 0, 0, 1),
+                ModelPolicy.defaults(),
+                registry);
+        ReflectionTestUtils.setField(openAIService, "chunkingEnabled", "chunked".equals(mode));
+        ReflectionTestUtils.setField(openAIService, "chunkingThresholdTokens", 3000);
+        ReflectionTestUtils.setField(openAIService, "chunkTokens", 1500);
+        ReflectionTestUtils.setField(openAIService, "chunkingParallelism", 4);
+        ReflectionTestUtils.setField(openAIService, "chunkCandidatesPerChunk", 3);
+    }
+
+    @Benchmark
+    public List<String> extractKeyInsights() {
+        return openAIService.extractKeyInsights(content, "Benchmark Article");
+    }
+
+    @Benchmark
+    public List<String> chunkArticle() {
+        return ArticleChunker.chunk(content, 1500);
+    }
+
+    static String generateArticle(int words) {
+        String[] vocabulary = {"software", "teams", "ship", "faster", "when", "feedback", "loops", "are",
+                "short", "and", "tests", "run", "on", "every", "change", "because", "confidence", "compounds"};
+        StringBuilder article = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            article.append(vocabulary[i % vocabulary.length]);
+            if ((i + 1) % 80 == 0) {
+                article.append(".\n\n");
+            } else if ((i + 1) % 16 == 0) {
+                article.append(". ");
+            } else {
+                article.append(' ');
+            }
+        }
+        String text = article.toString().trim();
+        return text.endsWith(".") ? text : text + ".";
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(InsightExtractionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
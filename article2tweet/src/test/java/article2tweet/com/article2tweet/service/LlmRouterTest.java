@@ -0,0 +1,218 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import article2tweet.com.article2tweet.service.ChatCompletionResponse.Message;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class LlmRouterTest {
+
+    private static final ChatRequest REQUEST = new ChatRequest("gpt-4o-mini",
+            List.of(new Message("user", "Say hi")), 0.7, 50, Map.of());
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private MutableClock clock;
+    private FakeProvider primary;
+    private FakeProvider secondary;
+    private LlmRouter router;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        primary = new FakeProvider("primary");
+        secondary = new FakeProvider("secondary");
+        router = new LlmRouter(List.of(secondary, primary), registry, List.of("primary", "secondary"), 2,
+                Duration.ofSeconds(30), Duration.ofMillis(200), Duration.ofSeconds(5), 0.5, clock);
+    }
+
+    @Test
+    void testFailedCallFailsOverWithinTheSameRequest() {
+        primary.failing = true;
+
+        ChatCompletionResponse response = router.complete(REQUEST).block();
+
+        assertEquals("secondary", response.firstContent());
+        assertEquals(1, primary.calls.get());
+        assertEquals(1, registry.get("llm.router.failovers").tag("provider", "primary").counter().count());
+    }
+
+    @Test
+    void testRepeatedlyFailingProviderLeavesRotationUntilOpenDurationPasses() {
+        primary.failing = true;
+        router.complete(REQUEST).block();
+        router.complete(REQUEST).block();
+
+        assertEquals(List.of("secondary"), router.availableProviders());
+        router.complete(REQUEST).block();
+        assertEquals(2, primary.calls.get());
+
+        primary.failing = false;
+        clock.advance(Duration.ofSeconds(31));
+
+        assertEquals("primary", router.complete(REQUEST).block().firstContent());
+        assertEquals(List.of("primary", "secondary"), router.availableProviders());
+    }
+
+    @Test
+    void testSlowProviderIsMovedOffAndRejudgedAfterwards() {
+        primary.latency = Duration.ofMillis(300);
+
+        assertEquals("primary", router.complete(REQUEST).block().firstContent());
+        assertEquals(List.of("secondary"), router.availableProviders());
+        assertEquals("secondary", router.complete(REQUEST).block().firstContent());
+
+        // One fast answer after the break is enough; old slow samples are not blended in
+        primary.latency = Duration.ZERO;
+        clock.advance(Duration.ofSeconds(31));
+        router.complete(REQUEST).block();
+        assertEquals(List.of("primary", "secondary"), router.availableProviders());
+    }
+
+    @Test
+    void testLastProviderErrorIsPropagated() {
+        primary.failing = true;
+        secondary.failing = true;
+
+        assertThrows(RuntimeException.class, () -> router.complete(REQUEST).block());
+        assertEquals(1, secondary.calls.get());
+    }
+
+    @Test
+    void testRateLimitedCallIsNeitherFailedOverNorCountedAgainstProvider() {
+        primary.rateLimited = true;
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RateLimitedException.class, () -> router.complete(REQUEST).block());
+        }
+
+        assertEquals(0, secondary.calls.get());
+        assertEquals(List.of("primary", "secondary"), router.availableProviders());
+        assertEquals(3, registry.get("llm.provider.requests").tag("provider", "primary")
+                .tag("outcome", "rate_limited").timer().count());
+    }
+
+    @Test
+    void testRateBudgetIsChargedOnlyToTheProviderThatTakesTheRequest() {
+        primary.failing = true;
+        router.complete(REQUEST).block();
+        router.complete(REQUEST).block();
+        assertEquals(List.of("secondary"), router.availableProviders());
+
+        // Each provider was charged once per attempt it took: primary first, secondary on failover
+        assertEquals(2, primary.reservations.get());
+        assertEquals(2, secondary.reservations.get());
+
+        router.complete(REQUEST).block();
+
+        assertEquals(2, primary.reservations.get());
+        assertEquals(3, secondary.reservations.get());
+    }
+
+    @Test
+    void testRouteChargesAndCallsTheSameProviderWhenHealthChangesInBetween() {
+        LlmRouter.Route route = router.route(REQUEST);
+
+        // Primary leaves rotation after the route was picked
+        primary.failing = true;
+        router.complete(REQUEST).block();
+        router.complete(REQUEST).block();
+        assertEquals(List.of("secondary"), router.availableProviders());
+        primary.failing = false;
+        primary.reservations.set(0);
+        secondary.reservations.set(0);
+
+        route.reserve();
+        ChatCompletionResponse response = route.complete().block();
+
+        assertEquals("primary", response.firstContent());
+        assertEquals(1, primary.reservations.get());
+        assertEquals(0, secondary.reservations.get());
+    }
+
+    private static class FakeProvider implements LlmProvider {
+
+        private final String name;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger reservations = new AtomicInteger();
+        private volatile boolean failing;
+        private volatile boolean rateLimited;
+        private volatile Duration latency = Duration.ZERO;
+
+        FakeProvider(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public boolean isConfigured() {
+            return true;
+        }
+
+        @Override
+        public Duration reserve(ChatRequest request) {
+            reservations.incrementAndGet();
+            return Duration.ZERO;
+        }
+
+        @Override
+        public Mono<ChatCompletionResponse> complete(ChatRequest request) {
+            return Mono.defer(() -> {
+                calls.incrementAndGet();
+                if (rateLimited) {
+                    return Mono.error(new RateLimitedException(name + " says 429", Duration.ofSeconds(1)));
+                }
+                if (failing) {
+                    return Mono.error(new RuntimeException(name + " is down"));
+                }
+                ChatCompletionResponse response = new ChatCompletionResponse(request.model(),
+                        List.of(new ChatCompletionResponse.Choice(0, new Message("assistant", name), "stop")), null, null);
+                return Mono.delay(latency).thenReturn(response);
+            });
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package article2tweet.com.article2tweet.service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import article2tweet.com.article2tweet.cache.MediumResponseCache;
+import article2tweet.com.article2tweet.cache.MediumUserDirectory;
+import article2tweet.com.article2tweet.domain.Article;
+import article2tweet.com.article2tweet.domain.ArticleSummary;
+import article2tweet.com.article2tweet.domain.MediumUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MediumApiServiceTest {
+
+    private final SimulatedMediumExchange exchange = new SimulatedMediumExchange(Duration.ZERO)
+            .respond("/user/id_for/dillondoa", "{\"id\": \"u1\"}")
+            .respond("/user/u1", "{\"username\": \"dillondoa\", \"fullname\": \"Dillon Ansah\"}")
+            .respond("/article/a1", """
+                    {"title": "Pooling", "url": "https://medium.com/@dillondoa/pooling-a1",
+                     "published_at": "2024-05-01 10:00:00", "reading_time": 4.2}""")
+            .respond("/article/a1/content", "{\"content\": \"Reuse your connections.\"}");
+
+    private MediumApiService newService(String apiKey) {
+        return new MediumApiService(new ObjectMapper(), exchange.webClient(), apiKey, directory(null), responses(),
+                new SimpleMeterRegistry());
+    }
+
+    private static MediumUserDirectory directory(Path diskDirectory) {
+        return new MediumUserDirectory(new ObjectMapper(), new SimpleMeterRegistry(), true, 100, Duration.ofHours(1),
+                diskDirectory != null, diskDirectory == null ? "" : diskDirectory.toString());
+    }
+
+    private static MediumResponseCache responses() {
+        return responses(Duration.ofHours(1), new SimpleMeterRegistry());
+    }
+
+    private static MediumResponseCache responses(Duration freshFor, MeterRegistry meterRegistry) {
+        return new MediumResponseCache(new ObjectMapper(), meterRegistry, true, 100, 1000, Duration.ofDays(7),
+                freshFor, freshFor, false, "");
+    }
+
+    @Test
+    void testCallsGoThroughTheSharedRapidApiClient() {
+        MediumApiService service = newService("rapid-key");
+
+        MediumUser user = service.getUserByUsername("dillondoa");
+        Article article = service.getFullArticleContent("a1");
+
+        assertEquals("u1", user.getId());
+        assertEquals("Dillon Ansah", user.getName());
+        assertEquals("Pooling", article.getTitle());
+        assertEquals("Reuse your connections.", article.getContent());
+        assertEquals(5, article.getEstimatedReadTime());
+        assertEquals(List.of("/user/id_for/dillondoa", "/user/u1"), exchange.getRequestedPaths().subList(0, 2));
+        assertEquals(Set.of("/article/a1", "/article/a1/content"), Set.copyOf(exchange.getRequestedPaths().subList(2, 4)));
+        assertTrue(exchange.getRequests().stream()
+                .allMatch(request -> "medium2.p.rapidapi.com".equals(request.headers().getFirst("x-rapidapi-host"))));
+    }
+
+    @Test
+    void testArticleInfoAndContentAreFetchedConcurrently() {
+        SimulatedMediumExchange slowExchange = new SimulatedMediumExchange(Duration.ofMillis(300))
+                .respond("/article/a1", "{\"title\": \"Pooling\", \"url\": \"https://medium.com/p/a1\"}")
+                .respond("/article/a1/content", "{\"content\": \"Reuse your connections.\"}");
+        MediumApiService service = new MediumApiService(new ObjectMapper(), slowExchange.webClient(), "rapid-key",
+                directory(null), responses(), new SimpleMeterRegistry());
+
+        long started = System.nanoTime();
+        Article article = service.getFullArticleContent("a1");
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertEquals("Reuse your connections.", article.getContent());
+        assertEquals(2, slowExchange.getPeakInFlight());
+        assertTrue(elapsed.compareTo(Duration.ofMillis(550)) < 0, "took " + elapsed.toMillis() + " ms");
+    }
+
+    @Test
+    void testFailedContentFallsBackToMockArticle() {
+        MediumApiService service = new MediumApiService(new ObjectMapper(),
+                new SimulatedMediumExchange(Duration.ZERO)
+                        .respond("/article/a2", "{\"title\": \"No body\"}")
+                        .webClient(),
+                "rapid-key", directory(null), responses(), new SimpleMeterRegistry());
+
+        assertEquals("Mock Article a2", service.getFullArticleContent("a2").getTitle());
+    }
+
+    @Test
+    void testListingIsEnrichedWithBoundedConcurrencyInListOrder() {
+        SimulatedMediumExchange listing = new SimulatedMediumExchange(Duration.ofMillis(50))
+                .respond("/user/u1/articles", "{\"associated_articles\": [\"a1\", \"a2\", \"a3\", \"a4\", \"a5\", \"a6\"]}");
+        for (int i = 1; i <= 5; i++) {
+            listing.respond("/article/a" + i, """
+                    {"title": "Title %d", "url": "https://medium.com/p/a%d", "published_at": "2024-05-0%d 10:00:00",
+                     "last_modified_at": "2024-06-01 09:00:00", "claps": %d, "reading_time": 3.5,
+                     "topics": ["programming", "java"]}""".formatted(i, i, i, i * 10));
+        }
+        MediumApiService service = new MediumApiService(new ObjectMapper(), listing.webClient(), "rapid-key",
+                directory(null), responses(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "enrichmentConcurrency", 2);
+
+        List<ArticleSummary> articles = service.getUserArticles("u1");
+
+        assertEquals(List.of("a1", "a2", "a3", "a4", "a5", "a6"), articles.stream().map(ArticleSummary::getId).toList());
+        assertEquals("Title 3", articles.get(2).getTitle());
+        assertEquals(30, articles.get(2).getClaps());
+        assertEquals(4, articles.get(2).getReadingTime());
+        assertEquals("2024-06-01 09:00:00", articles.get(2).getLastModifiedAt());
+        assertEquals("programming, java", articles.get(2).getTopics());
+        // a6 has no /article response, so it keeps its ID-only summary
+        assertEquals("Article a6", articles.get(5).getTitle());
+        assertEquals(2, listing.getPeakInFlight());
+    }
+
+    @Test
+    void testStreamedListingSkipsPastSlowArticles() {
+        SimulatedMediumExchange listing = new SimulatedMediumExchange(Duration.ofMillis(200))
+                .respond("/user/u1/articles", "{\"associated_articles\": [\"a1\", \"a2\"]}")
+                .respond("/article/a1", "{\"title\": \"Slow\"}")
+                .respond("/article/a2", "{\"title\": \"Also slow\"}");
+        MediumApiService service = new MediumApiService(new ObjectMapper(), listing.webClient(), "rapid-key",
+                directory(null), responses(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "enrichmentItemTimeout", Duration.ofMillis(50));
+
+        List<ArticleSummary> articles = service.streamUserArticles("u1").collectList().block();
+
+        assertEquals(Set.of("Article a1", "Article a2"),
+                Set.copyOf(articles.stream().map(ArticleSummary::getTitle).toList()));
+    }
+
+    @Test
+    void testKnownUserResolvesWithoutNetworkEvenAfterRestart(@TempDir Path cacheDirectory) {
+        MediumUserDirectory users = directory(cacheDirectory);
+        MediumApiService service = new MediumApiService(new ObjectMapper(), exchange.webClient(), "rapid-key",
+                users, responses(), new SimpleMeterRegistry());
+        service.getUserByUsername("dillondoa");
+        assertEquals(2, exchange.getRequests().size());
+
+        assertEquals("Dillon Ansah", service.getUserByUsername("@DillonDoa").getName());
+        assertEquals(2, exchange.getRequests().size());
+        users.close();
+
+        // A fresh process reads both the ID mapping and the profile back from disk
+        MediumApiService restarted = new MediumApiService(new ObjectMapper(), exchange.webClient(), "rapid-key",
+                directory(cacheDirectory), responses(), new SimpleMeterRegistry());
+        assertEquals("u1", restarted.getUserByUsername("dillondoa").getId());
+        assertEquals(2, exchange.getRequests().size());
+    }
+
+    @Test
+    void testArticlesByUsernameSkipProfileLookup() {
+        exchange.respond("/user/u1/articles", "{\"associated_articles\": [\"a1\"]}");
+        MediumApiService service = newService("rapid-key");
+
+        List<ArticleSummary> articles = service.getUserArticlesByUsername("dillondoa");
+        service.getUserArticlesByUsername("dillondoa");
+
+        assertEquals("Pooling", articles.get(0).getTitle());
+        assertEquals(List.of("/user/id_for/dillondoa", "/user/u1/articles", "/article/a1"),
+                exchange.getRequestedPaths());
+    }
+
+    @Test
+    void testRepeatArticleIsServedFromCache() {
+        MediumApiService service = newService("rapid-key");
+
+        service.getFullArticleContent("a1");
+        Article again = service.getFullArticleContent("a1");
+
+        assertEquals("Reuse your connections.", again.getContent());
+        assertEquals(2, exchange.getRequests().size());
+    }
+
+    @Test
+    void testStaleArticleIsServedWhileRefreshPicksUpNewVersion() throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        exchange.respond("/article/a1", "{\"title\": \"Pooling\", \"last_modified_at\": \"2024-06-01 09:00:00\"}");
+        MediumApiService service = new MediumApiService(new ObjectMapper(), exchange.webClient(), "rapid-key",
+                directory(null), responses(Duration.ZERO, meterRegistry), new SimpleMeterRegistry());
+        service.getFullArticleContent("a1");
+
+        exchange.respond("/article/a1", "{\"title\": \"Pooling, revised\", \"last_modified_at\": \"2024-07-01 09:00:00\"}")
+                .respond("/article/a1/content", "{\"content\": \"Reuse and warm your connections.\"}");
+        Article stale = service.getFullArticleContent("a1");
+        assertEquals("Reuse your connections.", stale.getContent());
+        awaitRefresh(meterRegistry);
+
+        Article refreshed = service.getFullArticleContent("a1");
+        assertEquals("Pooling, revised", refreshed.getTitle());
+        assertEquals("Reuse and warm your connections.", refreshed.getContent());
+        assertEquals(2, exchange.getRequestedPaths().stream().filter("/article/a1/content"::equals).count());
+    }
+
+    private static void awaitRefresh(MeterRegistry meterRegistry) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (refreshes(meterRegistry) < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, refreshes(meterRegistry));
+    }
+
+    private static double refreshes(MeterRegistry meterRegistry) {
+        return meterRegistry.counter("medium.cache.refreshes", "endpoint", "article", "outcome", "success").count();
+    }
+
+    @Test
+    void testFailedLookupIsNotCached() {
+        MediumApiService service = newService("rapid-key");
+
+        assertEquals("mock_user_id_nobody", service.getUserByUsername("nobody").getId());
+        assertEquals("mock_user_id_nobody", service.getUserByUsername("nobody").getId());
+        assertEquals(2, exchange.getRequests().size());
+    }
+
+    @Test
+    void testWithoutApiKeyNothingIsSent() {
+        MediumApiService service = newService("");
+
+        Article article = service.getFullArticleContent("a1");
+
+        assertEquals("Mock Article a1", article.getTitle());
+        assertTrue(exchange.getRequests().isEmpty());
+    }
+}
@@ -0,0 +1,74 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import article2tweet.com.article2tweet.cache.InsightStore;
+import article2tweet.com.article2tweet.cache.LlmResponseCache;
+import article2tweet.com.article2tweet.service.ModelPolicy.Step;
+import article2tweet.com.article2tweet.service.ModelPolicy.StepModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ModelPolicyTest {
+
+    @Test
+    void testStepSettingsAreBoundFromProperties() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("openai.models.hook.model", "fast-model")
+                .withProperty("openai.models.hook.fallback-model", "")
+                .withProperty("openai.models.extraction.fallback-after", "PT8S")
+                .withProperty("openai.models.extraction.max-tokens", "400");
+
+        ModelPolicy policy = new ModelPolicy(environment);
+
+        StepModel hook = policy.forStep(Step.HOOK);
+        assertEquals("fast-model", hook.model());
+        assertFalse(hook.hasFallback());
+        assertEquals(0.8, hook.temperature());
+
+        StepModel extraction = policy.forStep(Step.EXTRACTION);
+        assertEquals(Duration.ofSeconds(8), extraction.fallbackAfter());
+        assertEquals(400, extraction.maxTokens());
+        assertEquals(ModelPolicy.defaults().forStep(Step.WRAP_UP), policy.forStep(Step.WRAP_UP));
+    }
+
+    @Test
+    void testFailingModelFallsBackAndMetricsAreTaggedByModel() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SimulatedOpenAIExchange exchange = new SimulatedOpenAIExchange(Duration.ZERO, Duration.ZERO)
+                .failModel("primary-model");
+        ModelPolicy policy = new ModelPolicy(Map.of(Step.HOOK,
+                new StepModel("primary-model", "fallback-model", Duration.ZERO, 0.8, 150)));
+
+        OpenAIService openAIService = new OpenAIService(objectMapper,
+                new LlmRouter(List.of(exchange.provider()), registry),
+                new LlmResponseCache(objectMapper, registry, false, 1, Duration.ZERO, false, "", 1.0),
+                new InsightStore(objectMapper, registry, false, 1, Duration.ZERO, false, ""),
+                new OpenAIRateLimiter(registry, false, 500, 200_000, 0.9, 0, Duration.ZERO),
+                new RequestHedger(registry, false, 0.95, Duration.ZERO, Duration.ZERO, 0, 0, 1),
+                policy,
+                registry);
+
+        String hook = openAIService.generateHookTweet(PromptContext.of("Tiering", "Content"), "Use cheap models");
+
+        assertNotNull(hook);
+        assertEquals(List.of("primary-model", "fallback-model"), exchange.getRequestedModels());
+        assertEquals(1, registry.get("openai.model.fallbacks").tag("model", "primary-model").counter().count());
+        assertEquals(1, registry.get("openai.step.latency")
+                .tags("step", "hook", "model", "primary-model", "outcome", "error").timer().count());
+        assertEquals(1, registry.get("openai.step.latency")
+                .tags("step", "hook", "model", "fallback-model", "outcome", "success").timer().count());
+        assertEquals(20, registry.get("openai.tokens")
+                .tags("type", "completion", "step", "hook", "model", "fallback-model").counter().count());
+    }
+}
@@ -0,0 +1,130 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OpenAIRateLimiterTest {
+
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    }
+
+    @Test
+    void testRequestsAreDelayedOnceRequestBudgetIsSpent() {
+        // 10 RPM at 100% utilization
+        OpenAIRateLimiter limiter = limiter(10, 1_000_000, 1.0);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Duration.ZERO, limiter.reserve(100));
+        }
+
+        // The 11th request has to wait for the minute window to reset
+        assertEquals(Duration.ofMinutes(1), limiter.reserve(100));
+    }
+
+    @Test
+    void testTokenBudgetDelaysLargeRequests() {
+        OpenAIRateLimiter limiter = limiter(1000, 10_000, 1.0);
+
+        assertEquals(Duration.ZERO, limiter.reserve(8_000));
+        clock.advance(Duration.ofSeconds(20));
+
+        assertEquals(Duration.ofSeconds(40), limiter.reserve(8_000));
+    }
+
+    @Test
+    void testHeadersCorrectLocalBudget() {
+        OpenAIRateLimiter limiter = limiter(1000, 1_000_000, 0.9);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("x-ratelimit-limit-requests", "100");
+        headers.add("x-ratelimit-remaining-requests", "11");
+        headers.add("x-ratelimit-reset-requests", "6s");
+        limiter.update(headers);
+
+        // 11 remaining minus a 10% margin of the 100 RPM limit leaves room for one request
+        assertEquals(1.0, limiter.getRemainingRequests(), 0.001);
+        assertEquals(Duration.ZERO, limiter.reserve(10));
+        assertEquals(Duration.ofSeconds(6), limiter.reserve(10));
+    }
+
+    @Test
+    void testRetryAfterPausesAllCalls() {
+        OpenAIRateLimiter limiter = limiter(1000, 1_000_000, 0.9);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.RETRY_AFTER, "7");
+        assertEquals(Duration.ofSeconds(7), limiter.onRateLimited(headers));
+
+        assertEquals(Duration.ofSeconds(7), limiter.reserve(10));
+        clock.advance(Duration.ofSeconds(7));
+        assertEquals(Duration.ZERO, limiter.reserve(10));
+    }
+
+    @Test
+    void testWaitBeyondMaxWaitFails() {
+        OpenAIRateLimiter limiter = new OpenAIRateLimiter(new SimpleMeterRegistry(), true, 1, 1_000_000, 1.0, 3,
+                Duration.ofSeconds(10), clock);
+
+        limiter.reserve(10);
+
+        RateLimitedException e = assertThrows(RateLimitedException.class, () -> limiter.reserve(10));
+        assertTrue(e.getRetryAfter().compareTo(Duration.ofSeconds(10)) > 0);
+    }
+
+    @Test
+    void testParseResetDuration() {
+        assertEquals(Duration.ofSeconds(1), OpenAIRateLimiter.parseResetDuration("1s"));
+        assertEquals(Duration.ofMinutes(6), OpenAIRateLimiter.parseResetDuration("6m0s"));
+        assertEquals(Duration.ofMillis(20), OpenAIRateLimiter.parseResetDuration("20ms"));
+        assertEquals(Duration.ofMillis(90_500), OpenAIRateLimiter.parseResetDuration("1m30.5s"));
+    }
+
+    private OpenAIRateLimiter limiter(long rpm, long tpm, double utilization) {
+        return new OpenAIRateLimiter(new SimpleMeterRegistry(), true, rpm, tpm, utilization, 3,
+                Duration.ofMinutes(5), clock);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import article2tweet.com.article2tweet.cache.InsightStore;
+import article2tweet.com.article2tweet.cache.LlmResponseCache;
+import article2tweet.com.article2tweet.domain.Tweet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class OpenAIServiceTest {
+
+    private static final String TITLE = "Feedback Loops";
+    private static final String CONTENT = "Short loops win.\n\nTests run on every change.";
+    private static final String URL = "https://medium.com/@author/feedback-loops";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // Every completion request and its task (last message), in order
+    private final List<ChatRequest> requests = new CopyOnWriteArrayList<>();
+    private final List<String> tasks = new CopyOnWriteArrayList<>();
+    private String structuredResponse;
+
+    private ScriptedProvider provider;
+    private OpenAIService service;
+
+    @BeforeEach
+    void setUp() {
+        provider = new ScriptedProvider("openai", request -> {
+            String task = request.messages().get(request.messages().size() - 1).content();
+            requests.add(request);
+            tasks.add(task);
+            return Mono.just(completion(answer(task)));
+        });
+        service = newService(new LlmRouter(List.of(provider), registry));
+    }
+
+    @Test
+    void testHungProviderStillLeavesFailoverItsFullAttemptTime() {
+        ScriptedProvider hung = new ScriptedProvider("openai", request -> Mono.never());
+        ScriptedProvider slow = new ScriptedProvider("anthropic",
+                request -> Mono.delay(Duration.ofSeconds(40)).thenReturn(completion("🧵 Answered by the secondary")));
+        LlmRouter router = new LlmRouter(List.of(hung, slow), registry, List.of("openai", "anthropic"), 3,
+                Duration.ofSeconds(30), Duration.ofSeconds(90), Duration.ofSeconds(60), 0.2, Clock.systemUTC());
+
+        StepVerifier.withVirtualTime(() -> newService(router)
+                        .generateHookTweetReactive(PromptContext.of(TITLE, CONTENT), "Short loops win."))
+                .thenAwait(Duration.ofSeconds(60))
+                .expectNoEvent(Duration.ofSeconds(39))
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNext("🧵 Answered by the secondary")
+                .verifyComplete();
+    }
+
+    private OpenAIService newService(LlmRouter llmRouter) {
+        return new OpenAIService(objectMapper, llmRouter,
+                new LlmResponseCache(objectMapper, registry, false, 1, Duration.ZERO, false, "", 1.0),
+                new InsightStore(objectMapper, registry, false, 1, Duration.ZERO, false, ""),
+                new OpenAIRateLimiter(registry, false, 500, 200_000, 0.9, 0, Duration.ZERO),
+                new RequestHedger(registry, false, 0.95, Duration.ZERO, Duration.ZERO, 0, 0, 1),
+                ModelPolicy.defaults(),
+                registry);
+    }
+
+    @Test
+    void testInterruptedStreamOnlyGeneratesTheMissingTweets() {
+        provider.stream = Flux.just("Streamed hook\n--", "-\nStreamed first\n---\nStreamed sec")
+                .concatWith(Flux.error(new IllegalStateException("connection reset")));
+
+        List<Tweet> tweets = service.streamThreadTweets(CONTENT, TITLE, URL).collectList().block();
+
+        assertEquals(List.of(1, 2, 3, 4, 5), tweets.stream().map(Tweet::getOrder).toList());
+        assertEquals("Streamed hook", tweets.get(0).getContent());
+        assertEquals("Streamed first", tweets.get(1).getContent());
+        assertEquals("Casual tweet", tweets.get(2).getContent());
+        assertTrue(tweets.get(4).getContent().endsWith("Full article: " + URL));
+        // Insights for tweets 3 and 4, then those two and the wrap-up; no hook and no tweet 2
+        assertEquals(4, tasks.size());
+        assertTrue(tasks.get(0).contains("Return only the 3 insights"));
+        assertTrue(tasks.get(1).contains("#3"));
+        assertTrue(tasks.get(2).contains("#4"));
+        assertTrue(tasks.get(3).contains("Return only the wrap-up text"));
+        assertFalse(tasks.stream().anyMatch(task -> task.contains("Return only the hook tweet")));
+    }
+
+    @Test
+    void testStreamMissingOnlyTheWrapUpSkipsInsightExtraction() {
+        provider.stream = Flux.just("One\n---\nTwo\n---\nThree\n---\nFour\n---\n");
+
+        List<Tweet> tweets = service.streamThreadTweets(CONTENT, TITLE, URL).collectList().block();
+
+        assertEquals(5, tweets.size());
+        assertEquals("Four", tweets.get(3).getContent());
+        assertEquals(1, tasks.size());
+        assertTrue(tasks.get(0).contains("Return only the wrap-up text"));
+    }
+
+    @Test
+    void testCompleteStreamMakesNoFurtherCalls() {
+        provider.stream = Flux.just("One\n---\nTwo\n---\nThree\n---\nFour\n---\nFive");
+
+        List<Tweet> tweets = service.streamThreadTweets(CONTENT, TITLE, URL).collectList().block();
+
+        assertEquals(5, tweets.size());
+        assertEquals("Five\n\nFull article: " + URL, tweets.get(4).getContent());
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    void testStructuredThreadIsParsedFromOneJsonModeRequest() {
+        structuredResponse = structured(List.of("Short loops win.", "Tests run on every change.", "Confidence compounds."),
+                "🧵 Hook from JSON", List.of("First from JSON", "Second from JSON", "Third from JSON"), "Wrap from JSON");
+
+        List<Tweet> tweets = service.generateStructuredThreadReactive(CONTENT, TITLE, URL).block();
+
+        assertEquals(List.of("🧵 Hook from JSON", "First from JSON", "Second from JSON", "Third from JSON",
+                "Wrap from JSON\n\nFull article: " + URL), tweets.stream().map(Tweet::getContent).toList());
+        assertEquals(List.of(1, 2, 3, 4, 5), tweets.stream().map(Tweet::getOrder).toList());
+        assertEquals(1, requests.size());
+        assertEquals(Map.of("type", "json_object"), requests.get(0).extraOptions().get("response_format"));
+    }
+
+    @Test
+    void testStructuredThreadTalliesUsageOnTheCallersContext() {
+        structuredResponse = structured(List.of("Short loops win.", "Tests run on every change.", "Confidence compounds."),
+                "🧵 Hook from JSON", List.of("First from JSON", "Second from JSON", "Third from JSON"), "Wrap from JSON");
+        PromptContext context = PromptContext.of(TITLE, CONTENT);
+
+        service.generateStructuredThreadReactive(context, URL).block();
+
+        assertEquals(1, context.getCalls());
+        assertEquals(100, context.getPromptTokens());
+    }
+
+    @Test
+    void testMalformedJsonFallsBackToPerTweetGeneration() {
+        structuredResponse = "{\"hook\": \"🧵 Cut off mid";
+
+        List<Tweet> tweets = service.generateStructuredThreadReactive(CONTENT, TITLE, URL).block();
+
+        assertEquals(5, tweets.size());
+        assertEquals("🧵 Hook tweet", tweets.get(0).getContent());
+        assertEquals("Casual tweet", tweets.get(1).getContent());
+        // The structured request, then insights, hook, three casual tweets and the wrap-up
+        assertEquals(7, requests.size());
+        assertTrue(tasks.get(1).contains("Return only the 3 insights"));
+    }
+
+    @Test
+    void testWrongTweetCountRegeneratesOnlyTheMissingTweet() {
+        structuredResponse = structured(List.of("Short loops win.", "Tests run on every change.", "Confidence compounds."),
+                "🧵 Hook from JSON", List.of("First from JSON", "Second from JSON"), "Wrap from JSON");
+
+        List<Tweet> tweets = service.generateStructuredThreadReactive(CONTENT, TITLE, URL).block();
+
+        assertEquals(List.of("🧵 Hook from JSON", "First from JSON", "Second from JSON", "Casual tweet"),
+                tweets.stream().limit(4).map(Tweet::getContent).toList());
+        assertEquals(2, requests.size());
+        assertTrue(tasks.get(1).contains("#4"));
+        assertTrue(tasks.get(1).contains("Confidence compounds."));
+    }
+
+    @Test
+    void testInvalidTweetsAndMissingInsightsAreRegeneratedPerTweet() {
+        // Too few insights, an over-long hook and an empty wrap-up
+        structuredResponse = structured(List.of("Only one insight."), "🧵 " + "x".repeat(300),
+                List.of("First from JSON", "Second from JSON", "Third from JSON"), "");
+
+        List<Tweet> tweets = service.generateStructuredThreadReactive(CONTENT, TITLE, URL).block();
+
+        assertEquals("🧵 Hook tweet", tweets.get(0).getContent());
+        assertEquals("Second from JSON", tweets.get(2).getContent());
+        assertEquals("That's the wrap-up\n\nFull article: " + URL, tweets.get(4).getContent());
+        assertEquals(4, requests.size());
+        assertTrue(tasks.get(1).contains("Return only the 3 insights"));
+        // The regenerated hook is built from the separately extracted first insight
+        assertTrue(tasks.get(2).contains("Short loops win."));
+        assertTrue(tasks.get(3).contains("Return only the wrap-up text"));
+    }
+
+    @Test
+    void testBlankCandidatesAreDroppedBeforeRanking() {
+        ReflectionTestUtils.setField(service, "candidateCount", 3);
+        provider.responder = request -> Mono.just(completion("", "   ", "🧵 The only real candidate"));
+
+        String hook = service.generateHookTweetReactive(PromptContext.of(TITLE, CONTENT), "Short loops win.").block();
+
+        assertEquals("🧵 The only real candidate", hook);
+    }
+
+    @Test
+    void testAllBlankCandidatesAreTreatedAsAFailedCall() {
+        ReflectionTestUtils.setField(service, "candidateCount", 3);
+        provider.responder = request -> Mono.just(completion("", " ", "\n"));
+
+        String hook = service.generateHookTweetReactive(PromptContext.of(TITLE, CONTENT), "Short loops win.").block();
+
+        // The mock hook the service falls back to when generation fails
+        assertTrue(hook.startsWith("🧵 Thread: " + TITLE), hook);
+    }
+
+    private String structured(List<String> insights, String hook, List<String> tweets, String wrapUp) {
+        try {
+            return objectMapper.writeValueAsString(Map.of("insights", insights, "hook", hook, "tweets", tweets,
+                    "wrap_up", wrapUp));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String answer(String task) {
+        if (task.contains("Respond with only a JSON object")) {
+            return structuredResponse;
+        }
+        if (task.contains("Return only the 3 insights")) {
+            return "1. Short loops win.\n2. Tests run on every change.\n3. Confidence compounds.";
+        }
+        if (task.contains("Return only the hook tweet")) {
+            return "🧵 Hook tweet";
+        }
+        if (task.contains("Return only the wrap-up text")) {
+            return "That's the wrap-up";
+        }
+        return "Casual tweet";
+    }
+
+    private static ChatCompletionResponse completion(String... contents) {
+        List<ChatCompletionResponse.Choice> choices = new ArrayList<>();
+        for (int i = 0; i < contents.length; i++) {
+            choices.add(new ChatCompletionResponse.Choice(i, new ChatCompletionResponse.Message("assistant", contents[i]), "stop"));
+        }
+        return new ChatCompletionResponse("gpt-4o-mini", choices, new ChatCompletionResponse.Usage(100, 20, 120, null), null);
+    }
+
+    /**
+     * Answers completions through a swappable function and streams a preset Flux
+     */
+    private static class ScriptedProvider implements LlmProvider {
+
+        private final String name;
+        private volatile Function<ChatRequest, Mono<ChatCompletionResponse>> responder;
+        private volatile Flux<String> stream = Flux.empty();
+
+        ScriptedProvider(String name, Function<ChatRequest, Mono<ChatCompletionResponse>> responder) {
+            this.name = name;
+            this.responder = responder;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public boolean isConfigured() {
+            return true;
+        }
+
+        @Override
+        public Mono<ChatCompletionResponse> complete(ChatRequest request) {
+            return Mono.defer(() -> responder.apply(request));
+        }
+
+        @Override
+        public Flux<String> stream(ChatRequest request) {
+            return stream;
+        }
+    }
+}
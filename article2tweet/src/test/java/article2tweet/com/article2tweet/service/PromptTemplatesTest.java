@@ -0,0 +1,81 @@
+package article2tweet.com.article2tweet.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import article2tweet.com.article2tweet.service.ChatCompletionResponse.Message;
+
+class PromptTemplatesTest {
+
+    private final PromptContext context = PromptContext.of("Caching Prompts", "A long article body about prefixes.");
+
+    @Test
+    void testThreadPromptsShareTheSameLeadingMessages() {
+        List<ChatPrompt> prompts = List.of(
+                PromptTemplates.insightExtraction(context),
+                PromptTemplates.hook(context, "Prefixes are cached"),
+                PromptTemplates.casualTweet(context, "Order matters", 2),
+                PromptTemplates.casualTweet(context, "Variables go last", 3),
+                PromptTemplates.wrapUp(context));
+
+        List<Message> prefix = prompts.get(0).messages().subList(0, 2);
+        for (ChatPrompt prompt : prompts) {
+            assertEquals(3, prompt.messages().size());
+            assertEquals(prefix, prompt.messages().subList(0, 2));
+        }
+        assertEquals("system", prefix.get(0).role());
+        assertTrue(prefix.get(1).content().contains("A long article body about prefixes."));
+    }
+
+    @Test
+    void testLongArticlePrefixIsBoundedButShared() {
+        String article = InsightExtractionBenchmark.generateArticle(20000);
+        PromptContext longContext = PromptContext.of("Feedback Loops", article, 1000);
+
+        Message hookPrefix = PromptTemplates.hook(longContext, "Short loops").messages().get(1);
+        Message wrapUpPrefix = PromptTemplates.wrapUp(longContext).messages().get(1);
+
+        assertTrue(longContext.isCondensed());
+        assertEquals(hookPrefix, wrapUpPrefix);
+        assertTrue(ArticleChunker.estimateTokens(hookPrefix.content()) < 1100);
+        assertTrue(hookPrefix.content().contains("Feedback Loops"));
+        // Extraction still reads the full body
+        assertEquals(article, longContext.getArticleContent());
+        assertFalse(context.isCondensed());
+    }
+
+    @Test
+    void testPerCallVariablesOnlyAppearAtTheEnd() {
+        ChatPrompt prompt = PromptTemplates.casualTweet(context, "Variables go last", 3);
+
+        String task = prompt.task();
+        assertTrue(task.trim().endsWith("Insight: \"Variables go last\""));
+        assertTrue(task.indexOf("#3") > task.indexOf("Return only the tweet."));
+        assertFalse(prompt.messages().get(1).content().contains("Variables go last"));
+    }
+
+    @Test
+    void testCachedTokensAreTalliedPerThread() throws Exception {
+        ChatCompletionResponse first = new ObjectMapper().readValue("""
+                {"usage": {"prompt_tokens": 1500, "completion_tokens": 40, "total_tokens": 1540}}
+                """, ChatCompletionResponse.class);
+        ChatCompletionResponse second = new ObjectMapper().readValue("""
+                {"usage": {"prompt_tokens": 1520, "completion_tokens": 35, "total_tokens": 1555,
+                           "prompt_tokens_details": {"cached_tokens": 1408, "audio_tokens": 0}}}
+                """, ChatCompletionResponse.class);
+
+        context.record(first.usage());
+        context.record(second.usage());
+
+        assertEquals(2, context.getCalls());
+        assertEquals(3020, context.getPromptTokens());
+        assertEquals(1408, context.getCachedTokens());
+        assertEquals(75, context.getCompletionTokens());
+    }
+}
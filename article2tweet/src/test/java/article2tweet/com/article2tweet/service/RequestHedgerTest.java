@@ -0,0 +1,129 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+class RequestHedgerTest {
+
+    @Test
+    void testSlowCallIsHedgedAndFasterAnswerWins() {
+        RequestHedger hedger = hedger(1.0);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = hedger.execute(() -> calls.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofSeconds(5)).thenReturn("slow")
+                : Mono.just("fast"), () -> true).block(Duration.ofSeconds(2));
+
+        assertEquals("fast", result);
+        assertEquals(2, calls.get());
+        assertEquals(1, hedger.getHedgesSent());
+        assertEquals(1, hedger.getHedgesWon());
+    }
+
+    @Test
+    void testNoHedgeWithoutBudget() {
+        RequestHedger hedger = hedger(0.0);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = hedger.execute(() -> {
+            calls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(200)).thenReturn("primary");
+        }, () -> true).block(Duration.ofSeconds(2));
+
+        assertEquals("primary", result);
+        assertEquals(1, calls.get());
+        assertEquals(0, hedger.getHedgesSent());
+    }
+
+    @Test
+    void testFastFailureIsReportedWithoutHedging() {
+        RequestHedger hedger = hedger(1.0);
+        AtomicInteger calls = new AtomicInteger();
+
+        RateLimitedException error = assertThrows(RateLimitedException.class, () -> hedger.execute(() -> {
+            calls.incrementAndGet();
+            return Mono.<String>error(new RateLimitedException("429", Duration.ofSeconds(1)));
+        }, () -> true).block(Duration.ofSeconds(2)));
+
+        assertEquals("429", error.getMessage());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testHedgeDelayTracksLatencyPercentile() {
+        RequestHedger hedger = hedger(1.0);
+        assertEquals(Duration.ofMillis(50), hedger.hedgeDelay());
+
+        for (int millis = 1; millis <= 100; millis++) {
+            hedger.recordLatency(Duration.ofMillis(millis).toNanos());
+        }
+
+        assertEquals(Duration.ofMillis(90), hedger.hedgeDelay());
+    }
+
+    @Test
+    void testHedgeWinIsSampledAsTheLatencyTheCallerSaw() {
+        RequestHedger hedger = maxLatencyHedger();
+        AtomicInteger calls = new AtomicInteger();
+
+        hedger.execute(() -> calls.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofSeconds(5)).thenReturn("slow")
+                : Mono.delay(Duration.ofMillis(100)).thenReturn("hedge"), () -> true).block(Duration.ofSeconds(2));
+
+        // 50 ms hedge delay plus the hedge's own 100 ms; the cancelled primary is not lost
+        assertEquals(1, hedger.getHedgesWon());
+        assertTrue(hedger.hedgeDelay().compareTo(Duration.ofMillis(150)) >= 0, "delay " + hedger.hedgeDelay());
+    }
+
+    @Test
+    void testFailedCallIsSampledAtTheTimeout() {
+        RequestHedger hedger = maxLatencyHedger();
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> hedger.execute(
+                () -> Mono.<String>never().timeout(Duration.ofMillis(20)), () -> true).block(Duration.ofSeconds(2)));
+
+        assertTrue(Exceptions.unwrap(error) instanceof TimeoutException);
+        assertEquals(Duration.ofSeconds(2), hedger.hedgeDelay());
+    }
+
+    @Test
+    void testRateLimitedCallIsNotSampled() {
+        RequestHedger hedger = maxLatencyHedger();
+
+        assertThrows(RateLimitedException.class, () -> hedger.execute(
+                () -> Mono.<String>error(new RateLimitedException("429", Duration.ofSeconds(1))), () -> true)
+                .block(Duration.ofSeconds(2)));
+
+        // Still one sample short of the window's minimum
+        assertEquals(Duration.ofMillis(50), hedger.hedgeDelay());
+    }
+
+    /**
+     * Hedges at the slowest recent call, one sample short of leaving the initial delay
+     */
+    private RequestHedger maxLatencyHedger() {
+        RequestHedger hedger = new RequestHedger(new SimpleMeterRegistry(), true, 1.0, Duration.ofMillis(50),
+                Duration.ofMillis(1), 1.0, 5, 100);
+        ReflectionTestUtils.setField(hedger, "latencyCeiling", Duration.ofSeconds(2));
+        for (int i = 0; i < 19; i++) {
+            hedger.recordLatency(Duration.ofMillis(1).toNanos());
+        }
+        return hedger;
+    }
+
+    private RequestHedger hedger(double budgetRatio) {
+        return new RequestHedger(new SimpleMeterRegistry(), true, 0.9, Duration.ofMillis(50), Duration.ofMillis(1),
+                budgetRatio, 5, 100);
+    }
+}
@@ -0,0 +1,113 @@
+package article2tweet.com.article2tweet.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Decoding a chat completion from response buffers: String + JsonNode tree (the old path)
+ * vs Jackson decoding straight into {@link ChatCompletionResponse}.
+ * Add -prof gc to compare allocation per call (gc.alloc.rate.norm).
+ *
+ * Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=article2tweet.com.article2tweet.service.ResponseDecodingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ResponseDecodingBenchmark {
+
+    // Netty hands responses over in chunks of roughly this size
+    private static final int CHUNK_BYTES = 8192;
+    private static final ResolvableType RESPONSE_TYPE = ResolvableType.forClass(ChatCompletionResponse.class);
+
+    @Param({"1000", "20000", "100000"})
+    private int contentChars;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    private Jackson2JsonDecoder decoder;
+    private List<byte[]> chunks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        decoder = new Jackson2JsonDecoder(objectMapper);
+        decoder.setMaxInMemorySize(-1);
+
+        String content = "Insight about shipping software. ".repeat(contentChars / 33 + 1).substring(0, contentChars);
+        byte[] body = objectMapper.writeValueAsBytes(Map.of(
+                "id", "chatcmpl-benchmark",
+                "object", "chat.completion",
+                "created", 1_700_000_000,
+                "model", "gpt-3.5-turbo-0125",
+                "system_fingerprint", "fp_benchmark",
+                "choices", List.of(Map.of(
+                        "index", 0,
+                        "message", Map.of("role", "assistant", "content", content),
+                        "finish_reason", "stop")),
+                "usage", Map.of("prompt_tokens", 1200, "completion_tokens", contentChars / 4, "total_tokens", 1200 + contentChars / 4)));
+
+        chunks = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += CHUNK_BYTES) {
+            chunks.add(Arrays.copyOfRange(body, offset, Math.min(body.length, offset + CHUNK_BYTES)));
+        }
+    }
+
+    @Benchmark
+    public String stringThenTree() throws Exception {
+        DataBuffer joined = DataBufferUtils.join(responseBuffers()).block();
+        String body = joined.toString(StandardCharsets.UTF_8);
+        JsonNode root = objectMapper.readTree(body);
+        return root.path("choices").get(0).path("message").path("content").asText();
+    }
+
+    @Benchmark
+    public String typedDecoder() {
+        ChatCompletionResponse response = (ChatCompletionResponse) decoder
+                .decodeToMono(responseBuffers(), RESPONSE_TYPE, null, Map.of())
+                .block();
+        return response.firstContent();
+    }
+
+    private Flux<DataBuffer> responseBuffers() {
+        return Flux.fromIterable(chunks).map(bufferFactory::wrap);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ResponseDecodingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,145 @@
+package article2tweet.com.article2tweet.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Typed decoding of chat completions gives the same content, usage and errors as the
+ * String + JsonNode path it replaced (see {@link ResponseDecodingBenchmark})
+ */
+class ResponseDecodingTest {
+
+    private static final ResolvableType RESPONSE_TYPE = ResolvableType.forClass(ChatCompletionResponse.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Jackson2JsonDecoder decoder = new Jackson2JsonDecoder(objectMapper);
+
+    @Test
+    void testFullResponseMatchesTreePath() throws Exception {
+        String body = """
+                {"id": "chatcmpl-1", "object": "chat.completion", "model": "gpt-4o-mini", "system_fingerprint": "fp_1",
+                 "choices": [{"index": 0, "message": {"role": "assistant", "content": "Ship small ✅ changes"},
+                              "logprobs": null, "finish_reason": "stop"}],
+                 "usage": {"prompt_tokens": 1200, "completion_tokens": 30, "total_tokens": 1230,
+                           "prompt_tokens_details": {"cached_tokens": 1024, "audio_tokens": 0}}}
+                """;
+
+        ChatCompletionResponse response = decode(body);
+        JsonNode tree = objectMapper.readTree(body);
+
+        assertEquals(treeOutcome(tree), typedOutcome(response));
+        assertEquals(tree.path("model").asText(), response.model());
+        assertEquals(tree.path("usage").path("prompt_tokens").asInt(), response.usage().promptTokens());
+        assertEquals(tree.path("usage").path("completion_tokens").asInt(), response.usage().completionTokens());
+        assertEquals(tree.path("usage").path("total_tokens").asInt(), response.usage().totalTokens());
+        assertEquals(tree.path("usage").path("prompt_tokens_details").path("cached_tokens").asInt(),
+                response.usage().cachedTokens());
+    }
+
+    @Test
+    void testMissingUsageDecodesToNullUsage() throws Exception {
+        String body = """
+                {"model": "local-model", "choices": [{"index": 0, "message": {"role": "assistant", "content": "No usage here"}}]}
+                """;
+
+        ChatCompletionResponse response = decode(body);
+
+        assertEquals(treeOutcome(objectMapper.readTree(body)), typedOutcome(response));
+        assertNull(response.usage());
+    }
+
+    @Test
+    void testUsageWithoutPromptDetailsReportsNoCachedTokens() throws Exception {
+        String body = """
+                {"choices": [{"message": {"content": "Hi"}}], "usage": {"prompt_tokens": 10, "completion_tokens": 2, "total_tokens": 12}}
+                """;
+
+        ChatCompletionResponse response = decode(body);
+
+        assertEquals(objectMapper.readTree(body).path("usage").path("prompt_tokens_details").path("cached_tokens").asInt(),
+                response.usage().cachedTokens());
+    }
+
+    @Test
+    void testMissingOrEmptyChoicesAreRejectedLikeTheTreePath() throws Exception {
+        for (String body : List.of(
+                "{\"model\": \"gpt-4o-mini\", \"usage\": {\"prompt_tokens\": 5, \"completion_tokens\": 0, \"total_tokens\": 5}}",
+                "{\"model\": \"gpt-4o-mini\", \"choices\": []}")) {
+            assertEquals("no choices", treeOutcome(objectMapper.readTree(body)), body);
+            assertEquals("no choices", typedOutcome(decode(body)), body);
+        }
+    }
+
+    @Test
+    void testErrorBodyMatchesTreePath() throws Exception {
+        String body = """
+                {"error": {"message": "The server is overloaded", "type": "server_error", "code": null}}
+                """;
+
+        assertEquals(treeOutcome(objectMapper.readTree(body)), typedOutcome(decode(body)));
+    }
+
+    @Test
+    void testEveryCandidateIsDecodedInOrder() throws Exception {
+        String body = """
+                {"choices": [{"index": 0, "message": {"content": "First"}},
+                             {"index": 1, "message": {"content": "Second"}},
+                             {"index": 2, "message": {"content": "Third"}}]}
+                """;
+
+        List<String> treeContents = new ArrayList<>();
+        objectMapper.readTree(body).path("choices")
+                .forEach(choice -> treeContents.add(choice.path("message").path("content").asText()));
+
+        assertEquals(treeContents, decode(body).contents());
+    }
+
+    /**
+     * Decodes the way WebClient does, from small buffers so fields straddle chunk boundaries
+     */
+    private ChatCompletionResponse decode(String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += 16) {
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(bytes, offset, Math.min(bytes.length, offset + 16))));
+        }
+        return (ChatCompletionResponse) decoder.decodeToMono(Flux.fromIterable(buffers), RESPONSE_TYPE, null, Map.of())
+                .block();
+    }
+
+    // The checks the old String + JsonNode path made before returning content
+    private static String treeOutcome(JsonNode root) {
+        if (root.has("error")) {
+            return "error: " + root.path("error").path("type").asText() + " - " + root.path("error").path("message").asText();
+        }
+        if (!root.has("choices") || root.path("choices").isEmpty()) {
+            return "no choices";
+        }
+        return root.path("choices").get(0).path("message").path("content").asText();
+    }
+
+    private static String typedOutcome(ChatCompletionResponse response) {
+        if (response.error() != null) {
+            return "error: " + response.error().type() + " - " + response.error().message();
+        }
+        String content = response.firstContent();
+        return content == null ? "no choices" : content;
+    }
+}
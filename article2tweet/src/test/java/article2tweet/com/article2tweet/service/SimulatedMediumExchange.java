@@ -0,0 +1,81 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory stand-in for the RapidAPI Medium2 host. Answers GETs from canned JSON by path
+ * after a fixed latency and records every request, 404 for anything not stubbed.
+ */
+public class SimulatedMediumExchange implements ExchangeFunction {
+
+    private final Duration latency;
+    private final Map<String, String> responses = new ConcurrentHashMap<>();
+    private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    public SimulatedMediumExchange(Duration latency) {
+        this.latency = latency;
+    }
+
+    public WebClient webClient() {
+        return WebClient.builder()
+                .baseUrl("https://medium2.p.rapidapi.com")
+                .defaultHeader("x-rapidapi-key", "simulated-key")
+                .defaultHeader("x-rapidapi-host", "medium2.p.rapidapi.com")
+                .exchangeFunction(this)
+                .build();
+    }
+
+    public SimulatedMediumExchange respond(String path, String json) {
+        responses.put(path, json);
+        return this;
+    }
+
+    public List<ClientRequest> getRequests() {
+        return requests;
+    }
+
+    public List<String> getRequestedPaths() {
+        return requests.stream().map(request -> request.url().getPath()).toList();
+    }
+
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    @Override
+    public Mono<ClientResponse> exchange(ClientRequest request) {
+        requests.add(request);
+        String json = responses.get(request.url().getPath());
+        return Mono.defer(() -> {
+                    peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    // Counted down before the response reaches the caller, which may then start the next request
+                    return Mono.delay(latency)
+                            .doOnSuccess(tick -> inFlight.decrementAndGet())
+                            .doOnCancel(inFlight::decrementAndGet);
+                })
+                .thenReturn(json == null
+                        ? ClientResponse.create(HttpStatus.NOT_FOUND)
+                                .header("Content-Type", "application/json")
+                                .body("{\"detail\": \"not found\"}")
+                                .build()
+                        : ClientResponse.create(HttpStatus.OK)
+                                .header("Content-Type", "application/json")
+                                .body(json)
+                                .build());
+    }
+}
@@ -0,0 +1,141 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory stand-in for /chat/completions used by benchmarks. Latency grows with prompt
+ * size (base + per-prompt-token prefill cost), which is what makes long prompts slow.
+ */
+public class SimulatedOpenAIExchange implements ExchangeFunction {
+
+    private static final BodyInserter.Context CONTEXT = new BodyInserter.Context() {
+        @Override
+        public List<HttpMessageWriter<?>> messageWriters() {
+            return ExchangeStrategies.withDefaults().messageWriters();
+        }
+
+        @Override
+        public Optional<ServerHttpRequest> serverRequest() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Map<String, Object> hints() {
+            return Map.of();
+        }
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Duration baseLatency;
+    private final long nanosPerPromptToken;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final Set<String> failingModels = ConcurrentHashMap.newKeySet();
+    private final List<String> requestedModels = new CopyOnWriteArrayList<>();
+
+    public SimulatedOpenAIExchange(Duration baseLatency, Duration perPromptToken) {
+        this.baseLatency = baseLatency;
+        this.nanosPerPromptToken = perPromptToken.toNanos();
+    }
+
+    public WebClient webClient() {
+        return WebClient.builder()
+                .baseUrl("https://simulated.openai.local/v1")
+                .exchangeFunction(this)
+                .build();
+    }
+
+    /**
+     * An OpenAI-compatible provider backed by this exchange, with rate limiting disabled
+     */
+    public LlmProvider provider() {
+        return new OpenAICompatibleProvider(webClient(), "sk-simulated-000000000000000000",
+                new OpenAIRateLimiter(new SimpleMeterRegistry(), false, 500, 200_000, 0.9, 0, Duration.ZERO),
+                objectMapper);
+    }
+
+    public int getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Answer 503 for every request to this model
+     */
+    public SimulatedOpenAIExchange failModel(String model) {
+        failingModels.add(model);
+        return this;
+    }
+
+    public List<String> getRequestedModels() {
+        return requestedModels;
+    }
+
+    @Override
+    public Mono<ClientResponse> exchange(ClientRequest request) {
+        requests.incrementAndGet();
+        MockClientHttpRequest captured = new MockClientHttpRequest(request.method(), request.url());
+
+        return request.body().insert(captured, CONTEXT)
+                .then(Mono.defer(captured::getBodyAsString))
+                .flatMap(body -> {
+                    String model = model(body);
+                    requestedModels.add(model);
+                    if (failingModels.contains(model)) {
+                        return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header("Content-Type", "application/json")
+                                .body("{\"error\": {\"message\": \"overloaded\", \"type\": \"server_error\"}}")
+                                .build());
+                    }
+                    long promptTokens = ArticleChunker.estimateTokens(body);
+                    Duration latency = baseLatency.plusNanos(promptTokens * nanosPerPromptToken);
+                    return Mono.delay(latency).thenReturn(completion(
+                            "1. Simulated insight one.\n2. Simulated insight two.\n3. Simulated insight three.",
+                            promptTokens));
+                });
+    }
+
+    private String model(String body) {
+        try {
+            return objectMapper.readTree(body).path("model").asText();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ClientResponse completion(String content, long promptTokens) {
+        try {
+            String json = objectMapper.writeValueAsString(Map.of(
+                    "choices", List.of(Map.of("message", Map.of("role", "assistant", "content", content))),
+                    "usage", Map.of("prompt_tokens", promptTokens, "completion_tokens", 20,
+                            "total_tokens", promptTokens + 20)));
+            return ClientResponse.create(HttpStatus.OK)
+                    .header("Content-Type", "application/json")
+                    .body(json)
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
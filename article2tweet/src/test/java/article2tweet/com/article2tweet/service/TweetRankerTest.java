@@ -0,0 +1,97 @@
+package article2tweet.com.article2tweet.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import article2tweet.com.article2tweet.cache.InsightStore;
+import article2tweet.com.article2tweet.cache.LlmResponseCache;
+import article2tweet.com.article2tweet.service.ChatCompletionResponse.Choice;
+import article2tweet.com.article2tweet.service.ChatCompletionResponse.Message;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class TweetRankerTest {
+
+    private static final String GOOD = "Small, focused changes ship faster than big rewrites. Review is easier, "
+            + "rollbacks are cheaper, and you learn sooner whether the idea works at all 🚀";
+
+    @Test
+    void testWellSizedTweetBeatsShortAndOverlongOnes() {
+        String tooShort = "Ship small 🚀";
+        String overlong = GOOD.repeat(2);
+
+        assertEquals(GOOD, TweetRanker.best(List.of(tooShort, overlong, GOOD), List.of()));
+        assertEquals(0, TweetRanker.lengthFit(300));
+        assertEquals(1, TweetRanker.lengthFit(200));
+    }
+
+    @Test
+    void testEmojiAndHashtagSpamIsPenalized() {
+        String spammy = GOOD + " 🔥🔥🔥🔥 #dev #coding #tech #growth";
+
+        assertEquals(4 + 1, TweetRanker.countEmoji(spammy));
+        assertEquals(4, TweetRanker.countHashtags(spammy));
+        // Numbers and C# are not hashtags on X
+        assertEquals(0, TweetRanker.countHashtags("Learning C# made us #1 in the ranking"));
+        assertTrue(TweetRanker.score(GOOD, List.of()) > TweetRanker.score(spammy, List.of()));
+    }
+
+    @Test
+    void testCandidateRepeatingTheThreadLoses() {
+        String repeat = "Small, focused changes ship faster than big rewrites, and review is easier too. "
+                + "Rollbacks are cheaper and you learn sooner 🚀";
+        String fresh = "Measure before you optimize: profiling first kept us from rewriting the parser "
+                + "when the real cost was one N+1 query in the report job 📈";
+
+        assertEquals(fresh, TweetRanker.best(List.of(repeat, fresh), List.of(GOOD)));
+        assertEquals(repeat, TweetRanker.best(List.of(repeat), List.of(GOOD)));
+        assertThrows(IllegalArgumentException.class, () -> TweetRanker.best(List.of(), List.of()));
+    }
+
+    @Test
+    void testServiceRequestsCandidatesAndKeepsTheBest() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LlmProvider provider = mock(LlmProvider.class);
+        when(provider.name()).thenReturn("openai");
+        when(provider.isConfigured()).thenReturn(true);
+        when(provider.complete(any())).thenReturn(Mono.just(new ChatCompletionResponse("gpt-4o-mini",
+                List.of(new Choice(0, new Message("assistant", "Too short"), "stop"),
+                        new Choice(1, new Message("assistant", GOOD), "stop"),
+                        new Choice(2, new Message("assistant", GOOD + " #a #b #c #d"), "stop")),
+                null, null)));
+
+        OpenAIService openAIService = new OpenAIService(objectMapper,
+                new LlmRouter(List.of(provider), registry),
+                new LlmResponseCache(objectMapper, registry, false, 1, Duration.ZERO, false, "", 1.0),
+                new InsightStore(objectMapper, registry, false, 1, Duration.ZERO, false, ""),
+                new OpenAIRateLimiter(registry, false, 500, 200_000, 0.9, 0, Duration.ZERO),
+                new RequestHedger(registry, false, 0.95, Duration.ZERO, Duration.ZERO, 0, 0, 1),
+                ModelPolicy.defaults(),
+                registry);
+        ReflectionTestUtils.setField(openAIService, "candidateCount", 3);
+        PromptContext context = PromptContext.of("Shipping", "Content");
+
+        String tweet = openAIService.generateCasualTweet(context, "Ship small", 2);
+
+        ArgumentCaptor<ChatRequest> request = ArgumentCaptor.forClass(ChatRequest.class);
+        verify(provider).complete(request.capture());
+        assertEquals(3, request.getValue().extraOptions().get("n"));
+        assertEquals(GOOD, tweet);
+        assertEquals(List.of(GOOD), context.getThreadTweets());
+        assertEquals(1, registry.get("openai.candidates.score").tag("step", "casual").summary().count());
+    }
+}
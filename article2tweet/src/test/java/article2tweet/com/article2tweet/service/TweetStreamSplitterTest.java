@@ -0,0 +1,60 @@
+package article2tweet.com.article2tweet.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class TweetStreamSplitterTest {
+
+    @Test
+    void testTweetSplitAcrossChunksIsReassembled() {
+        TweetStreamSplitter splitter = new TweetStreamSplitter();
+
+        assertTrue(splitter.accept("Measure bef").isEmpty());
+        assertTrue(splitter.accept("ore you optimize.\nThen me").isEmpty());
+        assertEquals(List.of("Measure before you optimize.\nThen measure again."),
+                splitter.accept("asure again.\n---\n"));
+    }
+
+    @Test
+    void testSeparatorSplitAcrossTwoChunks() {
+        TweetStreamSplitter splitter = new TweetStreamSplitter();
+
+        assertTrue(splitter.accept("First tweet\n-").isEmpty());
+        assertEquals(List.of("First tweet"), splitter.accept("--\nSecond tweet\n"));
+        assertEquals(List.of("Second tweet"), splitter.accept("---\n"));
+    }
+
+    @Test
+    void testSeveralTweetsInOneChunk() {
+        TweetStreamSplitter splitter = new TweetStreamSplitter();
+
+        assertEquals(List.of("One", "Two"), splitter.accept("One\n---\nTwo\n---\nThr"));
+        assertTrue(splitter.accept("ee").isEmpty());
+        assertEquals(List.of("Three"), splitter.flush());
+    }
+
+    @Test
+    void testFlushEmitsTheLastTweetWithoutTrailingSeparator() {
+        TweetStreamSplitter splitter = new TweetStreamSplitter();
+        List<String> tweets = new ArrayList<>(splitter.accept("Only tweet, no newline at the end"));
+
+        tweets.addAll(splitter.flush());
+
+        assertEquals(List.of("Only tweet, no newline at the end"), tweets);
+    }
+
+    @Test
+    void testFlushIgnoresTrailingSeparatorAndBlankTweets() {
+        TweetStreamSplitter splitter = new TweetStreamSplitter();
+
+        assertEquals(List.of("Last tweet"), splitter.accept("Last tweet\n---\n\n---\n"));
+        assertTrue(splitter.accept("---").isEmpty());
+        assertTrue(splitter.flush().isEmpty());
+        // Nothing buffered after a flush
+        assertTrue(splitter.flush().isEmpty());
+    }
+}